@@ -63,4 +63,208 @@ select * from categories;
 
 delete from categories c where c.id = 49;
 
-select * from products;
\ No newline at end of file
+select * from products;
+
+# id allocator hi/lo (pengganti AUTO_INCREMENT untuk insert dari aplikasi, supaya bisa JDBC batch)
+CREATE TABLE id_allocations
+(
+    segment VARCHAR(64) NOT NULL,
+    next_id BIGINT      NOT NULL,
+    PRIMARY KEY (segment)
+) ENGINE = InnoDB;
+
+INSERT INTO id_allocations (segment, next_id)
+SELECT 'categories', COALESCE(MAX(id), 0) + 1
+FROM categories;
+
+INSERT INTO id_allocations (segment, next_id)
+SELECT 'products', COALESCE(MAX(id), 0) + 1
+FROM products;
+
+select * from id_allocations;
+
+# checkpoint job batch per chunk (ChunkedTransactionWriter)
+CREATE TABLE batch_checkpoints
+(
+    job_name           VARCHAR(100) NOT NULL,
+    last_index         BIGINT       NOT NULL,
+    last_modified_date TIMESTAMP,
+    PRIMARY KEY (job_name)
+) ENGINE = InnoDB;
+
+select * from batch_checkpoints;
+
+# natural key untuk upsert (INSERT ... ON DUPLICATE KEY UPDATE): external_id dari katalog sumber (SKU / kode supplier)
+# name tetap boleh sama (nama populer bisa ribuan baris), baris tanpa external_id (NULL) tidak di batasi unique index
+ALTER TABLE categories
+    ADD COLUMN external_id VARCHAR(64) NULL,
+    ADD UNIQUE INDEX uk_categories_external_id (external_id);
+
+ALTER TABLE products
+    ADD COLUMN external_id VARCHAR(64) NULL,
+    ADD UNIQUE INDEX uk_products_external_id (external_id);
+
+# index untuk keyset pagination product per category: where category_id = ? and (price, id) > (?, ?) order by price, id
+# InnoDB menyimpan primary key (id) di setiap secondary index, jadi (category_id, price) sudah cukup untuk urutan (price, id)
+CREATE INDEX idx_products_category_price ON products (category_id, price);
+CREATE INDEX idx_products_category_name ON products (category_id, name);
+
+# index nama product: existsByName / findFirstByName dan DELETE ... WHERE name = ? ORDER BY id LIMIT n (BulkDeleteService)
+# (name) + primary key id di setiap entry, jadi baris dengan nama yang sama sudah urut id dan chunk hanya membaca + lock
+# baris yang di hapus. Tanpa index ini setiap chunk scan PRIMARY dan (REPEATABLE READ) lock semua baris yang di lewati
+CREATE INDEX idx_products_name ON products (name);
+
+# full-text search product / category (ProductSearchRepository.searchFullText): MATCH ... AGAINST IN BOOLEAN MODE
+# kata yang lebih pendek dari innodb_ft_min_token_size (default 3) tidak masuk index, samakan dengan app.search.min-token-size
+CREATE FULLTEXT INDEX ft_products_name ON products (name);
+CREATE FULLTEXT INDEX ft_categories_name ON categories (name);
+
+# jumlah product per category (ProductCountRepository.countMaintainedByCategory*, CountMode.MAINTAINED)
+# table terpisah, bukan kolom di categories: Category ada di second-level cache dan save Category akan menimpa nilai nya
+CREATE TABLE category_product_counts
+(
+    category_id   BIGINT NOT NULL,
+    product_count BIGINT NOT NULL,
+    PRIMARY KEY (category_id),
+    FOREIGN KEY fk_category_product_counts_categories (category_id) REFERENCES categories (id) ON DELETE CASCADE
+) ENGINE = InnoDB;
+
+# di update oleh trigger dalam statement (dan transaction) yang sama dengan perubahan products, jadi semua jalur
+# ikut terhitung: entity, JPQL / native delete, JDBC batch, upsert ON DUPLICATE KEY UPDATE dan LOAD DATA
+DELIMITER $$
+
+CREATE TRIGGER trg_products_count_insert
+    AFTER INSERT
+    ON products
+    FOR EACH ROW
+BEGIN
+    INSERT INTO category_product_counts (category_id, product_count)
+    VALUES (NEW.category_id, 1)
+    ON DUPLICATE KEY UPDATE product_count = product_count + 1;
+END$$
+
+CREATE TRIGGER trg_products_count_delete
+    AFTER DELETE
+    ON products
+    FOR EACH ROW
+BEGIN
+    UPDATE category_product_counts SET product_count = product_count - 1 WHERE category_id = OLD.category_id;
+END$$
+
+# product pindah category
+CREATE TRIGGER trg_products_count_update
+    AFTER UPDATE
+    ON products
+    FOR EACH ROW
+BEGIN
+    IF NOT (NEW.category_id <=> OLD.category_id) THEN
+        UPDATE category_product_counts SET product_count = product_count - 1 WHERE category_id = OLD.category_id;
+        INSERT INTO category_product_counts (category_id, product_count)
+        VALUES (NEW.category_id, 1)
+        ON DUPLICATE KEY UPDATE product_count = product_count + 1;
+    END IF;
+END$$
+
+DELIMITER ;
+
+# isi awal setelah trigger aktif, perubahan yang lolos di antara nya di perbaiki oleh ProductCountReconciler
+INSERT INTO category_product_counts (category_id, product_count)
+SELECT c.id, COUNT(p.id)
+FROM categories c
+         LEFT JOIN products p ON p.category_id = c.id
+GROUP BY c.id
+ON DUPLICATE KEY UPDATE product_count = VALUES(product_count);
+
+select * from category_product_counts;
+
+# ringkasan harga per category (CategoryPriceSummaryRepository) di baris yang sama dengan jumlah product,
+# jadi tetap satu baris dan satu set trigger per category
+DROP TRIGGER trg_products_count_insert;
+DROP TRIGGER trg_products_count_delete;
+DROP TRIGGER trg_products_count_update;
+
+RENAME TABLE category_product_counts TO category_product_stats;
+
+ALTER TABLE category_product_stats
+    ADD COLUMN price_sum BIGINT NOT NULL DEFAULT 0,
+    ADD COLUMN price_min BIGINT NULL,
+    ADD COLUMN price_max BIGINT NULL;
+
+DELIMITER $$
+
+CREATE PROCEDURE category_product_stats_add(IN p_category_id BIGINT, IN p_price BIGINT)
+BEGIN
+    INSERT INTO category_product_stats (category_id, product_count, price_sum, price_min, price_max)
+    VALUES (p_category_id, 1, p_price, p_price, p_price)
+    ON DUPLICATE KEY UPDATE product_count = product_count + 1,
+                            price_sum     = price_sum + p_price,
+                            price_min     = LEAST(COALESCE(price_min, p_price), p_price),
+                            price_max     = GREATEST(COALESCE(price_max, p_price), p_price);
+END$$
+
+# min / max tidak bisa di kurangi: jika harga yang keluar adalah min / max, hitung ulang dari
+# idx_products_category_price (MIN / MAX per category_id cukup satu lookup index)
+CREATE PROCEDURE category_product_stats_remove(IN p_category_id BIGINT, IN p_price BIGINT)
+BEGIN
+    UPDATE category_product_stats
+    SET product_count = product_count - 1,
+        price_sum     = price_sum - p_price,
+        price_min     = IF(p_price <= price_min, (SELECT MIN(price) FROM products WHERE category_id = p_category_id), price_min),
+        price_max     = IF(p_price >= price_max, (SELECT MAX(price) FROM products WHERE category_id = p_category_id), price_max)
+    WHERE category_id = p_category_id;
+END$$
+
+CREATE TRIGGER trg_products_stats_insert
+    AFTER INSERT
+    ON products
+    FOR EACH ROW
+BEGIN
+    CALL category_product_stats_add(NEW.category_id, NEW.price);
+END$$
+
+CREATE TRIGGER trg_products_stats_delete
+    AFTER DELETE
+    ON products
+    FOR EACH ROW
+BEGIN
+    CALL category_product_stats_remove(OLD.category_id, OLD.price);
+END$$
+
+# pindah category dan / atau harga berubah (termasuk update harga massal addPriceByCategory / adjustPriceByCategoryPercent)
+CREATE TRIGGER trg_products_stats_update
+    AFTER UPDATE
+    ON products
+    FOR EACH ROW
+BEGIN
+    IF NOT (NEW.category_id <=> OLD.category_id) OR NOT (NEW.price <=> OLD.price) THEN
+        CALL category_product_stats_remove(OLD.category_id, OLD.price);
+        CALL category_product_stats_add(NEW.category_id, NEW.price);
+    END IF;
+END$$
+
+DELIMITER ;
+
+INSERT INTO category_product_stats (category_id, product_count, price_sum, price_min, price_max)
+SELECT c.id, COUNT(p.id), COALESCE(SUM(p.price), 0), MIN(p.price), MAX(p.price)
+FROM categories c
+         LEFT JOIN products p ON p.category_id = c.id
+GROUP BY c.id
+ON DUPLICATE KEY UPDATE product_count = VALUES(product_count),
+                        price_sum     = VALUES(price_sum),
+                        price_min     = VALUES(price_min),
+                        price_max     = VALUES(price_max);
+
+select * from category_product_stats;
+
+# sketch harga per category yang di simpan (ProductPriceAnalyticsService), di lanjutkan dari last_product_id
+CREATE TABLE category_price_sketches
+(
+    category_id        BIGINT     NOT NULL,
+    sketch             MEDIUMBLOB NOT NULL,
+    last_product_id    BIGINT     NOT NULL,
+    last_modified_date TIMESTAMP,
+    PRIMARY KEY (category_id),
+    FOREIGN KEY fk_category_price_sketches_categories (category_id) REFERENCES categories (id) ON DELETE CASCADE
+) ENGINE = InnoDB;
+
+select category_id, length(sketch), last_product_id, last_modified_date from category_price_sketches;
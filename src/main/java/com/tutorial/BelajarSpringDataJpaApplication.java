@@ -3,9 +3,11 @@ package com.tutorial;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableJpaAuditing // mengaktifkannya spring data jpa Auditing
+@EnableScheduling // job berkala (@Scheduled), misal rebuild ProductNameFilter
 public class BelajarSpringDataJpaApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,31 @@
+package com.tutorial.analytics;
+
+import java.nio.charset.StandardCharsets;
+
+public final class Hashing {
+
+    /**
+     * Hash String 64 bit
+     * ● FNV-1a 64 bit dari byte UTF-8, lalu finalizer murmur3 (fmix64) supaya semua bit (atas dan bawah) tersebar rata
+     * ● Di pakai HyperLogLog (bit atas jadi index register) dan BloomFilter (double hashing dari 32 bit bawah dan atas)
+     * ● Nilai hash ikut tersimpan di sketch (PriceSketch.toBytes), jadi fungsi ini tidak boleh di ubah
+     */
+
+    private Hashing() {
+    }
+
+    public static long hash64(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+}
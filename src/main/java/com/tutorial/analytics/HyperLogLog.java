@@ -0,0 +1,100 @@
+package com.tutorial.analytics;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+public final class HyperLogLog {
+
+    /**
+     * Perkiraan jumlah nilai berbeda (cardinality) dengan memory tetap
+     * ● Hash 64 bit setiap nilai, precision bit pertama memilih register (m = 2^precision register), sisanya
+     *   di hitung jumlah nol di depan nya. Register menyimpan nilai terbesar, makin banyak nilai berbeda makin
+     *   besar nilai register
+     * ● Memory m byte (precision 14 = 16 KB) berapapun jumlah nilai nya, error standar 1.04 / sqrt(m) (0.8%)
+     * ● Jumlah kecil memakai linear counting (register yang masih nol), supaya tidak bias ke atas
+     * ● Mergeable: max per register, hasil nya sama dengan satu HyperLogLog dari gabungan nilai, jadi tidak
+     *   menghitung dua kali nilai yang muncul di dua worker
+     */
+
+    private final int precision;
+
+    private final byte[] registers;
+
+    public HyperLogLog(int precision) {
+        if (precision < 4 || precision > 18) {
+            throw new IllegalArgumentException("precision must be between 4 and 18: " + precision);
+        }
+        this.precision = precision;
+        this.registers = new byte[1 << precision];
+    }
+
+    public void add(String value) {
+        addHash(Hashing.hash64(value));
+    }
+
+    public void addHash(long hash) {
+        int index = (int) (hash >>> (64 - precision));
+        long remaining = hash << precision;
+        int rank = remaining == 0 ? 64 - precision + 1 : Long.numberOfLeadingZeros(remaining) + 1;
+        if (rank > registers[index]) {
+            registers[index] = (byte) rank;
+        }
+    }
+
+    public HyperLogLog merge(HyperLogLog other) {
+        if (other.precision != precision) {
+            throw new IllegalArgumentException("Cannot merge HyperLogLog with different precision: " + precision + " and " + other.precision);
+        }
+        for (int i = 0; i < registers.length; i++) {
+            registers[i] = (byte) Math.max(registers[i], other.registers[i]);
+        }
+        return this;
+    }
+
+    public long estimate() {
+        int m = registers.length;
+        double sum = 0;
+        int zeros = 0;
+        for (byte register : registers) {
+            sum += 1.0 / (1L << register);
+            if (register == 0) {
+                zeros++;
+            }
+        }
+        double estimate = alpha(m) * m * m / sum;
+        if (estimate <= 2.5 * m && zeros > 0) {
+            estimate = m * Math.log((double) m / zeros); // linear counting
+        }
+        return Math.round(estimate);
+    }
+
+    public double relativeStandardError() {
+        return 1.04 / Math.sqrt(registers.length);
+    }
+
+    public int precision() {
+        return precision;
+    }
+
+    public void writeTo(DataOutput output) throws IOException {
+        output.writeByte(precision);
+        output.write(registers);
+    }
+
+    public static HyperLogLog readFrom(DataInput input) throws IOException {
+        HyperLogLog hyperLogLog = new HyperLogLog(input.readByte());
+        input.readFully(hyperLogLog.registers);
+        return hyperLogLog;
+    }
+
+    private static double alpha(int m) {
+        return switch (m) {
+            case 16 -> 0.673;
+            case 32 -> 0.697;
+            case 64 -> 0.709;
+            default -> 0.7213 / (1 + 1.079 / m);
+        };
+    }
+
+}
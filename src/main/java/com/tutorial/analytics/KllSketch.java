@@ -0,0 +1,250 @@
+package com.tutorial.analytics;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.SplittableRandom;
+
+public final class KllSketch {
+
+    /**
+     * Quantile sketch KLL (Karnin, Lang, Liberty)
+     * ● Nilai di simpan di beberapa level (compactor), item di level h mewakili 2^h nilai asli
+     * ● Level yang penuh di sort lalu di ambil setengah nya (posisi ganjil atau genap secara acak) ke level berikutnya,
+     *   kapasitas level makin kecil ke bawah (k * (2/3)^kedalaman), jadi jumlah item yang di simpan tetap sekitar 3k
+     *   berapapun jumlah nilai nya
+     * ● Error rank kira-kira 1.7 / k (k = 200: sekitar 0.85%, p95 yang di kembalikan berada di antara p94.15 dan p95.85
+     *   nilai asli)
+     * ● Mergeable: sketch dari worker / range id yang berbeda bisa di gabung (merge), hasil nya sama akurat nya
+     *   dengan satu sketch dari semua nilai
+     * ● Tidak thread safe, satu sketch per worker lalu merge
+     */
+
+    private static final double CAPACITY_RATIO = 2.0 / 3.0;
+
+    private final int k;
+
+    private final SplittableRandom random = new SplittableRandom();
+
+    private long[][] levels = new long[0][];
+
+    private int[] sizes = new int[0];
+
+    private int retained;
+
+    private int maxRetained;
+
+    private long count;
+
+    private long min = Long.MAX_VALUE;
+
+    private long max = Long.MIN_VALUE;
+
+    public KllSketch(int k) {
+        if (k < 8) {
+            throw new IllegalArgumentException("k must be at least 8: " + k);
+        }
+        this.k = k;
+        grow();
+    }
+
+    public void update(long value) {
+        append(0, value);
+        retained++;
+        count++;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+        if (retained >= maxRetained) {
+            compress();
+        }
+    }
+
+    public KllSketch merge(KllSketch other) {
+        if (other.k != k) {
+            throw new IllegalArgumentException("Cannot merge KLL sketches with different k: " + k + " and " + other.k);
+        }
+        while (levels.length < other.levels.length) {
+            grow();
+        }
+        for (int level = 0; level < other.levels.length; level++) {
+            for (int i = 0; i < other.sizes[level]; i++) {
+                append(level, other.levels[level][i]);
+            }
+        }
+        count += other.count;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+        retained = Arrays.stream(sizes).sum();
+        while (retained >= maxRetained) {
+            compress();
+        }
+        return this;
+    }
+
+    // nilai pada fraction 0..1 (0.5 = median), 0 dan 1 selalu min / max yang tepat
+    public long quantile(double fraction) {
+        return quantiles(fraction)[0];
+    }
+
+    // beberapa quantile sekaligus, item cukup di sort satu kali
+    public long[] quantiles(double... fractions) {
+        if (count == 0) {
+            throw new NoSuchElementException("Sketch is empty");
+        }
+        long[] values = new long[retained];
+        long[] weights = new long[retained];
+        Integer[] order = new Integer[retained];
+        int index = 0;
+        for (int level = 0; level < levels.length; level++) {
+            for (int i = 0; i < sizes[level]; i++) {
+                values[index] = levels[level][i];
+                weights[index] = 1L << level;
+                order[index] = index;
+                index++;
+            }
+        }
+        Arrays.sort(order, (left, right) -> Long.compare(values[left], values[right]));
+
+        long[] result = new long[fractions.length];
+        for (int f = 0; f < fractions.length; f++) {
+            double fraction = fractions[f];
+            if (fraction < 0 || fraction > 1) {
+                throw new IllegalArgumentException("Quantile fraction must be between 0 and 1: " + fraction);
+            }
+            if (fraction == 0) {
+                result[f] = min;
+            } else if (fraction == 1) {
+                result[f] = max;
+            } else {
+                double target = fraction * count; // total bobot semua item sama dengan count
+                long cumulative = 0;
+                result[f] = max;
+                for (Integer position : order) {
+                    cumulative += weights[position];
+                    if (cumulative >= target) {
+                        result[f] = values[position];
+                        break;
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    public long min() {
+        if (count == 0) {
+            throw new NoSuchElementException("Sketch is empty");
+        }
+        return min;
+    }
+
+    public long max() {
+        if (count == 0) {
+            throw new NoSuchElementException("Sketch is empty");
+        }
+        return max;
+    }
+
+    // jumlah nilai yang benar-benar di simpan (ukuran memory), bukan jumlah nilai yang masuk
+    public int retained() {
+        return retained;
+    }
+
+    public int k() {
+        return k;
+    }
+
+    public void writeTo(DataOutput output) throws IOException {
+        output.writeInt(k);
+        output.writeLong(count);
+        output.writeLong(min);
+        output.writeLong(max);
+        output.writeInt(levels.length);
+        for (int level = 0; level < levels.length; level++) {
+            output.writeInt(sizes[level]);
+            for (int i = 0; i < sizes[level]; i++) {
+                output.writeLong(levels[level][i]);
+            }
+        }
+    }
+
+    public static KllSketch readFrom(DataInput input) throws IOException {
+        KllSketch sketch = new KllSketch(input.readInt());
+        sketch.count = input.readLong();
+        sketch.min = input.readLong();
+        sketch.max = input.readLong();
+        int height = input.readInt();
+        while (sketch.levels.length < height) {
+            sketch.grow();
+        }
+        for (int level = 0; level < height; level++) {
+            int size = input.readInt();
+            for (int i = 0; i < size; i++) {
+                sketch.append(level, input.readLong());
+            }
+        }
+        sketch.retained = Arrays.stream(sketch.sizes).sum();
+        return sketch;
+    }
+
+    private int capacity(int level) {
+        int depth = levels.length - level - 1;
+        return (int) Math.ceil(Math.pow(CAPACITY_RATIO, depth) * k) + 1;
+    }
+
+    private void grow() {
+        levels = Arrays.copyOf(levels, levels.length + 1);
+        levels[levels.length - 1] = new long[8];
+        sizes = Arrays.copyOf(sizes, sizes.length + 1);
+        maxRetained = 0;
+        for (int level = 0; level < levels.length; level++) {
+            maxRetained += capacity(level);
+        }
+    }
+
+    private void compress() {
+        for (int level = 0; level < levels.length; level++) {
+            if (sizes[level] >= capacity(level)) {
+                if (level + 1 >= levels.length) {
+                    grow();
+                }
+                compact(level);
+                retained = Arrays.stream(sizes).sum();
+                if (retained < maxRetained) {
+                    break;
+                }
+            }
+        }
+    }
+
+    // sort level, setengah item (ganjil / genap acak) naik ke level berikutnya dengan bobot dua kali lipat
+    private void compact(int level) {
+        long[] items = levels[level];
+        int size = sizes[level];
+        Arrays.sort(items, 0, size);
+        int keep = size % 2; // jumlah ganjil: item terkecil tetap di level ini
+        int offset = random.nextBoolean() ? 1 : 0;
+        for (int i = keep + offset; i < size; i += 2) {
+            append(level + 1, items[i]);
+        }
+        sizes[level] = keep;
+    }
+
+    private void append(int level, long value) {
+        if (sizes[level] == levels[level].length) {
+            levels[level] = Arrays.copyOf(levels[level], levels[level].length * 2);
+        }
+        levels[level][sizes[level]++] = value;
+    }
+
+}
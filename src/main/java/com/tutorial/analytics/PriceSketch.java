@@ -0,0 +1,117 @@
+package com.tutorial.analytics;
+
+import com.tutorial.model.ProductPrice;
+import com.tutorial.repository.ProductNameFilter;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+public final class PriceSketch {
+
+    /**
+     * Ringkasan harga dan nama product dengan memory tetap
+     * ● Quantile harga (p50 / p95 / p99) dari KllSketch, jumlah nama berbeda dari HyperLogLog
+     * ● lastProductId: id terbesar yang sudah masuk, untuk update incremental (product dengan id lebih besar)
+     * ● Sketch hanya bisa di tambah: product yang di hapus / harga nya berubah tetap terhitung nilai lama nya
+     *   sampai sketch di bangun ulang
+     * ● toBytes / fromBytes untuk di simpan (CategoryPriceSketch) dan di lanjutkan nanti
+     */
+
+    private static final int FORMAT_VERSION = 1;
+
+    private final KllSketch prices;
+
+    private final HyperLogLog names;
+
+    private long lastProductId;
+
+    public PriceSketch(int k, int precision) {
+        this(new KllSketch(k), new HyperLogLog(precision), 0);
+    }
+
+    private PriceSketch(KllSketch prices, HyperLogLog names, long lastProductId) {
+        this.prices = prices;
+        this.names = names;
+        this.lastProductId = lastProductId;
+    }
+
+    public record Summary(long count, long distinctNames, Long min, Long p50, Long p95, Long p99, Long max) {
+    }
+
+    public void add(ProductPrice product) {
+        if (product.price() != null) {
+            prices.update(product.price());
+        }
+        if (product.name() != null) {
+            names.add(ProductNameFilter.normalize(product.name())); // "Buku" dan "buku" nama yang sama, seperti collation MySQL
+        }
+        if (product.id() != null) {
+            lastProductId = Math.max(lastProductId, product.id());
+        }
+    }
+
+    public PriceSketch merge(PriceSketch other) {
+        prices.merge(other.prices);
+        names.merge(other.names);
+        lastProductId = Math.max(lastProductId, other.lastProductId);
+        return this;
+    }
+
+    public Summary summary() {
+        if (prices.isEmpty()) {
+            return new Summary(0, names.estimate(), null, null, null, null, null);
+        }
+        long[] quantiles = prices.quantiles(0.5, 0.95, 0.99);
+        return new Summary(prices.count(), names.estimate(), prices.min(), quantiles[0], quantiles[1], quantiles[2], prices.max());
+    }
+
+    public long quantile(double fraction) {
+        return prices.quantile(fraction);
+    }
+
+    public long count() {
+        return prices.count();
+    }
+
+    public long distinctNames() {
+        return names.estimate();
+    }
+
+    public long lastProductId() {
+        return lastProductId;
+    }
+
+    public byte[] toBytes() {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream output = new DataOutputStream(bytes);
+            output.writeByte(FORMAT_VERSION);
+            output.writeLong(lastProductId);
+            prices.writeTo(output);
+            names.writeTo(output);
+            output.flush();
+            return bytes.toByteArray();
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception); // ByteArrayOutputStream tidak pernah IOException
+        }
+    }
+
+    public static PriceSketch fromBytes(byte[] bytes) {
+        try {
+            DataInputStream input = new DataInputStream(new ByteArrayInputStream(bytes));
+            int version = input.readByte();
+            if (version != FORMAT_VERSION) {
+                throw new IllegalArgumentException("Unsupported price sketch format: " + version);
+            }
+            long lastProductId = input.readLong();
+            return new PriceSketch(KllSketch.readFrom(input), HyperLogLog.readFrom(input), lastProductId);
+        } catch (IOException exception) {
+            throw new IllegalArgumentException("Corrupt price sketch", exception);
+        }
+    }
+
+}
@@ -0,0 +1,45 @@
+package com.tutorial.controller;
+
+import com.tutorial.entity.Category;
+import com.tutorial.repository.CategoryRepository;
+import com.tutorial.service.ProductExportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@RestController
+public class ProductExportController {
+
+    /**
+     * Export Product per Category
+     * ● GET /categories/{categoryId}/products/export, response application/x-ndjson
+     * ● StreamingResponseBody di jalankan di thread async Spring MVC, thread request langsung di lepas,
+     *   transaction dan stream di buka di ProductExportService (bukan di controller)
+     * ● Batas waktu request async: spring.mvc.async.request-timeout
+     */
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ProductExportService productExportService;
+
+    @GetMapping(path = "/categories/{categoryId}/products/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> export(@PathVariable("categoryId") Long categoryId) {
+        // dari CategoryCache: export hanya butuh id category, hit tidak menyentuh database
+        Category category = categoryRepository.findCachedById(categoryId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Category " + categoryId + " not found"));
+
+        StreamingResponseBody body = output -> productExportService.exportCategory(category, output);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+}
@@ -0,0 +1,41 @@
+package com.tutorial.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.Instant;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "batch_checkpoints")
+@EntityListeners({AuditingEntityListener.class})
+public class BatchCheckpoint {
+
+    /**
+     * posisi terakhir job batch yang sudah di commit
+     * ● di simpan di transaction yang sama dengan chunk nya, jadi checkpoint dan data selalu konsisten
+     * ● job yang di jalankan ulang mulai dari lastIndex, bukan dari awal
+     */
+
+    @Id
+    @Column(name = "job_name")
+    private String jobName;
+
+    @Column(name = "last_index")
+    private Long lastIndex; // jumlah item input yang sudah selesai (commit atau di skip)
+
+    @LastModifiedDate
+    @Column(name = "last_modified_date")
+    private Instant lastModifiedDate;
+
+}
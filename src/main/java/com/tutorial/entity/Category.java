@@ -1,9 +1,18 @@
 package com.tutorial.entity;
 
+import com.tutorial.id.HiLoIdentifierGenerator;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Fetch;
+import org.hibernate.annotations.FetchMode;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -16,11 +25,19 @@ import java.util.List;
 @NoArgsConstructor
 @Entity
 @Table(name = "categories")
-@EntityListeners({AuditingEntityListener.class}) // supaya bisa aktif create_data dan last_modified_data saat query
+@NamedEntityGraphs({
+        @NamedEntityGraph(name = "Category.withProducts", // fetch plan: category + products dalam satu query (join)
+                attributeNodes = @NamedAttributeNode("products")),
+})
+@EntityListeners({AuditingEntityListener.class, CategoryEntityListener.class}) // supaya bisa aktif create_data dan last_modified_data saat query, dan CategoryChangedEvent
+@Cacheable // second-level cache: category jarang berubah tapi di baca oleh hampir setiap product
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "category")
 public class Category {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY) // auto increment
+    @GeneratedValue(generator = "categories_id") // hi/lo dari table id_allocations, supaya insert bisa di batch
+    @GenericGenerator(name = "categories_id", strategy = "com.tutorial.id.HiLoIdentifierGenerator",
+            parameters = @Parameter(name = HiLoIdentifierGenerator.SEGMENT, value = "categories"))
     @Column(name = "id")
     private Long id;
 
@@ -35,7 +52,17 @@ public class Category {
     @Column(name = "last_modified_date")
     private Instant lastModifiedDate; // return bisa Date, Timestamps, Instance atau Long(milis) // otomatis insert dari spring data jpa
 
+    // SUBSELECT: products dari semua category yang ter-load di query sebelumnya di ambil dengan satu query tambahan
+    // di second-level cache hanya daftar id product nya, product di load dengan batch (default_batch_fetch_size)
     @OneToMany(mappedBy = "category")
+    @Fetch(FetchMode.SUBSELECT)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "category-products")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private List<Product> products;
 
+    // natural key dari katalog sumber, unique tapi boleh null (name boleh sama), kunci upsertAllByExternalId
+    @Column(name = "external_id")
+    private String externalId;
+
 }
@@ -0,0 +1,31 @@
+package com.tutorial.entity;
+
+import com.tutorial.model.CategoryChangedEvent;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+
+public class CategoryEntityListener {
+
+    /**
+     * JPA Entity Listener untuk Category, sama seperti ProductEntityListener
+     * ● setiap category di simpan / di hapus di teruskan sebagai CategoryChangedEvent (misal untuk invalidate CategoryCache)
+     */
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @PostPersist
+    @PostUpdate
+    public void saved(Category category) {
+        eventPublisher.publishEvent(new CategoryChangedEvent(category.getId(), category.getName(), false));
+    }
+
+    @PostRemove
+    public void removed(Category category) {
+        eventPublisher.publishEvent(new CategoryChangedEvent(category.getId(), category.getName(), true));
+    }
+
+}
@@ -0,0 +1,47 @@
+package com.tutorial.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
+import jakarta.persistence.Id;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.Instant;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "category_price_sketches")
+@EntityListeners({AuditingEntityListener.class})
+public class CategoryPriceSketch {
+
+    /**
+     * PriceSketch per category yang di simpan (ProductPriceAnalyticsService)
+     * ● refresh berikutnya hanya membaca product dengan id > lastProductId lalu merge ke sketch ini
+     */
+
+    @Id
+    @Column(name = "category_id")
+    private Long categoryId;
+
+    @Lob
+    @Column(name = "sketch")
+    @ToString.Exclude
+    private byte[] sketch; // PriceSketch.toBytes()
+
+    @Column(name = "last_product_id")
+    private Long lastProductId;
+
+    @LastModifiedDate
+    @Column(name = "last_modified_date")
+    private Instant lastModifiedDate;
+
+}
@@ -1,9 +1,14 @@
 package com.tutorial.entity;
 
+import com.tutorial.id.HiLoIdentifierGenerator;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 
 @Data
 @AllArgsConstructor
@@ -14,18 +19,34 @@ import lombok.NoArgsConstructor;
         @NamedQuery(name = "Product.searchProductUsingName",
                 query = "SELECT p FROM Product p WHERE p.name= :name"),
 })
+@NamedEntityGraphs({
+        @NamedEntityGraph(name = "Product.withCategory", // fetch plan: product + category dalam satu query (join)
+                attributeNodes = @NamedAttributeNode("category")),
+})
+@EntityListeners({ProductEntityListener.class}) // ProductChangedEvent setiap product di simpan / di hapus
 public class Product {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "products_id") // hi/lo dari table id_allocations, supaya insert bisa di batch
+    @GenericGenerator(name = "products_id", strategy = "com.tutorial.id.HiLoIdentifierGenerator",
+            parameters = @Parameter(name = HiLoIdentifierGenerator.SEGMENT, value = "products"))
     private Long id;
 
     private String name;
 
     private Long price;
 
-    @ManyToOne
+    // LAZY supaya category tidak di select satu per satu setelah query product (N+1)
+    // category yang belum ter-load akan di ambil sekaligus dengan batch (lihat hibernate.default_batch_fetch_size)
+    // toString/equals/hashCode tidak menyentuh category, supaya tidak memicu lazy loading tanpa sengaja
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "category_id", referencedColumnName = "id")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private Category category;
 
+    // natural key dari katalog sumber (SKU / kode supplier), unique tapi boleh null (name boleh sama), kunci upsertAllByExternalId
+    @Column(name = "external_id")
+    private String externalId;
+
 }
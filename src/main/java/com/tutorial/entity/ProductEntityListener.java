@@ -0,0 +1,38 @@
+package com.tutorial.entity;
+
+import com.tutorial.model.ProductChangedEvent;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+
+public class ProductEntityListener {
+
+    /**
+     * JPA Entity Listener untuk Product
+     * ● Di pasang dengan @EntityListeners di Product, instance nya di buat oleh Spring (SpringBeanContainer Hibernate)
+     *   jadi bisa @Autowired seperti bean biasa
+     * ● @PostPersist / @PostUpdate / @PostRemove di panggil saat flush, lalu di teruskan sebagai ProductChangedEvent
+     */
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @PostPersist
+    @PostUpdate
+    public void saved(Product product) {
+        eventPublisher.publishEvent(new ProductChangedEvent(product.getId(), product.getName(), categoryId(product), false));
+    }
+
+    @PostRemove
+    public void removed(Product product) {
+        eventPublisher.publishEvent(new ProductChangedEvent(product.getId(), product.getName(), categoryId(product), true));
+    }
+
+    // id category dari reference / proxy tidak memicu lazy loading
+    private static Long categoryId(Product product) {
+        return product.getCategory() == null ? null : product.getCategory().getId();
+    }
+
+}
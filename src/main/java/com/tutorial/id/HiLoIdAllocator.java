@@ -0,0 +1,137 @@
+package com.tutorial.id;
+
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.regex.Pattern;
+
+public class HiLoIdAllocator {
+
+    /**
+     * Hi/Lo Id Allocator
+     * ● GenerationType.IDENTITY memaksa Hibernate menjalankan INSERT saat itu juga untuk mendapatkan id,
+     *   sehingga JDBC batching otomatis mati
+     * ● Allocator ini memesan satu blok id (contoh 1000 id) dari table id_allocations dengan satu UPDATE,
+     *   lalu membagikan id dari blok tersebut di memory tanpa round-trip ke database
+     * ● Pemesanan blok memakai connection sendiri (autocommit), jadi row id_allocations hanya di lock sebentar
+     *   dan tidak ikut transaction bisnis. Id yang tidak terpakai (rollback / restart) hanya akan di lewati
+     * ● Beberapa instance aplikasi aman, karena setiap blok di pesan secara atomic di database
+     */
+
+    public static final int DEFAULT_BLOCK_SIZE = 1000;
+
+    private static final Pattern SEGMENT_NAME = Pattern.compile("[A-Za-z_][A-Za-z0-9_]*");
+
+    private final DataSource dataSource;
+
+    private final String segment; // nama segment = nama table yang id nya di bagikan
+
+    private final int blockSize;
+
+    private long next; // id berikutnya yang di bagikan
+
+    private long limit; // batas atas blok (exclusive)
+
+    public HiLoIdAllocator(DataSource dataSource, String segment, int blockSize) {
+        if (!SEGMENT_NAME.matcher(segment).matches()) {
+            throw new IllegalArgumentException("Invalid id segment name: " + segment);
+        }
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("Block size must be positive: " + blockSize);
+        }
+        this.dataSource = dataSource;
+        this.segment = segment;
+        this.blockSize = blockSize;
+    }
+
+    public synchronized long nextId() {
+        if (next >= limit) {
+            reserve(blockSize);
+        }
+        return next++;
+    }
+
+    // untuk insert batch lewat JDBC: ambil banyak id sekaligus
+    public synchronized long[] nextIds(int count) {
+        long[] ids = new long[count];
+        for (int i = 0; i < count; i++) {
+            if (next >= limit) {
+                reserve(Math.max(blockSize, count - i)); // sisa kebutuhan lebih besar dari blok: pesan sekaligus
+            }
+            ids[i] = next++;
+        }
+        return ids;
+    }
+
+    // pesan rentang id berurutan [return, return + count) langsung dari database, tidak memakai blok di memory
+    // contoh untuk LOAD DATA INFILE yang mengisi id dengan (awal + nomor baris)
+    public long reserveRange(long count) {
+        if (count < 1) {
+            throw new IllegalArgumentException("Count must be positive: " + count);
+        }
+        return reserveEnd(count) - count;
+    }
+
+    public String getSegment() {
+        return segment;
+    }
+
+    private void reserve(int size) {
+        long end = reserveEnd(size);
+        this.limit = end;
+        this.next = end - size;
+    }
+
+    private long reserveEnd(long size) {
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(true);
+            try {
+                long end = increment(connection, size);
+                if (end < 0) {
+                    initializeSegment(connection);
+                    end = increment(connection, size);
+                }
+                if (end < 0) {
+                    throw new IllegalStateException("Id segment not found: " + segment);
+                }
+                return end;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException exception) {
+            throw new DataAccessResourceFailureException("Failed to reserve id block for segment " + segment, exception);
+        }
+    }
+
+    // UPDATE ... LAST_INSERT_ID(expr) menyimpan nilai baru di connection, jadi bisa di baca tanpa SELECT ... FOR UPDATE
+    private long increment(Connection connection, long size) throws SQLException {
+        try (PreparedStatement update = connection.prepareStatement(
+                "UPDATE id_allocations SET next_id = LAST_INSERT_ID(next_id + ?) WHERE segment = ?")) {
+            update.setLong(1, size);
+            update.setString(2, segment);
+            if (update.executeUpdate() == 0) {
+                return -1;
+            }
+        }
+        try (PreparedStatement select = connection.prepareStatement("SELECT LAST_INSERT_ID()");
+             ResultSet resultSet = select.executeQuery()) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    // segment baru di mulai setelah id terbesar yang sudah ada di table (data lama dari AUTO_INCREMENT)
+    private void initializeSegment(Connection connection) throws SQLException {
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT IGNORE INTO id_allocations (segment, next_id) SELECT ?, COALESCE(MAX(id), 0) + 1 FROM " + segment)) {
+            insert.setString(1, segment);
+            insert.executeUpdate();
+        }
+    }
+
+}
@@ -0,0 +1,71 @@
+package com.tutorial.id;
+
+import org.hibernate.HibernateException;
+import org.hibernate.MappingException;
+import org.hibernate.engine.jdbc.connections.spi.ConnectionProvider;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.internal.util.config.ConfigurationHelper;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import javax.sql.DataSource;
+import java.util.Properties;
+
+public class HiLoIdentifierGenerator implements IdentifierGenerator {
+
+    /**
+     * IdentifierGenerator Hibernate yang memakai HiLoIdAllocator
+     * cara pakai di entity:
+     *
+     *    @GeneratedValue(generator = "products_id")
+     *    @GenericGenerator(name = "products_id", strategy = "com.tutorial.id.HiLoIdentifierGenerator",
+     *            parameters = @Parameter(name = HiLoIdentifierGenerator.SEGMENT, value = "products"))
+     *
+     * karena id sudah di ketahui sebelum INSERT, Hibernate bisa mengumpulkan INSERT menjadi JDBC batch
+     */
+
+    public static final String SEGMENT = "segment";
+
+    public static final String BLOCK_SIZE = "block_size";
+
+    private String segment;
+
+    private int blockSize;
+
+    private ServiceRegistry serviceRegistry;
+
+    private volatile HiLoIdAllocator allocator;
+
+    @Override
+    public void configure(Type type, Properties parameters, ServiceRegistry serviceRegistry) throws MappingException {
+        this.segment = ConfigurationHelper.getString(SEGMENT, parameters);
+        if (segment == null) {
+            throw new MappingException("Parameter '" + SEGMENT + "' is required for " + getClass().getName());
+        }
+        this.blockSize = ConfigurationHelper.getInt(BLOCK_SIZE, parameters, HiLoIdAllocator.DEFAULT_BLOCK_SIZE);
+        this.serviceRegistry = serviceRegistry;
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) throws HibernateException {
+        return allocator().nextId();
+    }
+
+    // DataSource dari Spring Boot (Hikari) di ambil saat pertama kali di butuhkan
+    private HiLoIdAllocator allocator() {
+        HiLoIdAllocator current = allocator;
+        if (current == null) {
+            synchronized (this) {
+                current = allocator;
+                if (current == null) {
+                    DataSource dataSource = serviceRegistry.getService(ConnectionProvider.class).unwrap(DataSource.class);
+                    current = new HiLoIdAllocator(dataSource, segment, blockSize);
+                    allocator = current;
+                }
+            }
+        }
+        return current;
+    }
+
+}
@@ -0,0 +1,28 @@
+package com.tutorial.id;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+public class IdAllocators {
+
+    /**
+     * Allocator id untuk jalur insert yang tidak lewat Hibernate (JdbcTemplate, native query)
+     * memakai table id_allocations yang sama dengan HiLoIdentifierGenerator, jadi id tidak akan bentrok
+     */
+
+    @Autowired
+    private DataSource dataSource;
+
+    private final Map<String, HiLoIdAllocator> allocators = new ConcurrentHashMap<>();
+
+    public HiLoIdAllocator forSegment(String segment) {
+        return allocators.computeIfAbsent(segment,
+                name -> new HiLoIdAllocator(dataSource, name, HiLoIdAllocator.DEFAULT_BLOCK_SIZE));
+    }
+
+}
@@ -0,0 +1,74 @@
+package com.tutorial.importer;
+
+import java.nio.ByteBuffer;
+
+final class CsvFeedParser extends FeedParser {
+
+    /**
+     * CSV: name,price,category_id
+     * ● baris pertama adalah header dan di lewati
+     * ● field boleh di beri tanda kutip, tanda kutip di dalam field di tulis "" (RFC 4180)
+     * ● satu record harus satu baris (newline di dalam field tidak di dukung)
+     */
+
+    @Override
+    protected void parseLine(ByteBuffer buffer, int start, int end, RecordSink sink) throws InterruptedException {
+        if (lineNumber == 1) {
+            return; // header
+        }
+
+        int nameEnd = fieldEnd(buffer, start, end);
+        int priceEnd = fieldEnd(buffer, nameEnd + 1, end);
+        int categoryEnd = fieldEnd(buffer, priceEnd + 1, end);
+        if (nameEnd >= end || priceEnd >= end || categoryEnd != end) {
+            throw error("expected 3 fields");
+        }
+
+        String name;
+        if (isQuoted(buffer, start, nameEnd)) {
+            name = decodeCsvQuoted(buffer, start + 1, nameEnd - 1);
+        } else {
+            name = decode(buffer, start, nameEnd);
+        }
+        long price = parseLong(buffer, unquoteStart(buffer, nameEnd + 1, priceEnd), unquoteEnd(buffer, nameEnd + 1, priceEnd));
+        long categoryId = parseLong(buffer, unquoteStart(buffer, priceEnd + 1, categoryEnd), unquoteEnd(buffer, priceEnd + 1, categoryEnd));
+
+        sink.accept(name, price, categoryId);
+    }
+
+    // posisi koma setelah field (atau end), koma di dalam tanda kutip di abaikan
+    private int fieldEnd(ByteBuffer buffer, int start, int end) {
+        if (start < end && buffer.get(start) == '"') {
+            int i = start + 1;
+            while (i < end) {
+                if (buffer.get(i) == '"') {
+                    if (i + 1 < end && buffer.get(i + 1) == '"') {
+                        i += 2;
+                        continue;
+                    }
+                    if (i + 1 < end && buffer.get(i + 1) != ',') {
+                        throw error("unexpected character after quote");
+                    }
+                    return i + 1;
+                }
+                i++;
+            }
+            throw error("unterminated quote");
+        }
+        int comma = indexOf(buffer, (byte) ',', start, end);
+        return comma < 0 ? end : comma;
+    }
+
+    private static boolean isQuoted(ByteBuffer buffer, int start, int end) {
+        return end - start >= 2 && buffer.get(start) == '"' && buffer.get(end - 1) == '"';
+    }
+
+    private static int unquoteStart(ByteBuffer buffer, int start, int end) {
+        return isQuoted(buffer, start, end) ? start + 1 : start;
+    }
+
+    private static int unquoteEnd(ByteBuffer buffer, int start, int end) {
+        return isQuoted(buffer, start, end) ? end - 1 : end;
+    }
+
+}
@@ -0,0 +1,172 @@
+package com.tutorial.importer;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+abstract class FeedParser {
+
+    /**
+     * Parser feed berbasis byte
+     * ● Membaca langsung dari ByteBuffer (window memory-mapped), tidak membuat String per baris atau per field
+     * ● price dan category_id di parse langsung dari byte menjadi long
+     * ● Hanya name yang di decode menjadi String, lewat buffer scratch yang di pakai ulang
+     */
+
+    interface RecordSink {
+        void accept(String name, long price, long categoryId) throws InterruptedException;
+    }
+
+    static FeedParser of(ProductFeedFormat format) {
+        return switch (format) {
+            case CSV -> new CsvFeedParser();
+            case NDJSON -> new NdjsonFeedParser();
+        };
+    }
+
+    private byte[] scratch = new byte[256];
+
+    protected long lineNumber;
+
+    // baris kosong di lewati, kecuali untuk LOAD DATA yang menjadikan nya baris (lihat rejectBlankLines)
+    private boolean blankLinesAllowed = true;
+
+    // jumlah baris yang di akhiri \r\n dan \n, untuk memilih LINES TERMINATED BY di LOAD DATA
+    private long crlfLines;
+
+    private long lfLines;
+
+    // parse semua baris lengkap di window, return posisi byte setelah baris lengkap terakhir
+    // baris terakhir yang terpotong (bukan window terakhir) akan di baca lagi di window berikutnya
+    int parse(ByteBuffer window, boolean lastWindow, RecordSink sink) throws InterruptedException {
+        int limit = window.limit();
+        int lineStart = 0;
+        while (lineStart < limit) {
+            int newline = indexOf(window, (byte) '\n', lineStart, limit);
+            int lineEnd;
+            int next;
+            if (newline < 0) {
+                if (!lastWindow) {
+                    break;
+                }
+                lineEnd = limit;
+                next = limit;
+            } else {
+                lineEnd = newline;
+                next = newline + 1;
+            }
+            boolean crlf = lineEnd > lineStart && window.get(lineEnd - 1) == '\r';
+            if (crlf) {
+                lineEnd--;
+            }
+            lineNumber++;
+            if (newline >= 0) {
+                if (crlf) {
+                    crlfLines++;
+                } else {
+                    lfLines++;
+                }
+            }
+            if (lineEnd > lineStart) {
+                parseLine(window, lineStart, lineEnd, sink);
+            } else if (!blankLinesAllowed) {
+                throw error("blank line");
+            }
+            lineStart = next;
+        }
+        return lineStart;
+    }
+
+    FeedParser rejectBlankLines() {
+        blankLinesAllowed = false;
+        return this;
+    }
+
+    long crlfLines() {
+        return crlfLines;
+    }
+
+    long lfLines() {
+        return lfLines;
+    }
+
+    protected abstract void parseLine(ByteBuffer buffer, int start, int end, RecordSink sink) throws InterruptedException;
+
+    protected IllegalArgumentException error(String message) {
+        return new IllegalArgumentException("Invalid feed at line " + lineNumber + ": " + message);
+    }
+
+    protected static int indexOf(ByteBuffer buffer, byte value, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (buffer.get(i) == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    protected static int skipWhitespace(ByteBuffer buffer, int from, int to) {
+        while (from < to && isWhitespace(buffer.get(from))) {
+            from++;
+        }
+        return from;
+    }
+
+    protected static boolean isWhitespace(byte value) {
+        return value == ' ' || value == '\t' || value == '\r' || value == '\n';
+    }
+
+    protected long parseLong(ByteBuffer buffer, int start, int end) {
+        start = skipWhitespace(buffer, start, end);
+        while (end > start && isWhitespace(buffer.get(end - 1))) {
+            end--;
+        }
+        if (start == end) {
+            throw error("empty number");
+        }
+
+        boolean negative = buffer.get(start) == '-';
+        int i = negative ? start + 1 : start;
+        if (i == end) {
+            throw error("invalid number");
+        }
+        long value = 0;
+        for (; i < end; i++) {
+            int digit = buffer.get(i) - '0';
+            if (digit < 0 || digit > 9) {
+                throw error("invalid number");
+            }
+            value = Math.multiplyExact(value, 10) + digit;
+        }
+        return negative ? -value : value;
+    }
+
+    // decode UTF-8 tanpa escape
+    protected String decode(ByteBuffer buffer, int start, int end) {
+        int length = end - start;
+        byte[] bytes = scratch(length);
+        buffer.get(start, bytes, 0, length);
+        return new String(bytes, 0, length, StandardCharsets.UTF_8);
+    }
+
+    // decode UTF-8 dengan quote ganda "" menjadi " (CSV)
+    protected String decodeCsvQuoted(ByteBuffer buffer, int start, int end) {
+        byte[] bytes = scratch(end - start);
+        int length = 0;
+        for (int i = start; i < end; i++) {
+            byte value = buffer.get(i);
+            bytes[length++] = value;
+            if (value == '"') {
+                i++; // lewati quote kedua
+            }
+        }
+        return new String(bytes, 0, length, StandardCharsets.UTF_8);
+    }
+
+    private byte[] scratch(int length) {
+        if (scratch.length < length) {
+            scratch = new byte[Math.max(length, scratch.length * 2)];
+        }
+        return scratch;
+    }
+
+}
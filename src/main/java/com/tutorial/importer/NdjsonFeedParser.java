@@ -0,0 +1,179 @@
+package com.tutorial.importer;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+final class NdjsonFeedParser extends FeedParser {
+
+    /**
+     * NDJSON: satu object JSON datar per baris
+     * {"name": "komik", "price": 25000, "categoryId": 2}
+     * ● key di bandingkan langsung dalam bentuk byte, key lain di abaikan
+     * ● nested object / array tidak di dukung
+     */
+
+    private static final byte[] NAME = "name".getBytes(StandardCharsets.US_ASCII);
+
+    private static final byte[] PRICE = "price".getBytes(StandardCharsets.US_ASCII);
+
+    private static final byte[] CATEGORY_ID = "categoryId".getBytes(StandardCharsets.US_ASCII);
+
+    private static final byte[] CATEGORY_ID_SNAKE = "category_id".getBytes(StandardCharsets.US_ASCII);
+
+    private String name;
+
+    private long price;
+
+    private long categoryId;
+
+    private boolean hasPrice;
+
+    private boolean hasCategoryId;
+
+    @Override
+    protected void parseLine(ByteBuffer buffer, int start, int end, RecordSink sink) throws InterruptedException {
+        name = null;
+        hasPrice = false;
+        hasCategoryId = false;
+
+        int pos = skipWhitespace(buffer, start, end);
+        if (pos == end) {
+            return; // baris kosong
+        }
+        pos = expect(buffer, pos, end, '{');
+        pos = skipWhitespace(buffer, pos, end);
+        if (pos < end && buffer.get(pos) == '}') {
+            pos++;
+        } else {
+            while (true) {
+                pos = expect(buffer, pos, end, '"');
+                int keyStart = pos;
+                int keyEnd = indexOf(buffer, (byte) '"', pos, end);
+                if (keyEnd < 0) {
+                    throw error("unterminated key");
+                }
+                pos = skipWhitespace(buffer, keyEnd + 1, end);
+                pos = expect(buffer, pos, end, ':');
+                pos = skipWhitespace(buffer, pos, end);
+                pos = value(buffer, keyStart, keyEnd, pos, end);
+                pos = skipWhitespace(buffer, pos, end);
+                if (pos < end && buffer.get(pos) == ',') {
+                    pos = skipWhitespace(buffer, pos + 1, end);
+                    continue;
+                }
+                pos = expect(buffer, pos, end, '}');
+                break;
+            }
+        }
+        if (skipWhitespace(buffer, pos, end) != end) {
+            throw error("unexpected content after object");
+        }
+
+        if (name == null || !hasPrice || !hasCategoryId) {
+            throw error("name, price and categoryId are required");
+        }
+        sink.accept(name, price, categoryId);
+    }
+
+    // baca satu value, simpan jika key nya di kenal, return posisi setelah value
+    private int value(ByteBuffer buffer, int keyStart, int keyEnd, int pos, int end) {
+        if (pos < end && buffer.get(pos) == '"') {
+            int valueEnd = stringEnd(buffer, pos + 1, end);
+            if (keyEquals(buffer, keyStart, keyEnd, NAME)) {
+                name = decodeJsonString(buffer, pos + 1, valueEnd);
+            }
+            return valueEnd + 1;
+        }
+
+        int valueEnd = pos;
+        while (valueEnd < end) {
+            byte value = buffer.get(valueEnd);
+            if (value == ',' || value == '}' || isWhitespace(value)) {
+                break;
+            }
+            valueEnd++;
+        }
+        if (keyEquals(buffer, keyStart, keyEnd, PRICE)) {
+            price = parseLong(buffer, pos, valueEnd);
+            hasPrice = true;
+        } else if (keyEquals(buffer, keyStart, keyEnd, CATEGORY_ID) || keyEquals(buffer, keyStart, keyEnd, CATEGORY_ID_SNAKE)) {
+            categoryId = parseLong(buffer, pos, valueEnd);
+            hasCategoryId = true;
+        }
+        return valueEnd;
+    }
+
+    // posisi tanda kutip penutup string, escape \" di lewati
+    private int stringEnd(ByteBuffer buffer, int pos, int end) {
+        while (pos < end) {
+            byte value = buffer.get(pos);
+            if (value == '\\') {
+                pos += 2;
+                continue;
+            }
+            if (value == '"') {
+                return pos;
+            }
+            pos++;
+        }
+        throw error("unterminated string");
+    }
+
+    private String decodeJsonString(ByteBuffer buffer, int start, int end) {
+        if (indexOf(buffer, (byte) '\\', start, end) < 0) {
+            return decode(buffer, start, end); // jalur cepat tanpa escape
+        }
+
+        StringBuilder builder = new StringBuilder(end - start);
+        int segment = start;
+        int i = start;
+        while (i < end) {
+            if (buffer.get(i) != '\\') {
+                i++;
+                continue;
+            }
+            builder.append(decode(buffer, segment, i));
+            byte escape = buffer.get(i + 1);
+            switch (escape) {
+                case '"', '\\', '/' -> builder.append((char) escape);
+                case 'b' -> builder.append('\b');
+                case 'f' -> builder.append('\f');
+                case 'n' -> builder.append('\n');
+                case 'r' -> builder.append('\r');
+                case 't' -> builder.append('\t');
+                case 'u' -> {
+                    if (i + 6 > end) {
+                        throw error("invalid unicode escape");
+                    }
+                    builder.append((char) Integer.parseInt(decode(buffer, i + 2, i + 6), 16));
+                    i += 4;
+                }
+                default -> throw error("invalid escape");
+            }
+            i += 2;
+            segment = i;
+        }
+        builder.append(decode(buffer, segment, end));
+        return builder.toString();
+    }
+
+    private int expect(ByteBuffer buffer, int pos, int end, char expected) {
+        if (pos >= end || buffer.get(pos) != expected) {
+            throw error("expected '" + expected + "'");
+        }
+        return pos + 1;
+    }
+
+    private static boolean keyEquals(ByteBuffer buffer, int start, int end, byte[] key) {
+        if (end - start != key.length) {
+            return false;
+        }
+        for (int i = 0; i < key.length; i++) {
+            if (buffer.get(start + i) != key[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+}
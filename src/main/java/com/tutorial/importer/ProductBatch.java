@@ -0,0 +1,43 @@
+package com.tutorial.importer;
+
+import java.util.Arrays;
+
+final class ProductBatch {
+
+    /**
+     * satu batch baris product dalam bentuk kolom (array primitive)
+     * object batch di pakai ulang antara parser dan writer, jadi tidak ada alokasi per batch
+     * hanya name yang menjadi String (di butuhkan untuk JDBC setString)
+     */
+
+    final String[] names;
+
+    final long[] prices;
+
+    final long[] categoryIds;
+
+    int size;
+
+    ProductBatch(int capacity) {
+        this.names = new String[capacity];
+        this.prices = new long[capacity];
+        this.categoryIds = new long[capacity];
+    }
+
+    boolean isFull() {
+        return size == names.length;
+    }
+
+    void add(String name, long price, long categoryId) {
+        names[size] = name;
+        prices[size] = price;
+        categoryIds[size] = categoryId;
+        size++;
+    }
+
+    void clear() {
+        Arrays.fill(names, 0, size, null); // lepas referensi String supaya bisa di GC
+        size = 0;
+    }
+
+}
@@ -0,0 +1,15 @@
+package com.tutorial.importer;
+
+public enum ProductFeedFormat {
+
+    /**
+     * format file feed product dari supplier, satu record per baris
+     *
+     * CSV   : name,price,category_id (baris pertama header, field name boleh di beri tanda kutip "...")
+     * NDJSON: {"name": "...", "price": 1000, "categoryId": 1}
+     */
+
+    CSV,
+    NDJSON
+
+}
@@ -0,0 +1,288 @@
+package com.tutorial.importer;
+
+import com.tutorial.id.HiLoIdAllocator;
+import com.tutorial.id.IdAllocators;
+import com.tutorial.model.BulkResult;
+import com.tutorial.model.ProductChangedEvent;
+import com.tutorial.repository.ProductNameFilter;
+import com.tutorial.repository.SecondLevelCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+@Slf4j
+@Service
+public class ProductFeedImporter {
+
+    /**
+     * Streaming Import Feed Product
+     * ● File di baca per window memory-mapped (FileChannel.map), bukan di load seluruhnya ke heap
+     * ● Parser membaca byte langsung dari window, hanya name yang menjadi String
+     * ● Hasil parse di kumpulkan per batch (array primitive) dan di kirim lewat bounded queue ke thread writer
+     * ● Thread writer menjalankan INSERT JDBC batch (satu transaction pendek per batch), sementara thread
+     *   pemanggil sudah parse batch berikutnya. Jadi parse dan insert berjalan bersamaan
+     * ● Object batch di pakai ulang (pool), jadi heap hanya sebesar (queue + 2) batch, tidak tergantung ukuran file
+     * ● Id product di ambil dari HiLoIdAllocator yang sama dengan Hibernate, jadi tidak bentrok
+     */
+
+    private static final String INSERT_PRODUCT = "INSERT INTO products (id, name, price, category_id) VALUES (?, ?, ?, ?)";
+
+    private static final long WINDOW_SIZE = 64L * 1024 * 1024; // 64 MiB per mapping
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private IdAllocators idAllocators;
+
+    @Autowired
+    private ProductNameFilter productNameFilter;
+
+    @Autowired
+    private SecondLevelCache secondLevelCache;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.import.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${app.import.queue-capacity:4}")
+    private int queueCapacity;
+
+    @Value("${app.import.load-data-enabled:false}")
+    private boolean loadDataEnabled;
+
+    public BulkResult importFeed(Path file, ProductFeedFormat format) {
+        long start = System.nanoTime();
+
+        BlockingQueue<ProductBatch> filled = new ArrayBlockingQueue<>(queueCapacity);
+        BlockingQueue<ProductBatch> free = new ArrayBlockingQueue<>(queueCapacity + 2);
+        for (int i = 0; i < queueCapacity + 2; i++) {
+            free.add(new ProductBatch(batchSize));
+        }
+        ProductBatch end = new ProductBatch(0); // penanda input sudah habis
+
+        AtomicLong written = new AtomicLong();
+        AtomicReference<Throwable> writerFailure = new AtomicReference<>();
+        Thread writer = new Thread(() -> {
+            try {
+                ProductBatch batch;
+                while ((batch = filled.take()) != end) {
+                    written.addAndGet(write(batch));
+                    batch.clear();
+                    free.put(batch);
+                }
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            } catch (Throwable throwable) {
+                writerFailure.set(throwable);
+            }
+        }, "product-feed-writer");
+        writer.start();
+
+        try {
+            ProductBatch[] current = {take(free, writerFailure)};
+            FeedParser parser = FeedParser.of(format);
+            read(file, parser, (name, price, categoryId) -> {
+                current[0].add(name, price, categoryId);
+                if (current[0].isFull()) {
+                    put(filled, current[0], writerFailure);
+                    current[0] = take(free, writerFailure);
+                }
+            });
+            if (current[0].size > 0) {
+                put(filled, current[0], writerFailure);
+            }
+            put(filled, end, writerFailure);
+            writer.join();
+        } catch (InterruptedException exception) {
+            writer.interrupt();
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Import interrupted: " + file, exception);
+        } catch (RuntimeException exception) {
+            writer.interrupt(); // parser gagal, hentikan writer
+            throw exception;
+        }
+
+        Throwable failure = writerFailure.get();
+        if (failure != null) {
+            throw new IllegalStateException("Import failed: " + file, failure);
+        }
+
+        secondLevelCache.productsWritten(); // insert JDBC tidak melewati second-level cache (Category.products)
+        eventPublisher.publishEvent(ProductChangedEvent.bulk()); // sekali per import (semua batch sudah commit)
+        BulkResult result = BulkResult.since(written.get(), start);
+        log.info("import {}: {} rows in {} ms ({} rows/s)", file, result.rows(), result.elapsedMillis(), (long) result.rowsPerSecond());
+        return result;
+    }
+
+    /**
+     * LOAD DATA LOCAL INFILE (opsional, hanya CSV)
+     * ● MySQL membaca file langsung dari client, cara paling cepat untuk import besar
+     * ● Harus di aktifkan: app.import.load-data-enabled=true, driver allowLoadLocalInfileInPath (atau allowLoadLocalInfile)
+     *   dan variable server local_infile=ON
+     * ● Id di isi dari rentang id yang di pesan ke HiLoIdAllocator sebanyak jumlah baris file, jumlah baris di hitung
+     *   dengan parser CSV aplikasi. Supaya MySQL membaca baris yang sama: ESCAPED BY '' (backslash bukan escape, ""
+     *   di dalam kutip tetap menjadi "), LINES TERMINATED BY sesuai file (\n atau \r\n, campuran di tolak) dan
+     *   baris kosong di tolak (MySQL menjadikannya baris)
+     * ● LOAD DATA berjalan di dalam transaction, jika jumlah baris yang di load berbeda dari rentang id yang di pesan
+     *   semua nya di rollback, supaya id di luar rentang (milik blok hi/lo berikutnya) tidak pernah tersimpan
+     */
+    public BulkResult loadDataInfile(Path csvFile) {
+        if (!loadDataEnabled) {
+            throw new IllegalStateException("LOAD DATA LOCAL INFILE is disabled (app.import.load-data-enabled)");
+        }
+        long start = System.nanoTime();
+
+        // hitung baris, pesan id dan LOAD DATA dalam satu transaction: nama yang di tambahkan ke ProductNameFilter saat
+        // menghitung ikut di tambahkan lagi setelah commit (lihat ProductNameFilter.add)
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        Long loaded = transaction.execute(status -> {
+            FeedParser parser = FeedParser.of(ProductFeedFormat.CSV).rejectBlankLines();
+            long rows = countRecords(csvFile, parser);
+            if (rows == 0) {
+                return 0L;
+            }
+            if (parser.crlfLines() > 0 && parser.lfLines() > 0) {
+                throw new IllegalArgumentException("Mixed line endings (\\n and \\r\\n) are not supported by LOAD DATA: " + csvFile);
+            }
+            String lineTerminator = parser.crlfLines() > 0 ? "\\r\\n" : "\\n";
+            HiLoIdAllocator allocator = idAllocators.forSegment("products");
+            long firstId = allocator.reserveRange(rows);
+
+            String path = csvFile.toAbsolutePath().toString().replace("\\", "\\\\").replace("'", "\\'");
+            return jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("SET @product_id = " + (firstId - 1));
+                    long count = statement.executeLargeUpdate("LOAD DATA LOCAL INFILE '" + path + "' INTO TABLE products " +
+                            "CHARACTER SET utf8mb4 FIELDS TERMINATED BY ',' OPTIONALLY ENCLOSED BY '\"' ESCAPED BY '' " +
+                            "LINES TERMINATED BY '" + lineTerminator + "' IGNORE 1 LINES (@name, @price, @category_id) " +
+                            "SET id = (@product_id := @product_id + 1), name = @name, price = @price, category_id = @category_id");
+                    if (count != rows) {
+                        // exception di dalam TransactionTemplate: seluruh LOAD DATA di rollback
+                        throw new IllegalStateException("LOAD DATA loaded " + count + " rows but " + rows + " ids were reserved: " + csvFile);
+                    }
+                    return count;
+                }
+            });
+        });
+        if (loaded == null || loaded == 0) {
+            return BulkResult.since(0, start);
+        }
+
+        secondLevelCache.productsWritten();
+        eventPublisher.publishEvent(ProductChangedEvent.bulk());
+        BulkResult result = BulkResult.since(loaded, start);
+        log.info("load data {}: {} rows in {} ms ({} rows/s)", csvFile, result.rows(), result.elapsedMillis(), (long) result.rowsPerSecond());
+        return result;
+    }
+
+    private int write(ProductBatch batch) {
+        long[] ids = idAllocators.forSegment("products").nextIds(batch.size);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.executeWithoutResult(status -> {
+            // di dalam transaction: nama masuk filter sebelum commit dan sekali lagi setelah commit (lihat ProductNameFilter.add)
+            for (int i = 0; i < batch.size; i++) {
+                productNameFilter.add(batch.names[i]);
+            }
+            jdbcTemplate.batchUpdate(INSERT_PRODUCT, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement statement, int i) throws SQLException {
+                    statement.setLong(1, ids[i]);
+                    statement.setString(2, batch.names[i]);
+                    statement.setLong(3, batch.prices[i]);
+                    statement.setLong(4, batch.categoryIds[i]);
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return batch.size;
+                }
+            });
+        });
+        return batch.size;
+    }
+
+    private void read(Path file, FeedParser parser, FeedParser.RecordSink sink) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long position = 0;
+            while (position < size) {
+                long length = Math.min(WINDOW_SIZE, size - position);
+                MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                boolean lastWindow = position + length == size;
+                int consumed = parser.parse(window, lastWindow, sink);
+                if (consumed == 0) {
+                    throw new IllegalArgumentException("Record larger than " + WINDOW_SIZE + " bytes at offset " + position);
+                }
+                position += consumed; // sisa baris yang terpotong di baca ulang di window berikutnya
+            }
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Import interrupted: " + file, exception);
+        }
+    }
+
+    // jumlah record CSV (tanpa header), untuk memesan rentang id LOAD DATA, sekaligus nama untuk ProductNameFilter
+    // (LOAD DATA tidak melewati aplikasi), di panggil di dalam transaction LOAD DATA
+    private long countRecords(Path csvFile, FeedParser parser) {
+        AtomicLong count = new AtomicLong();
+        read(csvFile, parser, (name, price, categoryId) -> {
+            productNameFilter.add(name);
+            count.incrementAndGet();
+        });
+        return count.get();
+    }
+
+    // put / take dengan timeout supaya thread parser tidak menunggu selamanya jika writer sudah gagal
+    private static void put(BlockingQueue<ProductBatch> queue, ProductBatch batch, AtomicReference<Throwable> failure) throws InterruptedException {
+        while (!queue.offer(batch, 100, TimeUnit.MILLISECONDS)) {
+            checkWriter(failure);
+        }
+        checkWriter(failure);
+    }
+
+    private static ProductBatch take(BlockingQueue<ProductBatch> queue, AtomicReference<Throwable> failure) throws InterruptedException {
+        ProductBatch batch;
+        while ((batch = queue.poll(100, TimeUnit.MILLISECONDS)) == null) {
+            checkWriter(failure);
+        }
+        return batch;
+    }
+
+    private static void checkWriter(AtomicReference<Throwable> failure) {
+        Throwable throwable = failure.get();
+        if (throwable != null) {
+            throw new IllegalStateException("Product feed writer failed", throwable);
+        }
+    }
+
+}
@@ -0,0 +1,20 @@
+package com.tutorial.model;
+
+public record BulkResult(long rows, long elapsedNanos) {
+    /**
+     * hasil operasi bulk (ingest, update, delete): jumlah baris dan waktu yang di butuhkan
+     */
+
+    public static BulkResult since(long rows, long startNanos) {
+        return new BulkResult(rows, System.nanoTime() - startNanos);
+    }
+
+    public long elapsedMillis() {
+        return elapsedNanos / 1_000_000L;
+    }
+
+    public double rowsPerSecond() {
+        return elapsedNanos == 0 ? 0 : rows * 1_000_000_000d / elapsedNanos;
+    }
+
+}
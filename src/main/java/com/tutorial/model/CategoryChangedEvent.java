@@ -0,0 +1,15 @@
+package com.tutorial.model;
+
+public record CategoryChangedEvent(Long id, String name, boolean deleted) {
+    /**
+     * event setiap category di simpan / di hapus, dari CategoryEntityListener (EntityManager) atau dari jalur bulk
+     * (upsertAllByExternalId, insert / update stateless)
+     * ● listener memakai @TransactionalEventListener supaya hanya perubahan yang sudah commit yang di proses
+     * ● bulk(): id dan name null, category mana yang berubah tidak di ketahui (upsert JDBC), listener invalidate semua.
+     *   Di kirim sekali per operasi, bukan per baris
+     */
+
+    public static CategoryChangedEvent bulk() {
+        return new CategoryChangedEvent(null, null, false);
+    }
+}
@@ -0,0 +1,15 @@
+package com.tutorial.model;
+
+public record CategoryPriceSummary(Long categoryId, String categoryName, long productCount, long priceSum,
+                                   Long priceMin, Long priceMax) {
+    /**
+     * Ringkasan harga product per category (jumlah, total, min, max, rata-rata)
+     * ● Di hitung di database (CategoryRepository.aggregatePriceSummary*) atau di baca dari table
+     *   category_product_stats (CategoryPriceSummaryRepository), bukan dengan me-load semua Product ke Java
+     * ● Category tanpa product: productCount 0, priceSum 0, priceMin / priceMax / averagePrice null
+     */
+
+    public Double averagePrice() {
+        return productCount == 0 ? null : (double) priceSum / productCount;
+    }
+}
@@ -0,0 +1,18 @@
+package com.tutorial.model;
+
+public record ChunkedResult(long written, long skipped, long resumedFrom, int chunks, int skippedChunks, long elapsedNanos) {
+    /**
+     * hasil job batch per chunk
+     * written: item yang sudah commit, skipped: item di chunk yang gagal dan di lewati
+     * resumedFrom: index awal (dari checkpoint) ketika job di jalankan ulang
+     */
+
+    public long elapsedMillis() {
+        return elapsedNanos / 1_000_000L;
+    }
+
+    public boolean hasSkipped() {
+        return skippedChunks > 0;
+    }
+
+}
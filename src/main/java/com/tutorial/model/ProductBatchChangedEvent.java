@@ -0,0 +1,12 @@
+package com.tutorial.model;
+
+import java.util.List;
+
+public record ProductBatchChangedEvent(List<ProductChangedEvent> changes) {
+    /**
+     * satu event per bulk write yang tahu product mana yang berubah (insertAllStateless / updateAllStateless)
+     * ● isi nya sama dengan ProductChangedEvent per baris, tapi di publish sekali per operasi: listener
+     *   @TransactionalEventListener cukup satu synchronization, bukan satu per baris
+     * ● bulk write yang tidak tahu baris nya (upsert, import, LOAD DATA, BulkDeleteService) tetap ProductChangedEvent.bulk()
+     */
+}
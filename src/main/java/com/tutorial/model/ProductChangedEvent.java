@@ -0,0 +1,20 @@
+package com.tutorial.model;
+
+public record ProductChangedEvent(Long id, String name, Long categoryId, boolean deleted) {
+    /**
+     * event setiap product di simpan / di hapus lewat EntityManager (save, delete, saveAll, ...)
+     * ● di publish oleh ProductEntityListener di dalam transaction, listener sebaiknya memakai
+     *   @TransactionalEventListener supaya hanya perubahan yang sudah commit yang di proses
+     * ● stateless insert / update mengirim semua perubahan nya sekaligus dalam satu ProductBatchChangedEvent
+     * ● bulk write yang tidak tahu baris mana yang berubah (upsert, import, LOAD DATA, BulkDeleteService) mengirim satu
+     *   event bulk() per operasi: id dan name null, listener yang butuh isi nya membaca ulang dari database
+     */
+
+    public static ProductChangedEvent bulk() {
+        return new ProductChangedEvent(null, null, null, false);
+    }
+
+    public boolean isBulk() {
+        return id == null;
+    }
+}
@@ -0,0 +1,260 @@
+package com.tutorial.model;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+public final class ProductPriceColumns {
+
+    /**
+     * Projection columnar (id, name, price) untuk hasil query yang besar
+     * ● List<ProductPrice> membuat satu record + dua Long per baris, List<SimpleProduct> bahkan satu proxy
+     *   (dan map / tuple di belakang nya) per baris. Jutaan baris = jutaan object kecil untuk GC
+     * ● Di sini setiap kolom satu array: long[] ids, long[] prices, dan name di encode dictionary (int[] kode per
+     *   baris + String[] nilai yang berbeda), di isi langsung dari ResultSet JDBC (ProductColumnarRepository)
+     * ● Nama yang sama (nama product populer, hasil join) hanya di simpan sekali di dictionary, setiap baris cukup
+     *   satu int. Nama yang semua nya berbeda tidak menghemat String, yang hilang tetap object per baris
+     * ● Akses per baris tanpa boxing: id(i), price(i), nameCode(i), forEach(RowConsumer), prices() / ids() sebagai LongStream
+     * ● Aggregate langsung di array: sumPrice, minPrice, maxPrice, averagePrice, countPriceBetween
+     * ● Immutable setelah build(), boleh di baca dari banyak thread
+     */
+
+    private final long[] ids;
+
+    private final long[] prices;
+
+    private final int[] nameCodes;
+
+    private final String[] dictionary;
+
+    private ProductPriceColumns(long[] ids, long[] prices, int[] nameCodes, String[] dictionary) {
+        this.ids = ids;
+        this.prices = prices;
+        this.nameCodes = nameCodes;
+        this.dictionary = dictionary;
+    }
+
+    @FunctionalInterface
+    public interface RowConsumer {
+        void accept(long id, int nameCode, long price);
+    }
+
+    public static Builder builder() {
+        return new Builder(1024);
+    }
+
+    public static Builder builder(int expectedRows) {
+        return new Builder(Math.max(16, expectedRows));
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    public boolean isEmpty() {
+        return ids.length == 0;
+    }
+
+    public long id(int row) {
+        return ids[row];
+    }
+
+    public long price(int row) {
+        return prices[row];
+    }
+
+    public int nameCode(int row) {
+        return nameCodes[row];
+    }
+
+    public String name(int row) {
+        return dictionary[nameCodes[row]];
+    }
+
+    // nilai dictionary untuk kode dari nameCode / RowConsumer
+    public String nameOf(int nameCode) {
+        return dictionary[nameCode];
+    }
+
+    public int distinctNames() {
+        return dictionary.length;
+    }
+
+    // satu baris sebagai record (boxing), untuk baris yang memang perlu di kirim keluar
+    public ProductPrice row(int row) {
+        return new ProductPrice(ids[row], name(row), prices[row]);
+    }
+
+    public void forEach(RowConsumer consumer) {
+        for (int row = 0; row < ids.length; row++) {
+            consumer.accept(ids[row], nameCodes[row], prices[row]);
+        }
+    }
+
+    public LongStream ids() {
+        return Arrays.stream(ids);
+    }
+
+    public LongStream prices() {
+        return Arrays.stream(prices);
+    }
+
+    // index baris yang harga nya di antara from dan to (inklusif), misal untuk di ambil row(i) nya
+    public IntStream rowsWherePriceBetween(long from, long to) {
+        return IntStream.range(0, prices.length).filter(row -> prices[row] >= from && prices[row] <= to);
+    }
+
+    public long sumPrice() {
+        long sum = 0;
+        for (long price : prices) {
+            sum += price;
+        }
+        return sum;
+    }
+
+    public long minPrice() {
+        requireRows();
+        long min = Long.MAX_VALUE;
+        for (long price : prices) {
+            min = Math.min(min, price);
+        }
+        return min;
+    }
+
+    public long maxPrice() {
+        requireRows();
+        long max = Long.MIN_VALUE;
+        for (long price : prices) {
+            max = Math.max(max, price);
+        }
+        return max;
+    }
+
+    public double averagePrice() {
+        requireRows();
+        return (double) sumPrice() / prices.length;
+    }
+
+    public int countPriceBetween(long from, long to) {
+        int count = 0;
+        for (long price : prices) {
+            if (price >= from && price <= to) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private void requireRows() {
+        if (ids.length == 0) {
+            throw new IllegalStateException("No rows");
+        }
+    }
+
+    public static final class Builder {
+
+        /**
+         * Array tumbuh dua kali lipat seperti ArrayList, build() memotong ke ukuran sebenarnya
+         * ● Nama -> kode di cari lewat hash table open addressing (int[] slots berisi kode + 1, 0 = kosong, linear
+         *   probing), bukan HashMap<String, Integer>: nama yang semua nya berbeda tidak membuat node dan Integer per baris
+         * ● Hash nama (String.hashCode, sudah di cache oleh String) di simpan per kode, equals hanya di panggil kalau hash sama
+         * ● Table tumbuh dua kali lipat saat terisi lebih dari setengah, hanya ada selama build, setelah build() tinggal array
+         */
+
+        private long[] ids;
+
+        private long[] prices;
+
+        private int[] nameCodes;
+
+        private int size;
+
+        private int[] slots = new int[32];
+
+        private int[] hashes = new int[16];
+
+        private String[] dictionary = new String[16];
+
+        private int distinct;
+
+        private boolean built;
+
+        private Builder(int capacity) {
+            ids = new long[capacity];
+            prices = new long[capacity];
+            nameCodes = new int[capacity];
+        }
+
+        public Builder add(long id, String name, long price) {
+            if (built) {
+                throw new IllegalStateException("Builder already built");
+            }
+            if (size == ids.length) {
+                int capacity = size * 2;
+                ids = Arrays.copyOf(ids, capacity);
+                prices = Arrays.copyOf(prices, capacity);
+                nameCodes = Arrays.copyOf(nameCodes, capacity);
+            }
+            ids[size] = id;
+            prices[size] = price;
+            nameCodes[size] = code(name);
+            size++;
+            return this;
+        }
+
+        public ProductPriceColumns build() {
+            built = true;
+            slots = null;
+            hashes = null;
+            return new ProductPriceColumns(Arrays.copyOf(ids, size), Arrays.copyOf(prices, size),
+                    Arrays.copyOf(nameCodes, size), Arrays.copyOf(dictionary, distinct));
+        }
+
+        private int code(String name) {
+            int hash = Objects.hashCode(name);
+            int mask = slots.length - 1;
+            int slot = spread(hash) & mask;
+            while (slots[slot] != 0) {
+                int code = slots[slot] - 1;
+                if (hashes[code] == hash && Objects.equals(dictionary[code], name)) {
+                    return code;
+                }
+                slot = (slot + 1) & mask;
+            }
+            int code = distinct++;
+            if (code == dictionary.length) {
+                dictionary = Arrays.copyOf(dictionary, code * 2);
+                hashes = Arrays.copyOf(hashes, code * 2);
+            }
+            dictionary[code] = name;
+            hashes[code] = hash;
+            slots[slot] = code + 1;
+            if (distinct * 2 > slots.length) {
+                rehash(slots.length * 2);
+            }
+            return code;
+        }
+
+        private void rehash(int capacity) {
+            int[] resized = new int[capacity];
+            int mask = capacity - 1;
+            for (int code = 0; code < distinct; code++) {
+                int slot = spread(hashes[code]) & mask;
+                while (resized[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                resized[slot] = code + 1;
+            }
+            slots = resized;
+        }
+
+        // hash String yang mirip (nama + nomor) di acak dulu, supaya tidak menumpuk di slot yang berdekatan
+        private static int spread(int hash) {
+            int mixed = hash * 0x9E3779B9;
+            return mixed ^ (mixed >>> 16);
+        }
+
+    }
+
+}
@@ -0,0 +1,8 @@
+package com.tutorial.model;
+
+public record ProductRow(String name, Long price, String categoryName) {
+    /**
+     * satu baris input untuk bulk ingest product (contoh dari file katalog)
+     * category di sebut dengan nama, id nya di cari oleh BulkIngestService
+     */
+}
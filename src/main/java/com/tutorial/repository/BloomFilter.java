@@ -0,0 +1,88 @@
+package com.tutorial.repository;
+
+import com.tutorial.analytics.Hashing;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+final class BloomFilter {
+
+    /**
+     * Bloom filter sederhana untuk String
+     * ● m bit dan k hash di hitung dari perkiraan jumlah item (n) dan false positive rate (p):
+     *   m = -n ln p / (ln 2)^2, k = m / n ln 2
+     * ● k posisi bit di ambil dengan double hashing dari satu hash 64 bit (FNV-1a + finalizer murmur3)
+     * ● put aman di panggil dari banyak thread (AtomicLongArray), tidak bisa menghapus item
+     * ● put item yang sama berkali-kali tidak mengubah bit dan tidak menambah insertions
+     */
+
+    private final AtomicLongArray bits;
+
+    private final long bitCount;
+
+    private final int hashCount;
+
+    private final LongAdder insertions = new LongAdder();
+
+    BloomFilter(long expectedInsertions, double falsePositiveRate) {
+        long n = Math.max(1, expectedInsertions);
+        long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.bitCount = Math.min(1L << 31, Math.max(64, (m + 63) / 64 * 64)); // index bit dari hash 31 bit
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / n * Math.log(2)));
+        this.bits = new AtomicLongArray((int) (bitCount / 64));
+    }
+
+    void put(String value) {
+        long hash = Hashing.hash64(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        boolean changed = false;
+        for (int i = 1; i <= hashCount; i++) {
+            long bit = index(h1 + i * h2);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current;
+            while (((current = bits.get(word)) & mask) == 0) {
+                if (bits.compareAndSet(word, current, current | mask)) {
+                    changed = true;
+                    break;
+                }
+                // coba lagi, thread lain mengubah word yang sama
+            }
+        }
+        if (changed) {
+            insertions.increment(); // item yang sudah ada (semua bit sudah 1) tidak di hitung dua kali
+        }
+    }
+
+    boolean mightContain(String value) {
+        long hash = Hashing.hash64(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            long bit = index(h1 + i * h2);
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // perkiraan false positive rate dari jumlah item yang sudah masuk: (1 - e^(-kn/m))^k
+    double expectedFalsePositiveRate() {
+        return Math.pow(1 - Math.exp(-hashCount * (double) insertions.sum() / bitCount), hashCount);
+    }
+
+    long insertions() {
+        return insertions.sum();
+    }
+
+    long sizeInBytes() {
+        return bitCount / 8;
+    }
+
+    private long index(int combined) {
+        return (combined & 0x7fffffffL) % bitCount;
+    }
+
+}
@@ -0,0 +1,131 @@
+package com.tutorial.repository;
+
+import com.tutorial.entity.Category;
+import com.tutorial.model.CategoryChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.function.Function;
+
+@Component
+public class CategoryCache {
+
+    /**
+     * Read-through cache category berdasarkan id dan name
+     * ● Category di baca hampir di setiap request tapi jarang berubah, cache ini membuat lookup category menjadi
+     *   pembacaan memory (lihat CategoryCacheRepository)
+     * ● Dua LruTtlCache: id -> snapshot category, dan name (lowercase, tanpa aksen seperti collation MySQL) -> id.
+     *   Snapshot berdasarkan id adalah sumber kebenaran, hasil lookup name di cek lagi terhadap name snapshot nya
+     * ● Snapshot immutable, setiap hit mengembalikan object Category baru (detached, products tidak di load),
+     *   jadi perubahan di object hasil cache tidak mengotori cache
+     * ● Invalidate setelah commit lewat CategoryChangedEvent, rollback tidak menghapus apa pun
+     * ● Di depan second-level cache (SecondLevelCache): miss di sini memanggil EntityManager yang membaca region
+     *   category dulu, baru database. Kedua nya mendengarkan CategoryChangedEvent yang sama (entity listener, upsert,
+     *   stateless write), jadi tidak ada jalur invalidate sendiri. Hit di sini menghemat lookup region dan hydrate entity
+     * ● Miss di dalam transaction yang bukan read only tidak di simpan ke cache: entity di persistence context bisa
+     *   berisi perubahan yang belum commit (dan bisa saja rollback), hit tetap di layani dari cache
+     * ● Batas jumlah dan umur: app.category-cache.max-entries dan app.category-cache.ttl
+     */
+
+    private final LruTtlCache<Long, CachedCategory> byId;
+
+    private final LruTtlCache<String, Long> byName;
+
+    public CategoryCache(@Value("${app.category-cache.max-entries:10000}") int maxEntries,
+                         @Value("${app.category-cache.ttl:10m}") Duration ttl) {
+        this.byId = new LruTtlCache<>(maxEntries, ttl);
+        this.byName = new LruTtlCache<>(maxEntries, ttl);
+    }
+
+    private record CachedCategory(Long id, String name, Instant createDate, Instant lastModifiedDate, String externalId) {
+
+        static CachedCategory of(Category category) {
+            return new CachedCategory(category.getId(), category.getName(), category.getCreateDate(), category.getLastModifiedDate(),
+                    category.getExternalId());
+        }
+
+        Category toCategory() {
+            return new Category(id, name, createDate, lastModifiedDate, null, externalId);
+        }
+    }
+
+    Optional<Category> findById(Long id, Function<Long, Optional<Category>> loader) {
+        CachedCategory cached = byId.get(id);
+        if (cached != null) {
+            return Optional.of(cached.toCategory());
+        }
+
+        long generation = byId.generation();
+        Optional<Category> loaded = loader.apply(id);
+        if (cacheable()) {
+            loaded.ifPresent(category -> byId.put(id, CachedCategory.of(category), generation));
+        }
+        return loaded.map(category -> CachedCategory.of(category).toCategory());
+    }
+
+    Optional<Category> findByName(String name, Function<String, Optional<Category>> loader) {
+        String key = ProductNameFilter.normalize(name);
+        Long id = byName.get(key);
+        if (id != null) {
+            CachedCategory cached = byId.get(id);
+            if (cached != null && ProductNameFilter.normalize(cached.name()).equals(key)) {
+                return Optional.of(cached.toCategory());
+            }
+        }
+
+        long nameGeneration = byName.generation();
+        long idGeneration = byId.generation();
+        Optional<Category> loaded = loader.apply(name);
+        if (cacheable()) {
+            loaded.ifPresent(category -> {
+                byId.put(category.getId(), CachedCategory.of(category), idGeneration);
+                byName.put(key, category.getId(), nameGeneration);
+            });
+        }
+        return loaded.map(category -> CachedCategory.of(category).toCategory());
+    }
+
+    private static boolean cacheable() {
+        return !TransactionSynchronizationManager.isActualTransactionActive()
+                || TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    }
+
+    // fallbackExecution: perubahan di luar transaction (jalur bulk tanpa transaction) tetap di invalidate
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        evict(event.id(), event.name());
+    }
+
+    public void evict(Long id, String name) {
+        if (id == null) {
+            clear(); // upsert JDBC: id dan nama lama baris yang di update (bisa rename) tidak di ketahui
+            return;
+        }
+        CachedCategory previous = byId.remove(id);
+        if (previous != null) {
+            byName.remove(ProductNameFilter.normalize(previous.name())); // nama lama (rename)
+        }
+        if (name != null) {
+            byName.remove(ProductNameFilter.normalize(name));
+        }
+    }
+
+    public void clear() {
+        byId.clear();
+        byName.clear();
+    }
+
+    public LruTtlCache.Stats byIdStats() {
+        return byId.stats();
+    }
+
+    public LruTtlCache.Stats byNameStats() {
+        return byName.stats();
+    }
+
+}
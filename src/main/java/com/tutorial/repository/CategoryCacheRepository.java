@@ -0,0 +1,24 @@
+package com.tutorial.repository;
+
+import com.tutorial.entity.Category;
+
+import java.util.Optional;
+
+public interface CategoryCacheRepository {
+
+    /**
+     * Lookup category lewat CategoryCache
+     * ● Sama dengan findById / findFirstByNameEquals, tapi hit cache tidak menyentuh database
+     * ● Category yang di return detached dan products nya tidak di load (null), gunakan findById biasa jika butuh
+     *   entity managed atau relasi products
+     * ● Untuk query product per nama category tanpa join: findCachedByName(name) lalu findAllByCategory(category, pageable)
+     * ● Opt-in, findById / findFirstByNameEquals tetap lewat EntityManager: pemanggil nya mengubah lalu save entity itu
+     *   (CategoryService) atau membaca products, yang butuh entity managed. Jalur baca yang cukup dengan
+     *   id / nama memakai method ini, misal ProductExportController
+     */
+
+    Optional<Category> findCachedById(Long id);
+
+    Optional<Category> findCachedByName(String name);
+
+}
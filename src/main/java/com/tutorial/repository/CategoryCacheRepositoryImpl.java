@@ -0,0 +1,35 @@
+package com.tutorial.repository;
+
+import com.tutorial.entity.Category;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.Optional;
+
+public class CategoryCacheRepositoryImpl implements CategoryCacheRepository {
+
+    // tanpa @Transactional: hit cache tidak perlu transaction / connection, miss memakai transaction pemanggil jika ada
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private CategoryCache categoryCache;
+
+    @Override
+    public Optional<Category> findCachedById(Long id) {
+        return categoryCache.findById(id, key -> Optional.ofNullable(entityManager.find(Category.class, key)));
+    }
+
+    @Override
+    public Optional<Category> findCachedByName(String name) {
+        return categoryCache.findByName(name, key -> entityManager.createQuery("SELECT c FROM Category c WHERE c.name = :name", Category.class)
+                .setParameter("name", key)
+                .setMaxResults(1)
+                .getResultList() // bukan stream: di luar transaction EntityManager langsung di tutup setelah query
+                .stream()
+                .findFirst());
+    }
+
+}
@@ -0,0 +1,21 @@
+package com.tutorial.repository;
+
+import com.tutorial.entity.Category;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface CategoryFetchPlanRepository {
+
+    /**
+     * Fragment Repository untuk Category dengan FetchPlan
+     * contoh: FetchPlan.CATEGORY_WITH_PRODUCTS untuk mengambil category + products dalam satu query
+     */
+
+    // sama dengan findFirstByNameEquals(String)
+    Optional<Category> findFirstByNameEquals(String name, FetchPlan fetchPlan);
+
+    // sama dengan findAllByNameLike(String)
+    List<Category> findAllByNameLike(String name, FetchPlan fetchPlan);
+
+}
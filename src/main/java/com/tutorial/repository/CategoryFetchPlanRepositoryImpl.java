@@ -0,0 +1,35 @@
+package com.tutorial.repository;
+
+import com.tutorial.entity.Category;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import java.util.List;
+import java.util.Optional;
+
+public class CategoryFetchPlanRepositoryImpl implements CategoryFetchPlanRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Optional<Category> findFirstByNameEquals(String name, FetchPlan fetchPlan) {
+        TypedQuery<Category> query = entityManager.createQuery("SELECT c FROM Category c WHERE c.name = :name ORDER BY c.id", Category.class)
+                .setParameter("name", name);
+        // limit 1 di database, kecuali graph nya fetch join collection: limit + fetch join collection akan di paging
+        // di memory oleh Hibernate (semua baris tetap di baca)
+        if (!fetchPlan.fetchesCollection(entityManager, Category.class)) {
+            query.setMaxResults(1);
+        }
+        return fetchPlan.applyTo(entityManager, query).getResultList().stream().findFirst();
+    }
+
+    @Override
+    public List<Category> findAllByNameLike(String name, FetchPlan fetchPlan) {
+        TypedQuery<Category> query = entityManager.createQuery("SELECT c FROM Category c WHERE c.name LIKE :name", Category.class)
+                .setParameter("name", name);
+        return fetchPlan.applyTo(entityManager, query).getResultList();
+    }
+
+}
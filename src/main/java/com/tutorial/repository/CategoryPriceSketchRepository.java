@@ -0,0 +1,10 @@
+package com.tutorial.repository;
+
+import com.tutorial.entity.CategoryPriceSketch;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface CategoryPriceSketchRepository extends JpaRepository<CategoryPriceSketch, Long> {
+
+}
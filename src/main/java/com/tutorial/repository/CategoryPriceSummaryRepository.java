@@ -0,0 +1,28 @@
+package com.tutorial.repository;
+
+import com.tutorial.model.CategoryPriceSummary;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface CategoryPriceSummaryRepository {
+
+    /**
+     * Ringkasan harga per category yang di simpan (category_product_stats)
+     * ● Hasil sama dengan aggregatePriceSummariesByName / aggregatePriceSummaries, tapi di baca dari satu baris per
+     *   category, tanpa scan products atau index nya, untuk dashboard yang di buka terus menerus
+     * ● Di jaga trigger MySQL (database.sql) bersama product_count: insert, delete, pindah category dan perubahan
+     *   harga dari semua jalur, termasuk update harga massal addPriceByCategory / adjustPriceByCategoryPercent
+     * ● Selisih di perbaiki ProductCountReconciler
+     */
+
+    Optional<CategoryPriceSummary> findPriceSummaryById(Long categoryId);
+
+    // satu ringkasan per category dengan nama itu (nama tidak unique), urut id
+    List<CategoryPriceSummary> findPriceSummariesByName(String name);
+
+    // semua category urut id, per halaman
+    List<CategoryPriceSummary> findAllPriceSummaries(Pageable pageable);
+
+}
@@ -0,0 +1,58 @@
+package com.tutorial.repository;
+
+import com.tutorial.model.CategoryPriceSummary;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.Optional;
+
+public class CategoryPriceSummaryRepositoryImpl implements CategoryPriceSummaryRepository {
+
+    // LEFT JOIN: category yang belum pernah punya product tidak punya baris di category_product_stats
+    private static final String SELECT_SUMMARY = "SELECT c.id, c.name, COALESCE(ps.product_count, 0), COALESCE(ps.price_sum, 0), ps.price_min, ps.price_max " +
+            "FROM categories c LEFT JOIN category_product_stats ps ON ps.category_id = c.id ";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Optional<CategoryPriceSummary> findPriceSummaryById(Long categoryId) {
+        return first(entityManager.createNativeQuery(SELECT_SUMMARY + "WHERE c.id = ?").setParameter(1, categoryId));
+    }
+
+    @Override
+    public List<CategoryPriceSummary> findPriceSummariesByName(String name) {
+        return summaries(entityManager.createNativeQuery(SELECT_SUMMARY + "WHERE c.name = ? ORDER BY c.id").setParameter(1, name));
+    }
+
+    @Override
+    public List<CategoryPriceSummary> findAllPriceSummaries(Pageable pageable) {
+        Query query = entityManager.createNativeQuery(SELECT_SUMMARY + "ORDER BY c.id");
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset()).setMaxResults(pageable.getPageSize());
+        }
+        return summaries(query);
+    }
+
+    private Optional<CategoryPriceSummary> first(Query query) {
+        return summaries(query.setMaxResults(1)).stream().findFirst();
+    }
+
+    // native query lewat EntityManager: perubahan product yang belum di flush di flush dulu (trigger jalan), baru di baca
+    private static List<CategoryPriceSummary> summaries(Query query) {
+        List<?> rows = query.getResultList();
+        return rows.stream()
+                .map(row -> (Object[]) row)
+                .map(row -> new CategoryPriceSummary(((Number) row[0]).longValue(), (String) row[1],
+                        ((Number) row[2]).longValue(), ((Number) row[3]).longValue(), toLong(row[4]), toLong(row[5])))
+                .toList();
+    }
+
+    private static Long toLong(Object value) {
+        return value == null ? null : ((Number) value).longValue();
+    }
+
+}
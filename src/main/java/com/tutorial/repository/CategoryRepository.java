@@ -1,14 +1,24 @@
 package com.tutorial.repository;
 
 import com.tutorial.entity.Category;
+import com.tutorial.model.CategoryPriceSummary;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
 
+// fragment CategoryCacheRepository adalah lookup category by id / name lewat cache di memory (CategoryCache)
+// fragment CategoryPriceSummaryRepository adalah ringkasan harga per category dari table category_product_stats
 @Repository // @Repository opsional boleh di kasih, boleh tidak
-public interface CategoryRepository extends JpaRepository<Category, Long> {
+public interface CategoryRepository extends JpaRepository<Category, Long>, CategoryFetchPlanRepository,
+        StatelessWriteRepository<Category>, CategoryUpsertRepository, CategoryCacheRepository, CategoryPriceSummaryRepository {
 
     /**
      * ini adalah class repository yang management komunikasi query ke DB. ini sebagai penganti EntityManagerFactory dan EntityManager
@@ -23,10 +33,37 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
 
     // Query Method (adalah query yang sederhana fitur dari spring boot data jpa). kita tidak pelu membuat JPA QL untuk kasus query yang sederhana
     // where name = ?
+    // query cache: hasil (id category) di simpan di region category-by-name, entity nya dari region category
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = SecondLevelCache.CATEGORY_BY_NAME_REGION)
+    })
     Optional<Category> findFirstByNameEquals(String name);
 
     // where name like
+    // (daftar category untuk pilihan / lookup, jika terlalu banyak cukup di potong, lihat LimitedList.isTruncated)
+    @ResultLimit(mode = ResultLimit.Mode.TRUNCATE)
     List<Category> findAllByNameLike(String name);
 
+    /**
+     * Aggregate harga per category di database (constructor expression ke record CategoryPriceSummary)
+     * ● Pengganti me-load semua Product category lewat findAllByCategory_Name lalu menghitung di Java:
+     *   yang keluar dari database hanya satu baris per category
+     * ● count / sum / min / max per category_id cukup membaca idx_products_category_price (category_id, price),
+     *   tidak menyentuh baris products. Untuk dashboard yang sering di buka, lihat CategoryPriceSummaryRepository
+     *   (tanpa scan sama sekali)
+     * ● LEFT JOIN: category tanpa product tetap muncul dengan productCount 0
+     * ● Nama category tidak unique (natural key nya external_id): satu ringkasan per category dengan nama itu, urut id
+     */
+    // query: select c.id, c.name, count(p.id), coalesce(sum(p.price), 0), min(p.price), max(p.price) from categories c left join products p ... where c.name = ? group by c.id, c.name order by c.id
+    @Query(value = "SELECT new com.tutorial.model.CategoryPriceSummary(c.id, c.name, COUNT(p.id), COALESCE(SUM(p.price), 0L), MIN(p.price), MAX(p.price)) " +
+            "FROM Category c LEFT JOIN c.products p WHERE c.name = :name GROUP BY c.id, c.name ORDER BY c.id")
+    List<CategoryPriceSummary> aggregatePriceSummariesByName(@Param("name") String name);
+
+    // semua category urut id, per halaman
+    @Query(value = "SELECT new com.tutorial.model.CategoryPriceSummary(c.id, c.name, COUNT(p.id), COALESCE(SUM(p.price), 0L), MIN(p.price), MAX(p.price)) " +
+            "FROM Category c LEFT JOIN c.products p GROUP BY c.id, c.name ORDER BY c.id")
+    List<CategoryPriceSummary> aggregatePriceSummaries(Pageable pageable);
+
 
 }
@@ -0,0 +1,17 @@
+package com.tutorial.repository;
+
+import com.tutorial.entity.Category;
+
+public interface CategoryUpsertRepository {
+
+    /**
+     * Upsert category berdasarkan external id (unique key categories.external_id)
+     * ● INSERT ... ON DUPLICATE KEY UPDATE dalam JDBC batch, pengganti findFirstBy... + save per baris
+     * ● Baris baru mendapat created_date dan last_modified_date, baris yang sudah ada name dan last_modified_date
+     * ● Sama seperti ProductUpsertRepository: external id wajib, entity tidak menjadi managed dan id tidak di isi
+     */
+
+    // return jumlah baris yang di kirim
+    int upsertAllByExternalId(Iterable<? extends Category> categories);
+
+}
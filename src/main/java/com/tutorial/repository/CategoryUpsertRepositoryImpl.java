@@ -0,0 +1,65 @@
+package com.tutorial.repository;
+
+import com.tutorial.entity.Category;
+import com.tutorial.id.IdAllocators;
+import com.tutorial.model.CategoryChangedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+public class CategoryUpsertRepositoryImpl implements CategoryUpsertRepository {
+
+    // created_date tidak ada di bagian update, jadi tanggal pertama kali di buat tetap
+    // alias baris (AS new, MySQL 8.0.19+) pengganti VALUES(col) yang deprecated sejak 8.0.20
+    private static final String UPSERT_CATEGORY = "INSERT INTO categories (id, external_id, name, created_date, last_modified_date) VALUES (?, ?, ?, ?, ?) AS new " +
+            "ON DUPLICATE KEY UPDATE name = new.name, last_modified_date = new.last_modified_date";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private IdAllocators idAllocators;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.upsert.batch-size:1000}")
+    private int batchSize;
+
+    @Override
+    @Transactional
+    public int upsertAllByExternalId(Iterable<? extends Category> categories) {
+        List<Category> rows = new ArrayList<>();
+        categories.forEach(category -> {
+            if (category.getExternalId() == null) {
+                throw new IllegalArgumentException("Upsert needs an external id: category " + category.getName());
+            }
+            rows.add(category);
+        });
+        if (rows.isEmpty()) {
+            return 0;
+        }
+
+        long[] ids = idAllocators.forSegment("categories").nextIds(rows.size());
+        Timestamp now = Timestamp.from(Instant.now()); // audit manual, AuditingEntityListener tidak berjalan di JDBC
+        int[] index = {0};
+        jdbcTemplate.batchUpdate(UPSERT_CATEGORY, rows, batchSize, (statement, category) -> {
+            statement.setLong(1, ids[index[0]++]);
+            statement.setString(2, category.getExternalId());
+            statement.setString(3, category.getName());
+            statement.setTimestamp(4, now);
+            statement.setTimestamp(5, now);
+        });
+        // id (dan nama lama) baris yang menjadi update tidak di ketahui: satu event invalidate semua untuk seluruh batch
+        eventPublisher.publishEvent(CategoryChangedEvent.bulk());
+        return rows.size();
+    }
+
+}
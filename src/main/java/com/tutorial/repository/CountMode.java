@@ -0,0 +1,19 @@
+package com.tutorial.repository;
+
+public enum CountMode {
+
+    /**
+     * cara menghitung total untuk method yang return Page
+     * EXACT: select count(*) setiap pemanggilan (default Spring Data)
+     * CACHED: hasil count(*) di simpan per filter selama TTL (app.count-cache.ttl), pemanggilan berikutnya tidak count lagi
+     * ESTIMATED: perkiraan dari EXPLAIN (statistik index MySQL), tanpa scan baris
+     * MAINTAINED: jumlah yang di simpan dan di jaga trigger (category_product_stats), hanya untuk filter per category,
+     *   filter lain kembali ke EXACT
+     */
+
+    EXACT,
+    CACHED,
+    ESTIMATED,
+    MAINTAINED
+
+}
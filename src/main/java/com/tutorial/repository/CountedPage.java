@@ -0,0 +1,27 @@
+package com.tutorial.repository;
+
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+public class CountedPage<T> extends PageImpl<T> {
+
+    /**
+     * Page yang tahu apakah total nya pasti
+     * ● isTotalExact() false jika total berasal dari cache (bisa sudah basi) atau dari estimasi
+     * ● getTotalPages() / hasNext() tetap bisa di pakai, total minimal selalu cukup untuk halaman berikutnya jika halaman ini penuh
+     */
+
+    private final boolean totalExact;
+
+    public CountedPage(List<T> content, Pageable pageable, long total, boolean totalExact) {
+        super(content, pageable, total);
+        this.totalExact = totalExact;
+    }
+
+    public boolean isTotalExact() {
+        return totalExact;
+    }
+
+}
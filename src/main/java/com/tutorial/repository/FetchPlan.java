@@ -0,0 +1,65 @@
+package com.tutorial.repository;
+
+import jakarta.persistence.AttributeNode;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Subgraph;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.metamodel.ManagedType;
+import jakarta.persistence.metamodel.Metamodel;
+
+import java.util.List;
+
+public record FetchPlan(String graphName) {
+
+    /**
+     * Fetch Plan
+     * ● Fetch plan adalah nama @NamedEntityGraph yang di pilih saat method repository di panggil
+     * ● Graph di pasang sebagai hint jakarta.persistence.fetchgraph, jadi attribute di dalam graph
+     *   di ambil dengan join di query yang sama, attribute lain tetap mengikuti mapping (LAZY)
+     * ● NONE artinya tanpa graph, hanya entity nya saja
+     * ● fetchesCollection: graph yang join collection (misal Category.withProducts) mengembalikan satu baris per
+     *   element collection, jadi query nya tidak boleh di beri setMaxResults (Hibernate akan paging di memory)
+     */
+
+    public static final String FETCH_GRAPH_HINT = "jakarta.persistence.fetchgraph";
+
+    public static final FetchPlan NONE = new FetchPlan(null);
+
+    public static final FetchPlan PRODUCT_WITH_CATEGORY = new FetchPlan("Product.withCategory");
+
+    public static final FetchPlan CATEGORY_WITH_PRODUCTS = new FetchPlan("Category.withProducts");
+
+    public static FetchPlan named(String graphName) {
+        return new FetchPlan(graphName);
+    }
+
+    public <T> TypedQuery<T> applyTo(EntityManager entityManager, TypedQuery<T> query) {
+        if (graphName != null) {
+            query.setHint(FETCH_GRAPH_HINT, entityManager.getEntityGraph(graphName)); // graph yang tidak ada akan throw IllegalArgumentException
+        }
+        return query;
+    }
+
+    public boolean fetchesCollection(EntityManager entityManager, Class<?> rootType) {
+        if (graphName == null) {
+            return false;
+        }
+        Metamodel metamodel = entityManager.getMetamodel();
+        return fetchesCollection(metamodel, metamodel.managedType(rootType), entityManager.getEntityGraph(graphName).getAttributeNodes());
+    }
+
+    private static boolean fetchesCollection(Metamodel metamodel, ManagedType<?> type, List<AttributeNode<?>> nodes) {
+        for (AttributeNode<?> node : nodes) {
+            if (type.getAttribute(node.getAttributeName()).isCollection()) {
+                return true;
+            }
+            for (Subgraph<?> subgraph : node.getSubgraphs().values()) {
+                if (fetchesCollection(metamodel, metamodel.managedType(subgraph.getClassType()), subgraph.getAttributeNodes())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+}
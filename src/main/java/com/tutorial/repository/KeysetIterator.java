@@ -0,0 +1,65 @@
+package com.tutorial.repository;
+
+import jakarta.persistence.EntityManager;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+
+final class KeysetIterator<T> implements Iterator<T> {
+
+    /**
+     * Iterator yang membaca data per halaman keyset (KeysetRequest.size baris per query)
+     * ● Setiap halaman adalah query biasa yang selesai, jadi tidak ada result set / connection yang terbuka lama
+     *   dan tidak butuh transaction yang panjang
+     * ● Entity halaman sebelumnya di detach sebelum halaman berikutnya di load, persistence context maksimal satu halaman
+     */
+
+    private final EntityManager entityManager;
+
+    private final Function<KeysetRequest, KeysetSlice<T>> loader;
+
+    private KeysetRequest nextRequest;
+
+    private List<T> page = Collections.emptyList();
+
+    private Iterator<T> current = Collections.emptyIterator();
+
+    KeysetIterator(EntityManager entityManager, KeysetRequest request, Function<KeysetRequest, KeysetSlice<T>> loader) {
+        this.entityManager = entityManager;
+        this.nextRequest = request;
+        this.loader = loader;
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!current.hasNext() && nextRequest != null) {
+            detachPage();
+            KeysetSlice<T> slice = loader.apply(nextRequest);
+            page = slice.content();
+            current = page.iterator();
+            nextRequest = slice.hasNext() ? nextRequest.after(slice.nextToken()) : null;
+        }
+        return current.hasNext();
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return current.next();
+    }
+
+    private void detachPage() {
+        for (T entity : page) {
+            if (entityManager.contains(entity)) {
+                entityManager.detach(entity);
+            }
+        }
+        page = Collections.emptyList();
+    }
+
+}
@@ -0,0 +1,54 @@
+package com.tutorial.repository;
+
+import org.springframework.data.domain.Sort;
+
+import java.util.Set;
+
+public record KeysetRequest(int size, String property, Sort.Direction direction, String token, FetchPlan fetchPlan) {
+
+    /**
+     * Keyset (seek) Pagination Request
+     * ● Pengganti Pageable untuk scroll data besar: bukan LIMIT offset, size, tapi
+     *   WHERE (kolom sort, id) > (nilai terakhir, id terakhir) ORDER BY kolom sort, id LIMIT size
+     * ● Database langsung loncat ke posisi terakhir lewat index, jadi halaman ke 10.000 sama cepat nya dengan halaman pertama
+     * ● Sort hanya satu kolom (id, name atau price), id selalu di pakai sebagai pemutus urutan yang sama
+     * ● token adalah posisi terakhir dari KeysetSlice sebelumnya (null untuk halaman pertama)
+     */
+
+    public static final Set<String> SORTABLE_PROPERTIES = Set.of("id", "name", "price");
+
+    public KeysetRequest {
+        if (size <= 0) {
+            throw new IllegalArgumentException("size must be positive");
+        }
+        if (!SORTABLE_PROPERTIES.contains(property)) {
+            throw new IllegalArgumentException("Keyset sort property must be one of " + SORTABLE_PROPERTIES + ": " + property);
+        }
+        if (direction == null) {
+            direction = Sort.Direction.ASC;
+        }
+        if (fetchPlan == null) {
+            fetchPlan = FetchPlan.NONE;
+        }
+    }
+
+    // halaman pertama, urut berdasarkan id
+    public static KeysetRequest first(int size) {
+        return first(size, Sort.Direction.ASC, "id");
+    }
+
+    // halaman pertama, urut berdasarkan property lalu id
+    public static KeysetRequest first(int size, Sort.Direction direction, String property) {
+        return new KeysetRequest(size, property, direction, null, FetchPlan.NONE);
+    }
+
+    // halaman setelah token (KeysetSlice.nextToken)
+    public KeysetRequest after(String token) {
+        return new KeysetRequest(size, property, direction, token, fetchPlan);
+    }
+
+    public KeysetRequest withFetchPlan(FetchPlan fetchPlan) {
+        return new KeysetRequest(size, property, direction, token, fetchPlan);
+    }
+
+}
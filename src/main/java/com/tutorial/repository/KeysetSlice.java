@@ -0,0 +1,17 @@
+package com.tutorial.repository;
+
+import java.util.List;
+
+public record KeysetSlice<T>(List<T> content, String nextToken) {
+
+    /**
+     * satu halaman hasil keyset pagination
+     * nextToken berisi posisi baris terakhir, null jika sudah tidak ada halaman berikutnya
+     * tidak ada total / nomor halaman, karena keyset tidak menghitung baris yang di lewati
+     */
+
+    public boolean hasNext() {
+        return nextToken != null;
+    }
+
+}
@@ -0,0 +1,75 @@
+package com.tutorial.repository;
+
+import org.springframework.data.domain.Sort;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Base64;
+
+record KeysetToken(String property, Sort.Direction direction, Object value, long id) {
+
+    /**
+     * Continuation token keyset pagination
+     * ● Isi: versi, kolom sort, arah sort, nilai kolom sort baris terakhir dan id baris terakhir
+     * ● Di encode menjadi Base64 URL-safe, jadi pemanggil tidak perlu tahu isinya (opaque)
+     * ● Token hanya berlaku untuk sort yang sama dengan request nya
+     */
+
+    private static final byte VERSION = 1;
+
+    private static final byte TYPE_LONG = 'L';
+
+    private static final byte TYPE_STRING = 'S';
+
+    String encode() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            output.writeByte(VERSION);
+            output.writeUTF(property);
+            output.writeBoolean(direction.isAscending());
+            if (value instanceof Long number) {
+                output.writeByte(TYPE_LONG);
+                output.writeLong(number);
+            } else if (value instanceof String text) {
+                output.writeByte(TYPE_STRING);
+                output.writeUTF(text);
+            } else {
+                throw new IllegalStateException("Unsupported keyset value: " + value);
+            }
+            output.writeLong(id);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+    }
+
+    static KeysetToken decode(String token, KeysetRequest request) {
+        KeysetToken keysetToken;
+        try (DataInputStream input = new DataInputStream(new ByteArrayInputStream(Base64.getUrlDecoder().decode(token)))) {
+            if (input.readByte() != VERSION) {
+                throw new IllegalArgumentException("Unsupported keyset token version");
+            }
+            String property = input.readUTF();
+            Sort.Direction direction = input.readBoolean() ? Sort.Direction.ASC : Sort.Direction.DESC;
+            Object value = switch (input.readByte()) {
+                case TYPE_LONG -> input.readLong();
+                case TYPE_STRING -> input.readUTF();
+                default -> throw new IllegalArgumentException("Unknown keyset value type");
+            };
+            keysetToken = new KeysetToken(property, direction, value, input.readLong());
+        } catch (IOException | IllegalArgumentException exception) {
+            throw new IllegalArgumentException("Invalid keyset token", exception);
+        }
+
+        if (!keysetToken.property().equals(request.property()) || keysetToken.direction() != request.direction()) {
+            throw new IllegalArgumentException("Keyset token was issued for sort " + keysetToken.property() + " " +
+                    keysetToken.direction() + ", not " + request.property() + " " + request.direction());
+        }
+        return keysetToken;
+    }
+
+}
@@ -0,0 +1,32 @@
+package com.tutorial.repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+
+public class LimitedList<T> extends ArrayList<T> {
+
+    /**
+     * Hasil query method dengan ResultLimit.Mode.TRUNCATE
+     * ● Tetap List biasa, pemanggil yang peduli bisa cek: list instanceof LimitedList<?> limited && limited.isTruncated()
+     */
+
+    private final int maxRows;
+
+    private final boolean truncated;
+
+    LimitedList(Collection<? extends T> content, int maxRows, boolean truncated) {
+        super(content);
+        this.maxRows = maxRows;
+        this.truncated = truncated;
+    }
+
+    public int getMaxRows() {
+        return maxRows;
+    }
+
+    // true jika database punya baris lebih banyak dari yang ada di list ini
+    public boolean isTruncated() {
+        return truncated;
+    }
+
+}
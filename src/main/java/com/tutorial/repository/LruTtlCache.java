@@ -0,0 +1,104 @@
+package com.tutorial.repository;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class LruTtlCache<K, V> {
+
+    /**
+     * Cache kecil di memory dengan batas jumlah (LRU) dan umur (TTL)
+     * ● LinkedHashMap access-order: entry yang paling lama tidak di baca di buang ketika jumlah nya lewat maxEntries
+     * ● Entry yang umur nya lewat TTL di anggap miss dan di buang saat di baca
+     * ● generation naik setiap remove / clear: loader membaca generation sebelum query ke database, dan hasil nya
+     *   hanya di simpan jika generation belum berubah. Jadi nilai lama yang di baca bersamaan dengan commit perubahan
+     *   tidak masuk lagi ke cache setelah di invalidate
+     */
+
+    private final int maxEntries;
+
+    private final long ttlNanos;
+
+    private final Map<K, Entry<V>> entries;
+
+    private long generation;
+
+    private long hits;
+
+    private long misses;
+
+    private long evictions;
+
+    private long expirations;
+
+    private record Entry<V>(V value, long expiresAt) {
+    }
+
+    public record Stats(long hits, long misses, long evictions, long expirations, int size) {
+
+        public double hitRate() {
+            long lookups = hits + misses;
+            return lookups == 0 ? 0 : (double) hits / lookups;
+        }
+    }
+
+    public LruTtlCache(int maxEntries, Duration ttl) {
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttl.toNanos();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                if (size() > LruTtlCache.this.maxEntries) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public synchronized V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        if (entry.expiresAt() - System.nanoTime() <= 0) {
+            entries.remove(key);
+            expirations++;
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry.value();
+    }
+
+    public synchronized long generation() {
+        return generation;
+    }
+
+    // simpan hanya jika tidak ada invalidate sejak generation ini di baca
+    public synchronized boolean put(K key, V value, long expectedGeneration) {
+        if (generation != expectedGeneration) {
+            return false;
+        }
+        entries.put(key, new Entry<>(value, System.nanoTime() + ttlNanos));
+        return true;
+    }
+
+    public synchronized V remove(K key) {
+        generation++;
+        Entry<V> entry = entries.remove(key);
+        return entry == null ? null : entry.value();
+    }
+
+    public synchronized void clear() {
+        generation++;
+        entries.clear();
+    }
+
+    public synchronized Stats stats() {
+        return new Stats(hits, misses, evictions, expirations, entries.size());
+    }
+
+}
@@ -0,0 +1,131 @@
+package com.tutorial.repository;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+@Slf4j
+@Component
+public class PageCounter {
+
+    /**
+     * Total untuk Page dengan CountMode
+     * ● Jika halaman tidak penuh, total sudah bisa di hitung dari offset + jumlah content, jadi tidak ada query count
+     *   (sama seperti PageableExecutionUtils)
+     * ● EXACT: query count(*) biasa
+     * ● MAINTAINED: fragment repository memberikan jumlah yang tersimpan sebagai exactCount, tetap exact
+     * ● CACHED: count(*) di simpan per key filter selama TTL, key di buat oleh fragment repository (nama method + parameter)
+     * ● ESTIMATED: EXPLAIN query yang sama, total = perkalian rows * filtered / 100 setiap table
+     *   (perkiraan optimizer MySQL dari statistik index). Jika EXPLAIN tidak bisa di jalankan, kembali ke count(*)
+     * ● Query UNION: perkalian di hitung per SELECT (kolom id EXPLAIN), lalu di jumlah. Baris UNION RESULT dan subquery
+     *   (select_type selain SIMPLE / PRIMARY / UNION) tidak menambah baris hasil, jadi di lewati
+     * ● Total dari cache / estimasi tidak pernah lebih kecil dari baris yang sudah terlihat
+     */
+
+    private static final Set<String> RESULT_SELECTS = Set.of("SIMPLE", "PRIMARY", "UNION");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${app.count-cache.ttl:60s}")
+    private Duration ttl;
+
+    @Value("${app.count-cache.max-entries:10000}")
+    private int maxEntries;
+
+    private final Map<String, CachedCount> cache = new ConcurrentHashMap<>();
+
+    private record CachedCount(long count, long expiresAt) {
+    }
+
+    public <T> CountedPage<T> page(List<T> content, Pageable pageable, CountMode countMode,
+                                   String cacheKey, LongSupplier exactCount, String explainSql, Object... explainArgs) {
+        if (pageable.isUnpaged()) {
+            return new CountedPage<>(content, pageable, content.size(), true);
+        }
+        if (content.size() < pageable.getPageSize() && (!content.isEmpty() || pageable.getOffset() == 0)) {
+            return new CountedPage<>(content, pageable, pageable.getOffset() + content.size(), true); // halaman terakhir
+        }
+
+        long seen = pageable.getOffset() + content.size();
+        long minimum = content.size() == pageable.getPageSize() ? seen + 1 : seen; // halaman penuh: anggap masih ada halaman berikutnya
+        return switch (countMode) {
+            case EXACT, MAINTAINED -> new CountedPage<>(content, pageable, exactCount.getAsLong(), true); // MAINTAINED: exactCount dari fragment
+            case CACHED -> cached(content, pageable, cacheKey, exactCount, minimum);
+            case ESTIMATED -> estimated(content, pageable, exactCount, minimum, explainSql, explainArgs);
+        };
+    }
+
+    // hapus cache count (semua key dengan prefix ini), misal setelah import besar
+    public void evict(String cacheKeyPrefix) {
+        cache.keySet().removeIf(key -> key.startsWith(cacheKeyPrefix));
+    }
+
+    private <T> CountedPage<T> cached(List<T> content, Pageable pageable, String cacheKey,
+                                      LongSupplier exactCount, long minimum) {
+        long now = System.nanoTime();
+        CachedCount cached = cache.get(cacheKey);
+        if (cached != null && cached.expiresAt() - now > 0) {
+            return new CountedPage<>(content, pageable, Math.max(cached.count(), minimum), false);
+        }
+
+        long count = exactCount.getAsLong();
+        if (cache.size() >= maxEntries) {
+            cache.values().removeIf(entry -> entry.expiresAt() - now <= 0);
+            if (cache.size() >= maxEntries) {
+                cache.clear(); // cache penuh dengan key yang masih berlaku, mulai lagi dari kosong
+            }
+        }
+        cache.put(cacheKey, new CachedCount(count, now + ttl.toNanos()));
+        return new CountedPage<>(content, pageable, count, true);
+    }
+
+    private <T> CountedPage<T> estimated(List<T> content, Pageable pageable, LongSupplier exactCount,
+                                         long minimum, String explainSql, Object... explainArgs) {
+        Long estimate = explain(explainSql, explainArgs);
+        if (estimate == null) {
+            return new CountedPage<>(content, pageable, exactCount.getAsLong(), true);
+        }
+        return new CountedPage<>(content, pageable, Math.max(estimate, minimum), false);
+    }
+
+    private Long explain(String sql, Object... args) {
+        try {
+            List<Map<String, Object>> plan = jdbcTemplate.queryForList("EXPLAIN " + sql, args);
+            Map<Object, Double> rowsPerSelect = new LinkedHashMap<>();
+            for (Map<String, Object> table : plan) {
+                Object select = table.get("id");
+                if (select == null || !RESULT_SELECTS.contains(String.valueOf(table.get("select_type")))) {
+                    continue; // UNION RESULT / subquery
+                }
+                Object tableRows = table.get("rows");
+                Object filtered = table.get("filtered");
+                if (!(tableRows instanceof Number number)) {
+                    return null; // bukan format EXPLAIN MySQL
+                }
+                double rows = number.doubleValue() * (filtered instanceof Number percent ? percent.doubleValue() / 100 : 1);
+                rowsPerSelect.merge(select, rows, (left, right) -> left * right);
+            }
+            if (rowsPerSelect.isEmpty()) {
+                return null;
+            }
+            return Math.round(rowsPerSelect.values().stream().mapToDouble(Double::doubleValue).sum());
+        } catch (DataAccessException exception) {
+            log.debug("EXPLAIN estimate not available, fallback to count: {}", exception.getMessage());
+            return null;
+        }
+    }
+
+}
@@ -0,0 +1,24 @@
+package com.tutorial.repository;
+
+import com.tutorial.entity.Category;
+import com.tutorial.model.ProductPriceColumns;
+
+public interface ProductColumnarRepository {
+
+    /**
+     * Projection columnar untuk query analitik yang besar (lihat ProductPriceColumns)
+     * ● findAllByNameLike(name, ProductPrice.class / SimpleProduct.class) membuat object per baris,
+     *   di sini ResultSet JDBC di baca langsung ke array primitive tanpa entity, record, proxy atau Long
+     * ● Row streaming (app.stream.fetch-size), jadi driver tidak menyimpan seluruh result set sebagai object baris
+     *   sebelum di pindah ke array
+     * ● Tidak di jaga ResultLimitGuard: ukuran per baris sekitar 20 byte (+ nama), tetap perhatikan jumlah baris,
+     *   untuk data yang tidak muat di memory gunakan stream(Specification, Sort, Class)
+     */
+
+    // sama dengan findAllByNameLike(String, Class): where name like ?
+    ProductPriceColumns findPriceColumnsByNameLike(String name);
+
+    // sama dengan streamAllByCategory(Category): where category_id = ?
+    ProductPriceColumns findPriceColumnsByCategory(Category category);
+
+}
@@ -0,0 +1,50 @@
+package com.tutorial.repository;
+
+import com.tutorial.entity.Category;
+import com.tutorial.model.ProductPriceColumns;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+
+public class ProductColumnarRepositoryImpl implements ProductColumnarRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Value("${app.stream.fetch-size:" + Integer.MIN_VALUE + "}")
+    private int fetchSize;
+
+    @Override
+    public ProductPriceColumns findPriceColumnsByNameLike(String name) {
+        return columns("SELECT id, name, price FROM products WHERE name LIKE ?", name);
+    }
+
+    @Override
+    public ProductPriceColumns findPriceColumnsByCategory(Category category) {
+        return columns("SELECT id, name, price FROM products WHERE category_id = ?", category.getId());
+    }
+
+    private ProductPriceColumns columns(String sql, Object parameter) {
+        if (TransactionSynchronizationManager.isActualTransactionActive() && entityManager.isJoinedToTransaction()) {
+            entityManager.flush(); // JDBC tidak melihat perubahan entity yang belum di flush, sama seperti auto flush query JPA
+        }
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.setFetchSize(fetchSize);
+        return jdbcTemplate.query(sql, resultSet -> {
+            ProductPriceColumns.Builder columns = ProductPriceColumns.builder();
+            while (resultSet.next()) {
+                columns.add(resultSet.getLong(1), resultSet.getString(2), resultSet.getLong(3)); // id dan price NOT NULL
+            }
+            return columns.build();
+        }, parameter);
+    }
+
+}
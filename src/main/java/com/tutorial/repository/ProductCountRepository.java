@@ -0,0 +1,36 @@
+package com.tutorial.repository;
+
+import com.tutorial.entity.Product;
+import org.springframework.data.domain.Pageable;
+
+public interface ProductCountRepository {
+
+    /**
+     * Page dengan CountMode
+     * ● Method Page biasa selalu menjalankan query kedua select count(*), untuk category besar count ini
+     *   lebih mahal dari query halaman nya sendiri
+     * ● Di sini pemanggil memilih CountMode: EXACT, CACHED (TTL per filter) atau ESTIMATED (EXPLAIN)
+     * ● CountedPage.isTotalExact() memberi tahu apakah total nya pasti
+     */
+
+    // sama dengan findAllByCategory_Name(String, Pageable)
+    CountedPage<Product> findAllByCategory_Name(String name, Pageable pageable, CountMode countMode);
+
+    // sama dengan @Query searchProduct(String, Pageable), tapi dengan total
+    CountedPage<Product> searchProduct(String name, Pageable pageable, CountMode countMode);
+
+    /**
+     * Jumlah product per category yang di simpan (category_product_stats)
+     * ● countByCategory_Name join dan menghitung semua baris product category itu setiap pemanggilan, di sini
+     *   cukup satu lookup primary key
+     * ● Di jaga trigger MySQL di table products (database.sql), jadi ikut transaction yang mengubah product dan
+     *   mencakup semua jalur tulis. Selisih (misal perubahan sebelum trigger di pasang) di perbaiki ProductCountReconciler
+     * ● Category yang belum pernah punya product tidak punya baris, jumlah nya 0
+     */
+
+    long countMaintainedByCategoryId(Long categoryId);
+
+    // sama dengan countByCategory_Name(String): jumlah dari semua category dengan nama itu
+    long countMaintainedByCategoryName(String name);
+
+}
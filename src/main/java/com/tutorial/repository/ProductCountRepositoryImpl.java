@@ -0,0 +1,73 @@
+package com.tutorial.repository;
+
+import com.tutorial.entity.Product;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+import static com.tutorial.repository.ProductSpecifications.CATEGORY_NAME_EQUALS_SQL;
+import static com.tutorial.repository.ProductSpecifications.NAME_OR_CATEGORY_NAME_LIKE_SQL;
+import static com.tutorial.repository.ProductSpecifications.categoryNameEquals;
+import static com.tutorial.repository.ProductSpecifications.nameOrCategoryNameLike;
+
+public class ProductCountRepositoryImpl implements ProductCountRepository {
+
+    private static final String MAINTAINED_BY_CATEGORY_ID = "SELECT pc.product_count FROM category_product_stats pc WHERE pc.category_id = ?";
+
+    // nama category tidak unique (natural key nya external_id), jadi jumlah semua category dengan nama itu,
+    // sama dengan countByCategory_Name dan total findAllByCategory_Name
+    private static final String MAINTAINED_BY_CATEGORY_NAME = "SELECT COALESCE(SUM(pc.product_count), 0) FROM categories c JOIN category_product_stats pc ON pc.category_id = c.id WHERE c.name = ?";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private PageCounter pageCounter;
+
+    @Override
+    public CountedPage<Product> findAllByCategory_Name(String name, Pageable pageable, CountMode countMode) {
+        Specification<Product> specification = categoryNameEquals(name);
+        if (countMode == CountMode.MAINTAINED) {
+            List<Product> content = SpecificationQueries.list(entityManager, Product.class, specification, pageable, FetchPlan.NONE);
+            return pageCounter.page(content, pageable, countMode, null, () -> countMaintainedByCategoryName(name), null);
+        }
+        return page(specification, pageable, countMode, "Product.findAllByCategory_Name:" + name,
+                CATEGORY_NAME_EQUALS_SQL, name);
+    }
+
+    @Override
+    public CountedPage<Product> searchProduct(String name, Pageable pageable, CountMode countMode) {
+        return page(nameOrCategoryNameLike(name), pageable, countMode, "Product.searchProduct:" + name,
+                NAME_OR_CATEGORY_NAME_LIKE_SQL, name, name);
+    }
+
+    @Override
+    public long countMaintainedByCategoryId(Long categoryId) {
+        return maintained(MAINTAINED_BY_CATEGORY_ID, categoryId);
+    }
+
+    @Override
+    public long countMaintainedByCategoryName(String name) {
+        return maintained(MAINTAINED_BY_CATEGORY_NAME, name);
+    }
+
+    // native query lewat EntityManager: product yang belum di flush di flush dulu (trigger jalan), baru di baca
+    private long maintained(String sql, Object parameter) {
+        List<?> rows = entityManager.createNativeQuery(sql)
+                .setParameter(1, parameter)
+                .getResultList();
+        return rows.isEmpty() ? 0 : ((Number) rows.get(0)).longValue();
+    }
+
+    private CountedPage<Product> page(Specification<Product> specification, Pageable pageable, CountMode countMode,
+                                      String cacheKey, String explainSql, Object... explainArgs) {
+        List<Product> content = SpecificationQueries.list(entityManager, Product.class, specification, pageable, FetchPlan.NONE);
+        return pageCounter.page(content, pageable, countMode, cacheKey,
+                () -> SpecificationQueries.count(entityManager, Product.class, specification), explainSql, explainArgs);
+    }
+
+}
@@ -0,0 +1,24 @@
+package com.tutorial.repository;
+
+import com.tutorial.entity.Product;
+
+import java.util.Optional;
+
+public interface ProductExistsRepository {
+
+    /**
+     * Lookup nama product dengan ProductNameFilter di depan nya
+     * ● Method fragment di utamakan dari query method dengan signature yang sama, jadi existsByName(String)
+     *   di ProductRepository sekarang di jalankan oleh fragment ini
+     * ● Jika filter menjawab "pasti tidak ada", return false / Optional.empty() tanpa query ke database,
+     *   selain itu query seperti biasa dan hasil nya di catat untuk metric false positive
+     * ● Filter tidak aktif (app.name-filter.enabled=false) atau belum selesai di bangun: selalu query
+     */
+
+    // query: select p.id from products p where p.name = ? limit 1
+    boolean existsByName(String name);
+
+    // query: select p.* from products p where p.name = ? limit 1
+    Optional<Product> findFirstByName(String name);
+
+}
@@ -0,0 +1,46 @@
+package com.tutorial.repository;
+
+import com.tutorial.entity.Product;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.List;
+import java.util.Optional;
+
+public class ProductExistsRepositoryImpl implements ProductExistsRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private ProductNameFilter productNameFilter;
+
+    @Override
+    public boolean existsByName(String name) {
+        if (!productNameFilter.mightContain(name)) {
+            return false;
+        }
+        boolean found = !entityManager.createQuery("SELECT p.id FROM Product p WHERE p.name = :name", Long.class)
+                .setParameter("name", name)
+                .setMaxResults(1)
+                .getResultList()
+                .isEmpty();
+        productNameFilter.recordLookup(name, found);
+        return found;
+    }
+
+    @Override
+    public Optional<Product> findFirstByName(String name) {
+        if (!productNameFilter.mightContain(name)) {
+            return Optional.empty();
+        }
+        List<Product> products = entityManager.createQuery("SELECT p FROM Product p WHERE p.name = :name", Product.class)
+                .setParameter("name", name)
+                .setMaxResults(1)
+                .getResultList();
+        productNameFilter.recordLookup(name, !products.isEmpty());
+        return products.stream().findFirst();
+    }
+
+}
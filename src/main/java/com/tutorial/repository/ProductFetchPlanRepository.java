@@ -0,0 +1,38 @@
+package com.tutorial.repository;
+
+import com.tutorial.entity.Product;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+public interface ProductFetchPlanRepository {
+
+    /**
+     * Fragment Repository (custom implementation)
+     * ● Spring Data bisa menggabungkan interface repository dengan interface lain yang implementasinya kita buat sendiri
+     * ● Nama class implementasinya harus nama interface + Impl, contohnya ProductFetchPlanRepositoryImpl
+     * ● Di sini setiap method menerima FetchPlan, sehingga pemanggil bisa memilih bentuk data yang di load
+     *   (product saja, atau product + category) tanpa membuat method baru
+     */
+
+    // sama dengan findAllByCategory_Name(String)
+    List<Product> findAllByCategory_Name(String name, FetchPlan fetchPlan);
+
+    // sama dengan findAllByCategory_Name(String, Pageable)
+    Page<Product> findAllByCategory_Name(String name, Pageable pageable, FetchPlan fetchPlan);
+
+    // sama dengan @Query searchProduct(String)
+    List<Product> searchProduct(String name, FetchPlan fetchPlan);
+
+    // sama dengan @Query searchProduct(String, Pageable)
+    List<Product> searchProduct(String name, Pageable pageable, FetchPlan fetchPlan);
+
+    // sama dengan JpaSpecificationExecutor.findAll(Specification)
+    List<Product> findAll(Specification<Product> specification, FetchPlan fetchPlan);
+
+    // sama dengan JpaSpecificationExecutor.findAll(Specification, Pageable)
+    Page<Product> findAll(Specification<Product> specification, Pageable pageable, FetchPlan fetchPlan);
+
+}
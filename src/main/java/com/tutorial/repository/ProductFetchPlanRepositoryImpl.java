@@ -0,0 +1,51 @@
+package com.tutorial.repository;
+
+import com.tutorial.entity.Product;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+import static com.tutorial.repository.ProductSpecifications.categoryNameEquals;
+import static com.tutorial.repository.ProductSpecifications.nameOrCategoryNameLike;
+
+public class ProductFetchPlanRepositoryImpl implements ProductFetchPlanRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager; // shared EntityManager, ikut transaction yang sedang berjalan
+
+    @Override
+    public List<Product> findAllByCategory_Name(String name, FetchPlan fetchPlan) {
+        return findAll(categoryNameEquals(name), fetchPlan);
+    }
+
+    @Override
+    public Page<Product> findAllByCategory_Name(String name, Pageable pageable, FetchPlan fetchPlan) {
+        return findAll(categoryNameEquals(name), pageable, fetchPlan);
+    }
+
+    @Override
+    public List<Product> searchProduct(String name, FetchPlan fetchPlan) {
+        return findAll(nameOrCategoryNameLike(name), fetchPlan);
+    }
+
+    @Override
+    public List<Product> searchProduct(String name, Pageable pageable, FetchPlan fetchPlan) {
+        return SpecificationQueries.list(entityManager, Product.class, nameOrCategoryNameLike(name), pageable, fetchPlan);
+    }
+
+    @Override
+    public List<Product> findAll(Specification<Product> specification, FetchPlan fetchPlan) {
+        return SpecificationQueries.list(entityManager, Product.class, specification, Sort.unsorted(), fetchPlan);
+    }
+
+    @Override
+    public Page<Product> findAll(Specification<Product> specification, Pageable pageable, FetchPlan fetchPlan) {
+        return SpecificationQueries.page(entityManager, Product.class, specification, pageable, fetchPlan);
+    }
+
+}
@@ -0,0 +1,31 @@
+package com.tutorial.repository;
+
+import com.tutorial.entity.Category;
+import com.tutorial.entity.Product;
+import org.springframework.data.jpa.domain.Specification;
+
+public interface ProductKeysetRepository {
+
+    /**
+     * Keyset (seek) Pagination
+     * ● Method Pageable (LIMIT offset, size) membuat MySQL membaca lalu membuang semua baris sebelum offset,
+     *   semakin dalam halaman nya semakin lambat
+     * ● Method di sini mulai membaca tepat setelah baris terakhir halaman sebelumnya, memakai
+     *   (kolom sort, id) dari continuation token, jadi biaya setiap halaman sama
+     * ● Tidak bisa loncat ke halaman tertentu dan tidak ada total, cocok untuk scroll / infinite list / export
+     * ● Index yang mendukung ada di database.sql (idx_products_category_price, idx_products_category_name)
+     */
+
+    // sama dengan findAllByCategory_Name(String, Pageable)
+    KeysetSlice<Product> findAllByCategory_Name(String name, KeysetRequest request);
+
+    // sama dengan findAllByCategory(Category, Pageable)
+    KeysetSlice<Product> findAllByCategory(Category category, KeysetRequest request);
+
+    // sama dengan @Query searchProduct(String, Pageable)
+    KeysetSlice<Product> searchProduct(String name, KeysetRequest request);
+
+    // sama dengan JpaSpecificationExecutor.findAll(Specification, Pageable)
+    KeysetSlice<Product> findAll(Specification<Product> specification, KeysetRequest request);
+
+}
@@ -0,0 +1,38 @@
+package com.tutorial.repository;
+
+import com.tutorial.entity.Category;
+import com.tutorial.entity.Product;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.data.jpa.domain.Specification;
+
+import static com.tutorial.repository.ProductSpecifications.categoryEquals;
+import static com.tutorial.repository.ProductSpecifications.categoryNameEquals;
+import static com.tutorial.repository.ProductSpecifications.nameOrCategoryNameLike;
+
+public class ProductKeysetRepositoryImpl implements ProductKeysetRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public KeysetSlice<Product> findAllByCategory_Name(String name, KeysetRequest request) {
+        return findAll(categoryNameEquals(name), request);
+    }
+
+    @Override
+    public KeysetSlice<Product> findAllByCategory(Category category, KeysetRequest request) {
+        return findAll(categoryEquals(category), request);
+    }
+
+    @Override
+    public KeysetSlice<Product> searchProduct(String name, KeysetRequest request) {
+        return findAll(nameOrCategoryNameLike(name), request);
+    }
+
+    @Override
+    public KeysetSlice<Product> findAll(Specification<Product> specification, KeysetRequest request) {
+        return SpecificationQueries.keyset(entityManager, Product.class, specification, request);
+    }
+
+}
@@ -0,0 +1,282 @@
+package com.tutorial.repository;
+
+import com.tutorial.model.ProductChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+@Slf4j
+@Component
+public class ProductNameFilter {
+
+    /**
+     * Filter keberadaan nama product (Bloom filter)
+     * ● Dedupe import memanggil existsByName jutaan kali dan hampir semua nya tidak ada, setiap panggilan satu query
+     * ● Filter ini menjawab "pasti tidak ada" tanpa query, atau "mungkin ada" (lalu query seperti biasa),
+     *   lihat ProductExistsRepository
+     * ● Opsional: app.name-filter.enabled, di bangun saat aplikasi siap (thread terpisah), sebelum selesai semua
+     *   lookup tetap ke database
+     * ● Setiap jalur insert product menambahkan nama nya: entity (ProductChangedEvent, saat flush sebelum commit),
+     *   insertAllStateless, upsertAllByExternalId dan ProductFeedImporter. Di dalam transaction nama di tambahkan lagi
+     *   setelah commit, supaya rebuild yang berjalan bersamaan tidak membuang nya (lihat add). Insert dari luar
+     *   aplikasi ini tidak terlihat sampai rebuild berikutnya
+     * ● Bloom filter tidak bisa menghapus, jadi di bangun ulang berkala (app.name-filter.rebuild-interval) dari scan
+     *   nama product, supaya product yang sudah di hapus tidak menaikkan false positive
+     * ● Nama di normalisasi (lowercase, tanpa aksen, ligature dan huruf seperti ß / æ / œ di uraikan) mengikuti
+     *   collation MySQL utf8mb4_0900_ai_ci, "Buku" / "buku" dan "Straße" / "Strasse" adalah nama yang sama bagi
+     *   existsByName. Nama yang setelah normalisasi masih punya karakter non-ASCII tidak di jawab filter (selalu ke
+     *   database), karena tidak ada jaminan lipatan nya sama dengan collation
+     * ● Metric: lookup yang di jawab filter, yang tetap ke database, dan false positive (filter bilang mungkin,
+     *   database bilang tidak), dari situ false positive rate yang teramati
+     */
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Value("${app.name-filter.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.name-filter.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    // ruang untuk product baru sampai rebuild berikutnya (jumlah product * growth)
+    @Value("${app.name-filter.growth:1.5}")
+    private double growth;
+
+    @Value("${app.stream.fetch-size:" + Integer.MIN_VALUE + "}")
+    private int fetchSize;
+
+    private volatile BloomFilter current;
+
+    // filter yang sedang di bangun, nama baru selama rebuild di tambahkan ke sini juga
+    private BloomFilter building;
+
+    private final Object buildLock = new Object();
+
+    private final LongAdder skipped = new LongAdder();
+
+    private final LongAdder queried = new LongAdder();
+
+    private final LongAdder falsePositives = new LongAdder();
+
+    public record Stats(boolean ready, long names, long sizeInBytes, long skipped, long queried, long falsePositives,
+                        double expectedFalsePositiveRate) {
+
+        // false positive / semua nama yang tidak ada (yang di jawab filter + yang lolos filter tapi tidak ada)
+        public double observedFalsePositiveRate() {
+            long negatives = skipped + falsePositives;
+            return negatives == 0 ? 0 : (double) falsePositives / negatives;
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // false = nama pasti tidak ada, true = mungkin ada (atau filter belum siap / tidak aktif)
+    public boolean mightContain(String name) {
+        BloomFilter filter = current;
+        if (filter == null || name == null) {
+            return true;
+        }
+        String key = normalize(name);
+        if (!isAscii(key) || filter.mightContain(key)) {
+            queried.increment();
+            return true;
+        }
+        skipped.increment();
+        return false;
+    }
+
+    // hasil query untuk nama yang lolos filter, untuk menghitung false positive
+    public void recordLookup(String name, boolean found) {
+        if (!found && current != null && name != null) {
+            falsePositives.increment();
+        }
+    }
+
+    // di panggil sebelum commit (supaya tidak ada false negative antara commit dan add), dan sekali lagi setelah commit
+    // jika ada transaction: rebuild yang mulai sebelum commit tidak melihat baris ini di scan nya, lalu mengganti filter
+    // yang sudah berisi nama ini dengan filter baru tanpa nama ini. Nama yang sama dua kali tidak mengubah Bloom filter
+    public void add(String name) {
+        if (!enabled || name == null) {
+            return;
+        }
+        String key = normalize(name);
+        if (!isAscii(key)) {
+            return; // lookup nya tidak pernah lewat filter
+        }
+        put(key);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            putAfterCommit(key);
+        }
+    }
+
+    // current dan building di baca dengan lock yang sama dengan pergantian filter di rebuild, supaya nama tidak masuk
+    // hanya ke filter lama yang sedang di ganti
+    private void put(String key) {
+        synchronized (buildLock) {
+            if (current != null) {
+                current.put(key);
+            }
+            if (building != null) {
+                building.put(key);
+            }
+        }
+    }
+
+    // nama product yang di simpan lewat EntityManager, di tambahkan saat flush (sebelum commit) dan setelah commit
+    // nama yang ternyata rollback hanya menambah false positive, tidak pernah membuat false negative
+    @EventListener
+    public void onProductChanged(ProductChangedEvent event) {
+        if (!event.deleted()) {
+            add(event.name());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        if (enabled) {
+            Thread builder = new Thread(this::rebuild, "product-name-filter-builder");
+            builder.setDaemon(true);
+            builder.start();
+        }
+    }
+
+    @Scheduled(initialDelayString = "${app.name-filter.rebuild-interval:PT1H}", fixedDelayString = "${app.name-filter.rebuild-interval:PT1H}")
+    public void scheduledRebuild() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    // scan semua nama product (row streaming, tanpa entity) ke filter baru, lalu ganti filter lama
+    public synchronized void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.nanoTime();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.setFetchSize(fetchSize);
+
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM products", Long.class);
+        BloomFilter fresh = new BloomFilter((long) ((count == null ? 0 : count) * growth) + 1_000, falsePositiveRate);
+        synchronized (buildLock) {
+            building = fresh;
+        }
+        try {
+            jdbcTemplate.query("SELECT name FROM products", resultSet -> {
+                String name = resultSet.getString(1);
+                if (name != null) {
+                    String key = normalize(name);
+                    if (isAscii(key)) {
+                        fresh.put(key);
+                    }
+                }
+            });
+        } catch (RuntimeException exception) {
+            synchronized (buildLock) {
+                building = null; // filter setengah jadi tidak boleh di pakai (false negative), filter lama tetap aktif
+            }
+            throw exception;
+        }
+        synchronized (buildLock) {
+            building = null;
+            current = fresh;
+        }
+        log.info("product name filter: {} names, {} KB, expected false positive rate {} in {} ms", fresh.insertions(),
+                fresh.sizeInBytes() / 1024, String.format(Locale.ROOT, "%.4f", fresh.expectedFalsePositiveRate()),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // satu daftar nama per transaction (resource transaction), di tambahkan lagi oleh satu synchronization setelah commit
+    @SuppressWarnings("unchecked")
+    private void putAfterCommit(String key) {
+        List<String> keys = (List<String>) TransactionSynchronizationManager.getResource(this);
+        if (keys == null) {
+            List<String> pending = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                // REQUIRES_NEW di dalam nya punya daftar sendiri
+                @Override
+                public void suspend() {
+                    TransactionSynchronizationManager.unbindResource(ProductNameFilter.this);
+                }
+
+                @Override
+                public void resume() {
+                    TransactionSynchronizationManager.bindResource(ProductNameFilter.this, pending);
+                }
+
+                @Override
+                public void afterCommit() {
+                    pending.forEach(ProductNameFilter.this::put);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(ProductNameFilter.this);
+                }
+            });
+            keys = pending;
+        }
+        keys.add(key);
+    }
+
+    public Stats stats() {
+        BloomFilter filter = current;
+        return new Stats(filter != null, filter == null ? 0 : filter.insertions(), filter == null ? 0 : filter.sizeInBytes(),
+                skipped.sum(), queried.sum(), falsePositives.sum(), filter == null ? 0 : filter.expectedFalsePositiveRate());
+    }
+
+    // NFKD (aksen dan ligature seperti "ﬁ" di uraikan), tanda aksen di buang, lowercase, lalu huruf yang di collation
+    // MySQL sama dengan huruf ASCII tapi tidak terurai oleh NFKD
+    public static String normalize(String name) {
+        String key = MARKS.matcher(Normalizer.normalize(name, Normalizer.Form.NFKD)).replaceAll("").toLowerCase(Locale.ROOT);
+        if (isAscii(key)) {
+            return key;
+        }
+        StringBuilder folded = new StringBuilder(key.length() + 4);
+        for (int i = 0; i < key.length(); i++) {
+            char c = key.charAt(i);
+            switch (c) {
+                case 'ß' -> folded.append("ss");
+                case 'æ' -> folded.append("ae");
+                case 'œ' -> folded.append("oe");
+                case 'ø' -> folded.append('o');
+                case 'ł' -> folded.append('l');
+                case 'đ' -> folded.append('d');
+                case 'ħ' -> folded.append('h');
+                default -> folded.append(c);
+            }
+        }
+        return folded.toString();
+    }
+
+    private static boolean isAscii(String key) {
+        for (int i = 0; i < key.length(); i++) {
+            if (key.charAt(i) > 0x7f) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+}
@@ -0,0 +1,21 @@
+package com.tutorial.repository;
+
+import java.util.Map;
+
+public interface ProductPriceRepository {
+
+    /**
+     * Update harga per id secara bulk
+     * ● Repricing dengan findById / findFirstByIdEquals (PESSIMISTIC_WRITE) + setPrice + save adalah
+     *   read-modify-write per baris: satu select, satu update dan satu lock per product
+     * ● Method ini menulis harga baru dengan satu statement per chunk:
+     *   UPDATE products SET price = CASE id WHEN ? THEN ? ... END WHERE id IN (?, ...)
+     * ● Tidak ada select dan lock hanya di tahan selama statement chunk berjalan
+     * ● Entity di persistence context tidak ikut ter-update
+     */
+
+    // key: id product, value: harga baru (keduanya tidak boleh null, IllegalArgumentException sebelum ada SQL).
+    // return jumlah baris yang ter-update
+    int updatePrices(Map<Long, Long> prices);
+
+}
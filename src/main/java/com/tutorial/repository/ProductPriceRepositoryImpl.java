@@ -0,0 +1,60 @@
+package com.tutorial.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+public class ProductPriceRepositoryImpl implements ProductPriceRepository {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${app.price-update.chunk-size:1000}")
+    private int chunkSize;
+
+    @Override
+    @Transactional
+    public int updatePrices(Map<Long, Long> prices) {
+        List<Map.Entry<Long, Long>> entries = new ArrayList<>(prices.entrySet());
+        for (Map.Entry<Long, Long> entry : entries) { // di cek semua dulu, supaya tidak ada chunk yang sudah ter-update
+            if (entry.getKey() == null || entry.getValue() == null) {
+                throw new IllegalArgumentException("Price update needs an id and a price: " + entry.getKey() + " -> " + entry.getValue());
+            }
+        }
+        int rows = 0;
+        for (int from = 0; from < entries.size(); from += chunkSize) {
+            List<Map.Entry<Long, Long>> chunk = entries.subList(from, Math.min(from + chunkSize, entries.size()));
+            rows += updateChunk(chunk);
+        }
+        return rows;
+    }
+
+    private int updateChunk(List<Map.Entry<Long, Long>> chunk) {
+        StringBuilder sql = new StringBuilder("UPDATE products SET price = CASE id");
+        for (int i = 0; i < chunk.size(); i++) {
+            sql.append(" WHEN ? THEN ?");
+        }
+        sql.append(" END WHERE id IN (");
+        for (int i = 0; i < chunk.size(); i++) {
+            sql.append(i == 0 ? "?" : ", ?");
+        }
+        sql.append(')');
+
+        return jdbcTemplate.update(sql.toString(), statement -> {
+            int index = 1;
+            for (Map.Entry<Long, Long> entry : chunk) {
+                statement.setLong(index++, entry.getKey());
+                statement.setLong(index++, entry.getValue());
+            }
+            for (Map.Entry<Long, Long> entry : chunk) {
+                statement.setLong(index++, entry.getKey());
+            }
+        });
+    }
+
+}
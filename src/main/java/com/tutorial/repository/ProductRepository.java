@@ -5,6 +5,8 @@ import com.tutorial.entity.Product;
 import com.tutorial.model.ProductPrice;
 import com.tutorial.model.SimpleProduct;
 import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
@@ -14,24 +16,41 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Stream;
 
 // untuk mengaktifkan Spesification spring data jpa kita perlu extends interface JpaSpecificationExecutor<T>
+// fragment ProductFetchPlanRepository menambahkan method yang sama dengan parameter FetchPlan (entity graph) per pemanggilan
+// fragment StatelessWriteRepository adalah jalur bulk write tanpa persistence context (pengganti saveAll untuk data besar)
+// fragment ProductUpsertRepository adalah upsert native (insert or update berdasarkan external_id) untuk sinkronisasi katalog
+// fragment ProductPriceRepository adalah update harga bulk per id (CASE per chunk), pengganti read-modify-write
+// fragment ProductKeysetRepository adalah keyset (seek) pagination dengan continuation token, pengganti offset untuk halaman dalam
+// fragment ProductCountRepository adalah Page dengan pilihan CountMode (exact, cached, estimated) untuk total nya
+// fragment ProductStreamRepository adalah stream dengan memory konstan (fetch size streaming, read only, detached per baris)
+// fragment ProductSearchRepository adalah full-text search (FULLTEXT MATCH ... AGAINST) dengan urutan relevance, pengganti searchProduct LIKE
+// fragment ProductExistsRepository adalah existsByName / findFirstByName dengan Bloom filter (ProductNameFilter) di depan nya
+// fragment ProductColumnarRepository adalah projection columnar (array primitive per kolom) langsung dari ResultSet
+// query method yang return List di jaga ResultLimitGuard (app.result-limit.*), @ResultLimit untuk mengatur per method
 @Repository // annotation @Repository optional bolah ada boleh tidak
-public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpecificationExecutor<Product> {
+public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpecificationExecutor<Product>,
+        ProductFetchPlanRepository, StatelessWriteRepository<Product>, ProductUpsertRepository,
+        ProductPriceRepository, ProductKeysetRepository, ProductCountRepository, ProductStreamRepository,
+        ProductSearchRepository, ProductExistsRepository, ProductColumnarRepository {
 
     /**
      * kita akan implementasi Query Method Relation
      * karena di method tidak boleh menggunakan . akan di gantikan dengan _ (underscore)
      */
     // query method relasi: select * from products left join categories on (categories.id = product.category_id) where name=?
+    @ResultLimit(streamingAlternative = "findAllByCategory_Name(String, Pageable) or stream(Specification, Sort)")
     List<Product> findAllByCategory_Name(String name);
 
 
     // hasil akan di sorting
     // query method relasi dengan sorting: select * from products left join categories on (categories.id = product.category_id) where name=? order by products.id desc
+    @ResultLimit(streamingAlternative = "stream(Specification, Sort)")
     List<Product> findAllByCategory_Name(String name, Sort sort);
 
 
@@ -55,6 +74,7 @@ public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpec
      */
     // ingin mendapatkan apakah data ada atau tidak (untuk memastikan terlebih dahulu)
     // query method relasi: select p.id from products p where p.name=? limit ?
+    // (di jalankan oleh fragment ProductExistsRepository: nama yang pasti tidak ada di jawab ProductNameFilter tanpa query)
     boolean existsByName(String name);
 
     /**
@@ -62,6 +82,7 @@ public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpec
      */
     // ingin menghapus data berdasarkan kolom name table product
     // query method relasi: delete from products where id=?
+    // (select dulu semua entity lalu delete satu per satu, untuk data banyak gunakan BulkDeleteService)
     @Transactional
     int deleteByName(String name);
 
@@ -70,6 +91,7 @@ public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpec
      */
     // binding named query yang ada di entity dengan query method di repository
     // @Param akan binding query paramaeter yand ada di query where name= :name
+    @ResultLimit(streamingAlternative = "searchProductUsingName(String, Pageable)")
     List<Product> searchProductUsingName(@Param("name") String name);
 
     /**
@@ -84,6 +106,7 @@ public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpec
      * untuk query yang panjang dan dinamis
      */
     // query method relasi: SELECT p.* FROM products p join categories c on (c.id = p.category_id) WHERE p.name LIKE '%komik%' ESCAPE '' OR p.name LIKE '%BUKU%' ESCAPE '';
+    @ResultLimit(streamingAlternative = "stream(ProductSpecifications.nameOrCategoryNameLike(name), Sort) or searchProduct(String, KeysetRequest)")
     @Query(value = "SELECT p FROM Product p WHERE p.name LIKE :name OR p.category.name LIKE :name")
     List<Product> searchProduct(@Param("name") String name);
 
@@ -104,10 +127,48 @@ public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpec
     @Query(value = "DELETE FROM Product p WHERE p.name= :name")
     int deleteProductUsingName(@Param("name") String name); // jika query delete berhasil maka akan return int value 1
 
+    /**
+     * Delete per chunk (native query)
+     * ● deleteByName me-load semua entity lalu delete satu per satu, deleteProductUsingName satu statement
+     *   tanpa batas yang bisa menahan row lock lama
+     * ● Query di bawah menghapus maksimal :limit baris per eksekusi, di panggil berulang oleh BulkDeleteService
+     *   dengan transaction pendek per chunk
+     */
+    // query: DELETE FROM products WHERE name = ? ORDER BY id LIMIT ?
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "products")) // invalidate cache hanya untuk table products
+    @Query(value = "DELETE FROM products WHERE name = :name ORDER BY id LIMIT :limit", nativeQuery = true)
+    int deleteChunkByName(@Param("name") String name, @Param("limit") int limit);
+
+    // query: DELETE FROM products WHERE name LIKE ? ORDER BY id LIMIT ?
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "products")) // invalidate cache hanya untuk table products
+    @Query(value = "DELETE FROM products WHERE name LIKE :name ORDER BY id LIMIT :limit", nativeQuery = true)
+    int deleteChunkByNameLike(@Param("name") String name, @Param("limit") int limit);
+
     @Modifying
     @Query(value = "UPDATE Product p SET p.price = 0 WHERE p.id= :id")
     int updateProductPriceToZero(@Param("id") Long id);
 
+    /**
+     * Bulk update harga (delta / persen) dalam satu statement
+     * ● Tidak perlu load entity lalu save satu per satu, harga baru di hitung oleh database dari harga lama
+     * ● clearAutomatically: entity lama di persistence context di lepas supaya tidak membaca harga basi
+     * ● Update per id dengan harga berbeda ada di fragment ProductPriceRepository.updatePrices
+     */
+    // query: UPDATE products SET price = price + ? WHERE category_id = ?
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE Product p SET p.price = p.price + :delta WHERE p.category.id = :categoryId")
+    int addPriceByCategory(@Param("categoryId") Long categoryId, @Param("delta") long delta);
+
+    // query: UPDATE products SET price = ROUND(price * (100 + ?) / 100) WHERE category_id = ?  (contoh percent 5 = +5%, -10 = diskon 10%)
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "products")) // invalidate cache hanya untuk table products
+    @Query(value = "UPDATE products SET price = ROUND(price * (100 + :percent) / 100) WHERE category_id = :categoryId", nativeQuery = true)
+    int adjustPriceByCategoryPercent(@Param("categoryId") Long categoryId, @Param("percent") BigDecimal percent);
+
 
     /**
      * Stream<T>
@@ -115,6 +176,7 @@ public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpec
      * kita bisa menangani dengan return Stream<T> dan query method streamAll.. ini bisa fetching data sedikit2 jika di perlukan dengan Java Stream
      */
     // query method relasi: SELECT p.* FROM products p WHERE p.category_id= ?
+    // (driver tetap membaca semua baris ke memory dan entity tetap managed, untuk data besar gunakan streamAllByCategoryReadOnly)
     Stream<Product> streamAllByCategory(Category category);
 
 
@@ -143,5 +205,6 @@ public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpec
     //List<SimpleProduct> findAllByNameLike(String name);
 
     // jika kita ingin keduanya bisa digunakan antara projection interface atau projection Record, dengan cara...
+    @ResultLimit(streamingAlternative = "stream(Specification, Sort, Class)")
     <T> List<T> findAllByNameLike(String name, Class<T> tClass); // jadi kita tinggal masukan object apa di parameter ke 2 nanti return value akan mengikuti nya
 }
@@ -0,0 +1,28 @@
+package com.tutorial.repository;
+
+import com.tutorial.entity.Product;
+import org.springframework.data.domain.Pageable;
+
+public interface ProductSearchRepository {
+
+    /**
+     * Full-Text Search (MySQL FULLTEXT)
+     * ● searchProduct memakai p.name LIKE '%x%' OR c.name LIKE '%x%': LIKE dengan % di depan tidak bisa memakai index,
+     *   dan OR lintas join membuat MySQL membaca seluruh products di setiap pemanggilan
+     * ● Di sini pencarian memakai FULLTEXT index (ft_products_name, ft_categories_name) dengan MATCH ... AGAINST
+     *   IN BOOLEAN MODE, setiap kata harus ada (+kata*), kata boleh awalan (komik -> komik, komikus)
+     * ● Hasil di urutkan berdasarkan relevance: skor nama product (bobot 2) + skor nama category, lalu id.
+     *   Sort di Pageable di abaikan, hanya page dan size yang di pakai
+     * ● Beda dengan LIKE: yang di cocokkan adalah kata / awalan kata, bukan potongan di tengah kata, dan kata
+     *   yang lebih pendek dari innodb_ft_min_token_size (app.search.min-token-size) di abaikan
+     * ● Product dan category baru langsung bisa di cari setelah transaction commit (FULLTEXT InnoDB di update saat commit)
+     */
+
+    // total dengan CountMode, sama seperti ProductCountRepository
+    CountedPage<Product> searchFullText(String text, Pageable pageable, CountMode countMode);
+
+    default CountedPage<Product> searchFullText(String text, Pageable pageable) {
+        return searchFullText(text, pageable, CountMode.EXACT);
+    }
+
+}
@@ -0,0 +1,102 @@
+package com.tutorial.repository;
+
+import com.tutorial.entity.Product;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+public class ProductSearchRepositoryImpl implements ProductSearchRepository {
+
+    // product yang cocok dari nama product atau nama category nya, UNION supaya setiap bagian memakai FULLTEXT index sendiri
+    private static final String HITS = "SELECT p.id AS id, MATCH(p.name) AGAINST(:query IN BOOLEAN MODE) * 2 AS score " +
+            "FROM products p WHERE MATCH(p.name) AGAINST(:query IN BOOLEAN MODE) " +
+            "UNION ALL " +
+            "SELECT p.id, MATCH(c.name) AGAINST(:query IN BOOLEAN MODE) " +
+            "FROM categories c JOIN products p ON p.category_id = c.id WHERE MATCH(c.name) AGAINST(:query IN BOOLEAN MODE)";
+
+    private static final String PAGE_IDS = "SELECT hits.id FROM (" + HITS + ") hits " +
+            "GROUP BY hits.id ORDER BY SUM(hits.score) DESC, hits.id LIMIT :limit OFFSET :offset";
+
+    private static final String COUNT = "SELECT COUNT(DISTINCT hits.id) FROM (" + HITS + ") hits";
+
+    // hanya untuk EXPLAIN (CountMode.ESTIMATED), dua bagian UNION yang sama dengan HITS supaya perkiraan nya di jumlah.
+    // Product yang cocok di kedua bagian terhitung dua kali, perkiraan baris FULLTEXT dari optimizer memang kasar
+    private static final String EXPLAIN_SEARCH = "SELECT 1 FROM products p WHERE MATCH(p.name) AGAINST(? IN BOOLEAN MODE) " +
+            "UNION ALL " +
+            "SELECT 1 FROM categories c JOIN products p ON p.category_id = c.id WHERE MATCH(c.name) AGAINST(? IN BOOLEAN MODE)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private PageCounter pageCounter;
+
+    @Value("${app.search.min-token-size:3}")
+    private int minTokenSize;
+
+    @Override
+    public CountedPage<Product> searchFullText(String text, Pageable pageable, CountMode countMode) {
+        if (pageable.isUnpaged()) {
+            throw new IllegalArgumentException("Full text search needs a paged Pageable");
+        }
+        String query = booleanQuery(text);
+        if (query.isEmpty()) {
+            return new CountedPage<>(List.of(), pageable, 0, true);
+        }
+
+        List<Long> ids = ((List<?>) entityManager.createNativeQuery(PAGE_IDS)
+                .setParameter("query", query)
+                .setParameter("limit", pageable.getPageSize())
+                .setParameter("offset", pageable.getOffset())
+                .getResultList()).stream()
+                .map(id -> ((Number) id).longValue())
+                .toList();
+        return pageCounter.page(load(ids), pageable, countMode, "Product.searchFullText:" + query,
+                () -> ((Number) entityManager.createNativeQuery(COUNT)
+                        .setParameter("query", query)
+                        .getSingleResult()).longValue(),
+                EXPLAIN_SEARCH, query, query);
+    }
+
+    // "Buku  komik-anak" -> "+buku* +komik* +anak*", operator boolean mode dari input di buang
+    private String booleanQuery(String text) {
+        StringBuilder query = new StringBuilder();
+        for (String word : text.toLowerCase().split("[^\\p{L}\\p{N}]+")) {
+            if (word.length() >= minTokenSize) {
+                if (!query.isEmpty()) {
+                    query.append(' ');
+                }
+                query.append('+').append(word).append('*');
+            }
+        }
+        return query.toString();
+    }
+
+    // entity di load dengan satu query (where id in), lalu di urutkan lagi sesuai urutan relevance
+    private List<Product> load(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Product> products = entityManager.createQuery("SELECT p FROM Product p WHERE p.id IN :ids", Product.class)
+                .setParameter("ids", ids)
+                .getResultStream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+        List<Product> ordered = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Product product = products.get(id);
+            if (product != null) { // bisa terhapus di antara dua query
+                ordered.add(product);
+            }
+        }
+        return ordered;
+    }
+
+}
@@ -0,0 +1,64 @@
+package com.tutorial.repository;
+
+import com.tutorial.entity.Category;
+import com.tutorial.entity.Product;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import org.springframework.data.jpa.domain.Specification;
+
+public final class ProductSpecifications {
+
+    /**
+     * Specification yang sama dengan query method di ProductRepository
+     * supaya bisa di pakai ulang oleh fragment repository (fetch plan, dll) tanpa menulis ulang JPA QL
+     * ● Konstanta *_SQL adalah SQL dari Specification di bawah nya, hanya untuk EXPLAIN (CountMode.ESTIMATED) karena
+     *   EXPLAIN butuh SQL biasa. Jika Specification di ubah (join, kondisi), ubah juga SQL nya, CountModeTest
+     *   membandingkan jumlah baris keduanya
+     */
+
+    // categoryNameEquals: LEFT JOIN sama dengan root.join("category", JoinType.LEFT)
+    public static final String CATEGORY_NAME_EQUALS_SQL =
+            "SELECT 1 FROM products p LEFT JOIN categories c ON c.id = p.category_id WHERE c.name = ?";
+
+    // nameOrCategoryNameLike: JOIN (inner) sama dengan root.join("category"), parameter name dua kali
+    public static final String NAME_OR_CATEGORY_NAME_LIKE_SQL =
+            "SELECT 1 FROM products p JOIN categories c ON c.id = p.category_id WHERE p.name LIKE ? OR c.name LIKE ?";
+
+    private ProductSpecifications() {
+    }
+
+    // sama dengan findAllByCategory_Name: where c.name = ?
+    public static Specification<Product> categoryNameEquals(String name) {
+        return (root, criteria, builder) -> {
+            Join<Product, Category> category = root.join("category", JoinType.LEFT);
+            return builder.equal(category.get("name"), name);
+        };
+    }
+
+    // sama dengan findAllByCategory: where p.category_id = ?
+    public static Specification<Product> categoryEquals(Category category) {
+        return (root, criteria, builder) -> builder.equal(root.get("category"), category);
+    }
+
+    // where p.category_id = ? (tanpa join, cukup foreign key)
+    public static Specification<Product> categoryIdEquals(Long categoryId) {
+        return (root, criteria, builder) -> builder.equal(root.get("category").get("id"), categoryId);
+    }
+
+    // where p.id between ? and ? (range id untuk worker paralel)
+    public static Specification<Product> idBetween(Long from, Long to) {
+        return (root, criteria, builder) -> builder.between(root.get("id"), from, to);
+    }
+
+    // sama dengan searchProduct: where p.name like ? or c.name like ?
+    public static Specification<Product> nameOrCategoryNameLike(String name) {
+        return (root, criteria, builder) -> {
+            Join<Product, Category> category = root.join("category");
+            return builder.or(
+                    builder.like(root.get("name"), name),
+                    builder.like(category.get("name"), name)
+            );
+        };
+    }
+
+}
@@ -0,0 +1,49 @@
+package com.tutorial.repository;
+
+import com.tutorial.entity.Category;
+import com.tutorial.entity.Product;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+public interface ProductStreamRepository {
+
+    /**
+     * Streaming dengan memory konstan
+     * ● streamAllByCategory(Category) return Stream, tapi driver MySQL tetap membaca seluruh result ke memory
+     *   dan setiap entity tetap managed di persistence context sampai transaction selesai
+     * ● Method di sini memasang fetch size streaming (app.stream.fetch-size) dan hint read only, lalu membaca
+     *   kolom product satu per satu menjadi Product detached (lihat StreamingQueries), jadi heap tetap datar
+     *   berapapun jumlah baris nya
+     * ● Product yang di terima tidak managed: perubahan lewat setter tidak di simpan, gunakan update bulk
+     * ● category adalah reference (proxy), dengan row streaming (fetch size Integer.MIN_VALUE) connection sibuk
+     *   sampai stream selesai, jadi jangan memicu query lain (lazy loading category) di tengah stream,
+     *   atau gunakan useCursorFetch
+     * ● Harus di panggil di dalam transaction dan stream di tutup setelah selesai (try-with-resources)
+     */
+
+    // sama dengan streamAllByCategory(Category), versi streaming + read only + detached per baris
+    Stream<Product> streamAllByCategoryReadOnly(Category category);
+
+    /**
+     * Streaming Specification
+     * ● JpaSpecificationExecutor hanya bisa return List / Page, jadi laporan dinamis yang besar di load semua ke memory
+     * ● stream(Specification): sama seperti streamAllByCategoryReadOnly, tapi filter dari Specification
+     * ● stream(Specification, Sort, Class): projection ke record (misal ProductPrice), kolom di ambil sesuai
+     *   nama component record nya lewat constructor (builder.construct), tanpa entity sama sekali
+     * ● iterate(Specification, KeysetRequest): alternatif tanpa connection terbuka lama, membaca per halaman keyset
+     *   (halaman sebelumnya di detach), boleh di pakai di luar transaction
+     */
+
+    // sama dengan JpaSpecificationExecutor.findAll(Specification, Sort), versi streaming
+    Stream<Product> stream(Specification<Product> specification, Sort sort);
+
+    // projection ke record, contoh: stream(spec, Sort.by("id"), ProductPrice.class)
+    <R extends Record> Stream<R> stream(Specification<Product> specification, Sort sort, Class<R> projection);
+
+    // keyset scroll, request.size() baris per query
+    Iterator<Product> iterate(Specification<Product> specification, KeysetRequest request);
+
+}
@@ -0,0 +1,59 @@
+package com.tutorial.repository;
+
+import com.tutorial.entity.Category;
+import com.tutorial.entity.Product;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.lang.reflect.RecordComponent;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import static com.tutorial.repository.ProductSpecifications.categoryEquals;
+
+public class ProductStreamRepositoryImpl implements ProductStreamRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Integer.MIN_VALUE = row streaming MySQL, atau nilai positif jika memakai useCursorFetch=true
+    @Value("${app.stream.fetch-size:" + Integer.MIN_VALUE + "}")
+    private int fetchSize;
+
+    @Override
+    public Stream<Product> streamAllByCategoryReadOnly(Category category) {
+        return stream(categoryEquals(category), Sort.by("id"));
+    }
+
+    @Override
+    public Stream<Product> stream(Specification<Product> specification, Sort sort) {
+        return StreamingQueries.stream(SpecificationQueries.select(entityManager, Product.class, Object[].class, specification, sort,
+                        (root, builder) -> builder.array(root.get("id"), root.get("name"), root.get("price"), root.get("category").get("id"),
+                                root.get("externalId"))),
+                fetchSize).map(row -> StreamingQueries.product(entityManager, row));
+    }
+
+    @Override
+    public <R extends Record> Stream<R> stream(Specification<Product> specification, Sort sort, Class<R> projection) {
+        RecordComponent[] components = projection.getRecordComponents();
+        return StreamingQueries.stream(SpecificationQueries.select(entityManager, Product.class, projection, specification, sort,
+                (root, builder) -> {
+                    Selection<?>[] columns = new Selection<?>[components.length];
+                    for (int i = 0; i < components.length; i++) {
+                        columns[i] = root.get(components[i].getName()); // nama component record = nama attribute Product
+                    }
+                    return builder.construct(projection, columns);
+                }), fetchSize);
+    }
+
+    @Override
+    public Iterator<Product> iterate(Specification<Product> specification, KeysetRequest request) {
+        return new KeysetIterator<>(entityManager, request,
+                page -> SpecificationQueries.keyset(entityManager, Product.class, specification, page));
+    }
+
+}
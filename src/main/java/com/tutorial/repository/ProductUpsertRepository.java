@@ -0,0 +1,25 @@
+package com.tutorial.repository;
+
+import com.tutorial.entity.Product;
+
+public interface ProductUpsertRepository {
+
+    /**
+     * Upsert (insert or update berdasarkan external id)
+     * ● Sinkronisasi katalog dengan findFirstBy... + save butuh 2 - 3 round-trip per baris,
+     *   dan tidak aman jika ada proses lain yang insert baris yang sama di waktu bersamaan
+     * ● Method ini memakai upsert native MySQL: INSERT ... ON DUPLICATE KEY UPDATE, dengan unique key
+     *   products.external_id (SKU / kode dari katalog sumber, lihat database.sql), jadi cek dan tulis terjadi atomic
+     *   di database. Name bukan kunci: banyak product boleh punya nama yang sama
+     * ● Baris di kirim sebagai JDBC batch (rewriteBatchedStatements menjadikannya multi-row insert),
+     *   ribuan baris per statement
+     * ● Jika external id sudah ada, yang di update adalah name, price dan category_id, id lama tetap di pakai
+     * ● Semua product harus punya external id, di cek sebelum ada SQL yang di jalankan (IllegalArgumentException)
+     * ● Entity tidak menjadi managed dan id entity tidak di isi, entity yang sudah ada di persistence context
+     *   tidak ikut ter-update (gunakan di transaction sendiri, atau clear sebelum membaca ulang)
+     */
+
+    // return jumlah baris yang di kirim
+    int upsertAllByExternalId(Iterable<? extends Product> products);
+
+}
@@ -0,0 +1,71 @@
+package com.tutorial.repository;
+
+import com.tutorial.entity.Product;
+import com.tutorial.id.IdAllocators;
+import com.tutorial.model.ProductChangedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ProductUpsertRepositoryImpl implements ProductUpsertRepository {
+
+    // new.col adalah nilai dari baris yang gagal di insert (baris input), alias baris (MySQL 8.0.19+) pengganti
+    // VALUES(col) yang deprecated sejak 8.0.20
+    private static final String UPSERT_PRODUCT = "INSERT INTO products (id, external_id, name, price, category_id) VALUES (?, ?, ?, ?, ?) AS new " +
+            "ON DUPLICATE KEY UPDATE name = new.name, price = new.price, category_id = new.category_id";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private IdAllocators idAllocators;
+
+    @Autowired
+    private ProductNameFilter productNameFilter;
+
+    @Autowired
+    private SecondLevelCache secondLevelCache;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.upsert.batch-size:1000}")
+    private int batchSize;
+
+    @Override
+    @Transactional
+    public int upsertAllByExternalId(Iterable<? extends Product> products) {
+        List<Product> rows = new ArrayList<>();
+        products.forEach(product -> {
+            if (product.getExternalId() == null) {
+                throw new IllegalArgumentException("Upsert needs an external id: product " + product.getName());
+            }
+            rows.add(product);
+        });
+        if (rows.isEmpty()) {
+            return 0;
+        }
+
+        // id di siapkan untuk semua baris, baris yang menjadi update tidak memakai id nya (hi/lo, celah id tidak masalah)
+        long[] ids = idAllocators.forSegment("products").nextIds(rows.size());
+        rows.forEach(product -> productNameFilter.add(product.getName()));
+        int[] index = {0};
+        jdbcTemplate.batchUpdate(UPSERT_PRODUCT, rows, batchSize, (statement, product) -> {
+            statement.setLong(1, ids[index[0]++]);
+            statement.setString(2, product.getExternalId());
+            statement.setString(3, product.getName());
+            statement.setLong(4, product.getPrice());
+            statement.setLong(5, product.getCategory().getId()); // getId pada proxy lazy tidak memicu select
+        });
+        // JDBC tidak melewati second-level cache, category lama dari baris yang di update tidak di ketahui
+        secondLevelCache.productsWritten();
+        eventPublisher.publishEvent(ProductChangedEvent.bulk()); // id baris yang menjadi update tidak di ketahui
+        return rows.size();
+    }
+
+}
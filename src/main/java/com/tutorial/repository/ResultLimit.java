@@ -0,0 +1,38 @@
+package com.tutorial.repository;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ResultLimit {
+
+    /**
+     * Batas jumlah baris untuk query method yang return List
+     * ● Tanpa annotation, query method di repository tetap di jaga dengan app.result-limit.max-rows dan app.result-limit.mode
+     * ● Batas per method bisa di ubah lewat property app.result-limit.max-rows.<NamaRepository>.<namaMethod>,
+     *   property ini juga yang mengaktifkan guard untuk method bawaan (misal CategoryRepository.findAll)
+     * ● streamingAlternative: nama method streaming yang di sarankan di pesan error (mode FAIL)
+     */
+
+    // 0 = pakai app.result-limit.max-rows
+    int maxRows() default 0;
+
+    Mode mode() default Mode.DEFAULT;
+
+    String streamingAlternative() default "";
+
+    enum Mode {
+        // pakai app.result-limit.mode
+        DEFAULT,
+        // lempar ResultLimitExceededException jika hasil lebih dari maxRows
+        FAIL,
+        // return maxRows baris pertama sebagai LimitedList dengan isTruncated() = true
+        TRUNCATE
+    }
+
+}
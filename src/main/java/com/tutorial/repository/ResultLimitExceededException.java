@@ -0,0 +1,27 @@
+package com.tutorial.repository;
+
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+
+public class ResultLimitExceededException extends InvalidDataAccessApiUsageException {
+
+    private final String method;
+
+    private final int maxRows;
+
+    public ResultLimitExceededException(String method, int maxRows, String streamingAlternative) {
+        super("Result of " + method + " has more than " + maxRows + " rows" + (streamingAlternative.isEmpty()
+                ? ", use a Pageable, keyset or streaming variant"
+                : ", use " + streamingAlternative + " instead"));
+        this.method = method;
+        this.maxRows = maxRows;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public int getMaxRows() {
+        return maxRows;
+    }
+
+}
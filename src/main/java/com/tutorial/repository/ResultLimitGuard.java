@@ -0,0 +1,129 @@
+package com.tutorial.repository;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.env.Environment;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.repository.core.RepositoryInformation;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+public class ResultLimitGuard implements BeanPostProcessor {
+
+    /**
+     * Batas jumlah baris untuk query method yang return List
+     * ● Query method seperti searchProduct(String) atau findAllByNameLike(String) tidak punya batas,
+     *   satu pattern LIKE yang terlalu luas bisa me-load jutaan entity dan membuat OutOfMemory
+     * ● Guard ini di pasang ke setiap repository (RepositoryProxyPostProcessor lewat RepositoryFactoryCustomizer),
+     *   interceptor nya berjalan di dalam transaction repository, sebelum query di eksekusi
+     * ● Yang di jaga: query method di interface repository dengan return List, plus method lain (misal findAll bawaan)
+     *   yang punya property app.result-limit.max-rows.<NamaRepository>.<namaMethod>
+     * ● Pemanggilan dengan Pageable yang paged tidak di jaga karena sudah punya LIMIT sendiri
+     * ● Batas di terapkan di SQL (LIMIT maxRows + 1, lihat ResultLimitStatementInspector), jadi baris lebih dari batas
+     *   tidak pernah masuk ke memory, lalu:
+     *   - FAIL: ResultLimitExceededException (pesan menyarankan method streaming / Pageable)
+     *   - TRUNCATE: maxRows baris pertama sebagai LimitedList dengan isTruncated() = true
+     * ● Setiap pemanggilan di catat di ResultLimitMetrics (jumlah baris terbesar di banding batas nya)
+     */
+
+    private final Environment environment;
+
+    private final ObjectProvider<ResultLimitMetrics> metrics;
+
+    public ResultLimitGuard(Environment environment, ObjectProvider<ResultLimitMetrics> metrics) {
+        this.environment = environment;
+        this.metrics = metrics;
+    }
+
+    private record Limit(String method, int maxRows, ResultLimit.Mode mode, String streamingAlternative) {
+    }
+
+    // penanda method yang tidak di jaga (ConcurrentHashMap tidak boleh berisi null)
+    private static final Limit NONE = new Limit("", 0, ResultLimit.Mode.DEFAULT, "");
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+            factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(this::postProcess));
+        }
+        return bean;
+    }
+
+    private void postProcess(ProxyFactory proxyFactory, RepositoryInformation information) {
+        Map<Method, Limit> limits = new ConcurrentHashMap<>();
+        proxyFactory.addAdvice((MethodInterceptor) invocation -> {
+            Limit limit = limits.computeIfAbsent(invocation.getMethod(), method -> resolve(information, method));
+            if (limit == NONE || isPaged(invocation)) {
+                return invocation.proceed();
+            }
+            return invoke(invocation, limit);
+        });
+    }
+
+    private Object invoke(MethodInvocation invocation, Limit limit) throws Throwable {
+        Object result;
+        Integer previous = ResultLimitStatementInspector.limitNextSelect(limit.maxRows() + 1);
+        try {
+            result = invocation.proceed();
+        } finally {
+            ResultLimitStatementInspector.limitNextSelect(previous);
+        }
+        if (!(result instanceof List<?> rows)) {
+            return result;
+        }
+
+        boolean exceeded = rows.size() > limit.maxRows();
+        boolean fail = limit.mode() == ResultLimit.Mode.FAIL;
+        metrics.getObject().record(limit.method(), limit.maxRows(), rows.size(), exceeded, fail);
+        if (fail) {
+            if (exceeded) {
+                throw new ResultLimitExceededException(limit.method(), limit.maxRows(), limit.streamingAlternative());
+            }
+            return rows;
+        }
+        return new LimitedList<>(exceeded ? rows.subList(0, limit.maxRows()) : rows, limit.maxRows(), exceeded);
+    }
+
+    private Limit resolve(RepositoryInformation information, Method method) {
+        if (!List.class.isAssignableFrom(method.getReturnType())) {
+            return NONE;
+        }
+        String name = information.getRepositoryInterface().getSimpleName() + "." + method.getName();
+        Integer configured = environment.getProperty("app.result-limit.max-rows." + name, Integer.class);
+        if (configured == null && !information.isQueryMethod(method)) {
+            return NONE; // method bawaan (findAll, findAllById) dan fragment hanya jika di atur lewat property
+        }
+
+        ResultLimit annotation = AnnotatedElementUtils.findMergedAnnotation(method, ResultLimit.class);
+        int maxRows = configured != null ? configured
+                : annotation != null && annotation.maxRows() > 0 ? annotation.maxRows()
+                : environment.getProperty("app.result-limit.max-rows", Integer.class, 10_000);
+        if (maxRows <= 0) {
+            return NONE; // batas <= 0 = guard di matikan untuk method ini
+        }
+        ResultLimit.Mode mode = annotation == null || annotation.mode() == ResultLimit.Mode.DEFAULT
+                ? environment.getProperty("app.result-limit.mode", ResultLimit.Mode.class, ResultLimit.Mode.FAIL)
+                : annotation.mode();
+        return new Limit(name, maxRows, mode, annotation == null ? "" : annotation.streamingAlternative());
+    }
+
+    private static boolean isPaged(MethodInvocation invocation) {
+        for (Object argument : invocation.getArguments()) {
+            if (argument instanceof Pageable pageable && pageable.isPaged()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
@@ -0,0 +1,74 @@
+package com.tutorial.repository;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+
+@Slf4j
+@Component
+public class ResultLimitMetrics {
+
+    /**
+     * Metric ResultLimitGuard per query method ("ProductRepository.searchProduct")
+     * ● calls, rows terbesar yang pernah di return, berapa kali truncate / fail
+     * ● Jika hasil sudah mencapai app.result-limit.warn-ratio dari batas, di log warn, supaya method yang
+     *   mendekati batas bisa di pindah ke Pageable / streaming sebelum benar-benar gagal
+     */
+
+    @Value("${app.result-limit.warn-ratio:0.8}")
+    private double warnRatio;
+
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    public record Snapshot(int maxRows, long calls, long maxObservedRows, long truncated, long failed) {
+
+        // seberapa dekat method ini dengan batas nya (1.0 = sudah mencapai / melebihi batas)
+        public double peakRatio() {
+            return Math.min(1.0, (double) maxObservedRows / maxRows);
+        }
+    }
+
+    private static final class Counter {
+        final AtomicLong calls = new AtomicLong();
+        final LongAccumulator maxObservedRows = new LongAccumulator(Math::max, 0);
+        final AtomicLong truncated = new AtomicLong();
+        final AtomicLong failed = new AtomicLong();
+        volatile int maxRows;
+    }
+
+    void record(String method, int maxRows, int rows, boolean exceeded, boolean failed) {
+        Counter counter = counters.computeIfAbsent(method, key -> new Counter());
+        counter.maxRows = maxRows;
+        counter.calls.incrementAndGet();
+        counter.maxObservedRows.accumulate(rows);
+        if (exceeded) {
+            (failed ? counter.failed : counter.truncated).incrementAndGet();
+            log.warn("{} exceeded result limit of {} rows ({})", method, maxRows, failed ? "failed" : "truncated");
+        } else if (rows >= maxRows * warnRatio) {
+            log.warn("{} returned {} rows, {}% of result limit {}", method, rows, rows * 100L / maxRows, maxRows);
+        }
+    }
+
+    public Snapshot get(String method) {
+        Counter counter = counters.get(method);
+        return counter == null ? null : snapshot(counter);
+    }
+
+    public Map<String, Snapshot> snapshot() {
+        Map<String, Snapshot> snapshot = new TreeMap<>();
+        counters.forEach((method, counter) -> snapshot.put(method, snapshot(counter)));
+        return snapshot;
+    }
+
+    private static Snapshot snapshot(Counter counter) {
+        return new Snapshot(counter.maxRows, counter.calls.get(), counter.maxObservedRows.get(),
+                counter.truncated.get(), counter.failed.get());
+    }
+
+}
@@ -0,0 +1,45 @@
+package com.tutorial.repository;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+public class ResultLimitStatementInspector implements StatementInspector {
+
+    /**
+     * Menambahkan LIMIT ke SELECT pertama dari query method yang di jaga ResultLimitGuard
+     * ● Batas di pasang oleh interceptor repository (ThreadLocal) sebelum query method di jalankan, dan di pakai sekali saja,
+     *   jadi query lain (batch fetch category, subselect) tidak ikut di batasi
+     * ● LIMIT maxRows + 1: baris ke maxRows + 1 hanya penanda bahwa hasil nya melebihi batas,
+     *   entity di belakang nya tidak pernah di baca dari database
+     * ● Query yang sudah punya LIMIT / FOR UPDATE di biarkan
+     * ● Di daftarkan lewat spring.jpa.properties.hibernate.session_factory.statement_inspector
+     */
+
+    private static final ThreadLocal<Integer> PENDING_LIMIT = new ThreadLocal<>();
+
+    // return limit sebelumnya (untuk di kembalikan oleh pemanggil setelah query selesai)
+    static Integer limitNextSelect(Integer limit) {
+        Integer previous = PENDING_LIMIT.get();
+        if (limit == null) {
+            PENDING_LIMIT.remove();
+        } else {
+            PENDING_LIMIT.set(limit);
+        }
+        return previous;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        Integer limit = PENDING_LIMIT.get();
+        if (limit == null || !sql.stripLeading().regionMatches(true, 0, "select", 0, 6)) {
+            return sql;
+        }
+        PENDING_LIMIT.remove();
+
+        String lower = sql.toLowerCase();
+        if (lower.contains(" limit ") || lower.contains(" fetch first ") || lower.contains(" for update")) {
+            return sql;
+        }
+        return sql + " limit " + limit;
+    }
+
+}
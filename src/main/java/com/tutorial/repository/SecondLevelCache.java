@@ -0,0 +1,107 @@
+package com.tutorial.repository;
+
+import com.tutorial.entity.Category;
+import com.tutorial.model.CategoryChangedEvent;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Component
+public class SecondLevelCache {
+
+    /**
+     * Second-level cache Hibernate untuk Category
+     * ● Region: category (entity), category-products (collection Category.products), category-by-name (query cache
+     *   findFirstByNameEquals), ukuran dan umur nya di hibernate-cache.conf
+     * ● Perubahan lewat EntityManager dan JPQL @Modifying di invalidate otomatis oleh Hibernate. Native @Modifying
+     *   query memakai hint HINT_NATIVE_SPACES = "products", supaya yang di invalidate hanya region yang berhubungan
+     *   dengan table products (category-products), bukan semua region
+     * ● JDBC (JdbcTemplate) dan StatelessSession tidak melewati cache Hibernate, jadi jalur bulk memanggil
+     *   class ini: sekarang dan sekali lagi setelah transaction selesai (transaction lain bisa saja mengisi
+     *   cache dengan data lama di antara nya)
+     */
+
+    public static final String CATEGORY_REGION = "category";
+
+    public static final String CATEGORY_PRODUCTS_REGION = "category-products";
+
+    public static final String CATEGORY_BY_NAME_REGION = "category-by-name";
+
+    private static final String CATEGORY_PRODUCTS_ROLE = Category.class.getName() + ".products";
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    // category berubah tanpa EntityManager (upsert JDBC, stateless update), id null = tidak di ketahui
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        Cache cache = cache();
+        if (event.id() == null) {
+            cache.evictEntityData(Category.class);
+        } else {
+            cache.evictEntityData(Category.class, event.id());
+        }
+        cache.evictQueryRegion(CATEGORY_BY_NAME_REGION); // hasil kosong (nama belum ada) juga ikut di cache
+    }
+
+    // product di tulis lewat JDBC / StatelessSession: daftar product category ini berubah
+    public void productsWritten(Collection<Long> categoryIds) {
+        evictCategoryProducts(categoryIds);
+        afterCompletion(() -> evictCategoryProducts(categoryIds));
+    }
+
+    // product di tulis tanpa tahu category nya (LOAD DATA)
+    public void productsWritten() {
+        cache().evictCollectionData(CATEGORY_PRODUCTS_ROLE);
+        afterCompletion(() -> cache().evictCollectionData(CATEGORY_PRODUCTS_ROLE));
+    }
+
+    public Map<String, CacheRegionStatistics> regionStatistics() {
+        Map<String, CacheRegionStatistics> statistics = new LinkedHashMap<>();
+        for (String region : List.of(CATEGORY_REGION, CATEGORY_PRODUCTS_REGION)) {
+            statistics.put(region, sessionFactory().getStatistics().getDomainDataRegionStatistics(region));
+        }
+        statistics.put(CATEGORY_BY_NAME_REGION, sessionFactory().getStatistics().getQueryRegionStatistics(CATEGORY_BY_NAME_REGION));
+        return statistics;
+    }
+
+    private void evictCategoryProducts(Collection<Long> categoryIds) {
+        Cache cache = cache();
+        for (Long categoryId : categoryIds) {
+            if (categoryId != null) {
+                cache.evictCollectionData(CATEGORY_PRODUCTS_ROLE, categoryId);
+            }
+        }
+    }
+
+    private static void afterCompletion(Runnable evict) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict.run();
+                }
+            });
+        }
+    }
+
+    private Cache cache() {
+        return sessionFactory().getCache();
+    }
+
+    private SessionFactory sessionFactory() {
+        return entityManagerFactory.unwrap(SessionFactory.class);
+    }
+
+}
@@ -0,0 +1,164 @@
+package com.tutorial.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
+
+import static org.springframework.data.jpa.repository.query.QueryUtils.toOrders;
+
+final class SpecificationQueries {
+
+    /**
+     * Helper untuk fragment repository: menjalankan Specification dengan Criteria API
+     * sama seperti SimpleJpaRepository, tetapi query nya bisa di tambah hint (fetch plan, dll) sebelum di eksekusi
+     */
+
+    private SpecificationQueries() {
+    }
+
+    static <T> TypedQuery<T> query(EntityManager entityManager, Class<T> domainClass, Specification<T> specification, Sort sort) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> criteria = builder.createQuery(domainClass);
+        Root<T> root = criteria.from(domainClass);
+        criteria.select(root);
+
+        Predicate predicate = specification.toPredicate(root, criteria, builder);
+        if (predicate != null) {
+            criteria.where(predicate);
+        }
+        if (sort.isSorted()) {
+            criteria.orderBy(toOrders(sort, root, builder));
+        }
+        return entityManager.createQuery(criteria);
+    }
+
+    // sama dengan query(), tapi yang di select bukan entity: kolom (builder.array) atau constructor (builder.construct)
+    static <T, R> TypedQuery<R> select(EntityManager entityManager, Class<T> domainClass, Class<R> resultClass,
+                                       Specification<T> specification, Sort sort,
+                                       BiFunction<Root<T>, CriteriaBuilder, Selection<? extends R>> selection) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<R> criteria = builder.createQuery(resultClass);
+        Root<T> root = criteria.from(domainClass);
+        criteria.select(selection.apply(root, builder));
+
+        Predicate predicate = specification.toPredicate(root, criteria, builder);
+        if (predicate != null) {
+            criteria.where(predicate);
+        }
+        if (sort.isSorted()) {
+            criteria.orderBy(toOrders(sort, root, builder));
+        }
+        return entityManager.createQuery(criteria);
+    }
+
+    static <T> List<T> list(EntityManager entityManager, Class<T> domainClass, Specification<T> specification,
+                            Sort sort, FetchPlan fetchPlan) {
+        TypedQuery<T> query = query(entityManager, domainClass, specification, sort);
+        return fetchPlan.applyTo(entityManager, query).getResultList();
+    }
+
+    static <T> List<T> list(EntityManager entityManager, Class<T> domainClass, Specification<T> specification,
+                            Pageable pageable, FetchPlan fetchPlan) {
+        TypedQuery<T> query = query(entityManager, domainClass, specification, pageable.getSort());
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset()); // limit ?, ?
+            query.setMaxResults(pageable.getPageSize());
+        }
+        return fetchPlan.applyTo(entityManager, query).getResultList();
+    }
+
+    static <T> Page<T> page(EntityManager entityManager, Class<T> domainClass, Specification<T> specification,
+                            Pageable pageable, FetchPlan fetchPlan) {
+        List<T> content = list(entityManager, domainClass, specification, pageable, fetchPlan);
+        // query count hanya di jalankan jika total tidak bisa di hitung dari content (sama seperti SimpleJpaRepository)
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(entityManager, domainClass, specification));
+    }
+
+    static <T> long count(EntityManager entityManager, Class<T> domainClass, Specification<T> specification) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> criteria = builder.createQuery(Long.class);
+        Root<T> root = criteria.from(domainClass);
+
+        Predicate predicate = specification.toPredicate(root, criteria, builder);
+        if (predicate != null) {
+            criteria.where(predicate);
+        }
+        criteria.select(criteria.isDistinct() ? builder.countDistinct(root) : builder.count(root));
+        return entityManager.createQuery(criteria).getSingleResult();
+    }
+
+    // keyset: where <specification> and (kolom, id) setelah token, order by kolom, id limit size + 1
+    // baris ke size + 1 hanya untuk mengetahui apakah masih ada halaman berikutnya
+    static <T> KeysetSlice<T> keyset(EntityManager entityManager, Class<T> domainClass, Specification<T> specification,
+                                     KeysetRequest request) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> criteria = builder.createQuery(domainClass);
+        Root<T> root = criteria.from(domainClass);
+        criteria.select(root);
+
+        List<Predicate> predicates = new ArrayList<>();
+        Predicate predicate = specification.toPredicate(root, criteria, builder);
+        if (predicate != null) {
+            predicates.add(predicate);
+        }
+        if (request.token() != null) {
+            predicates.add(seek(builder, root, request, KeysetToken.decode(request.token(), request)));
+        }
+        criteria.where(predicates.toArray(new Predicate[0]));
+
+        boolean ascending = request.direction().isAscending();
+        Path<?> column = root.get(request.property());
+        Path<?> id = root.get("id");
+        if (request.property().equals("id")) {
+            criteria.orderBy(ascending ? builder.asc(id) : builder.desc(id));
+        } else {
+            criteria.orderBy(ascending ? builder.asc(column) : builder.desc(column), ascending ? builder.asc(id) : builder.desc(id));
+        }
+
+        TypedQuery<T> query = entityManager.createQuery(criteria).setMaxResults(request.size() + 1);
+        List<T> rows = request.fetchPlan().applyTo(entityManager, query).getResultList();
+        if (rows.size() <= request.size()) {
+            return new KeysetSlice<>(rows, null);
+        }
+        List<T> content = new ArrayList<>(rows.subList(0, request.size()));
+        return new KeysetSlice<>(content, token(content.get(content.size() - 1), request));
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <T> Predicate seek(CriteriaBuilder builder, Root<T> root, KeysetRequest request, KeysetToken token) {
+        boolean ascending = request.direction().isAscending();
+        Path<Long> id = root.get("id");
+        Predicate idAfter = ascending ? builder.greaterThan(id, token.id()) : builder.lessThan(id, token.id());
+        if (request.property().equals("id")) {
+            return idAfter;
+        }
+        Path<Comparable> column = root.get(request.property());
+        Comparable value = (Comparable) token.value();
+        Predicate columnAfter = ascending ? builder.greaterThan(column, value) : builder.lessThan(column, value);
+        // (kolom > nilai) or (kolom = nilai and id > id terakhir)
+        return builder.or(columnAfter, builder.and(builder.equal(column, value), idAfter));
+    }
+
+    private static String token(Object last, KeysetRequest request) {
+        BeanWrapperImpl wrapper = new BeanWrapperImpl(last);
+        Object value = wrapper.getPropertyValue(request.property());
+        Long id = (Long) wrapper.getPropertyValue("id");
+        return new KeysetToken(request.property(), request.direction(), value, id).encode();
+    }
+
+}
@@ -0,0 +1,23 @@
+package com.tutorial.repository;
+
+public interface StatelessWriteRepository<T> {
+
+    /**
+     * Stateless Write (jalur cepat untuk bulk write)
+     * ● JpaRepository.saveAll() memakai persistence context: setiap entity di simpan di first-level cache,
+     *   di cek dirty checking saat flush, dan menjalankan entity listener
+     * ● Untuk import / repricing massal semua itu hanya menghabiskan CPU dan heap
+     * ● Method di sini memakai Hibernate StatelessSession di atas connection transaction yang sedang berjalan:
+     *   tidak ada first-level cache, tidak ada dirty checking, INSERT/UPDATE di kirim sebagai JDBC batch
+     * ● Entity listener (AuditingEntityListener) tidak berjalan di StatelessSession, jadi audit
+     *   (@CreatedDate / @LastModifiedDate) di isi secara eksplisit lewat AuditingHandler sebelum di tulis
+     * ● Entity yang di tulis tidak menjadi managed, relasi tidak di cascade
+     */
+
+    // insert semua entity (id di generate oleh generator entity), return jumlah entity
+    int insertAllStateless(Iterable<? extends T> entities);
+
+    // update semua entity berdasarkan id, return jumlah entity
+    int updateAllStateless(Iterable<? extends T> entities);
+
+}
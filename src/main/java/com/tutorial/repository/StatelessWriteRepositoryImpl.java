@@ -0,0 +1,128 @@
+package com.tutorial.repository;
+
+import com.tutorial.entity.Category;
+import com.tutorial.entity.Product;
+import com.tutorial.model.CategoryChangedEvent;
+import com.tutorial.model.ProductBatchChangedEvent;
+import com.tutorial.model.ProductChangedEvent;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.auditing.AuditingHandler;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.ToIntFunction;
+
+public class StatelessWriteRepositoryImpl<T> implements StatelessWriteRepository<T> {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private ObjectProvider<AuditingHandler> auditingHandler; // bean dari @EnableJpaAuditing
+
+    @Autowired
+    private ObjectProvider<ProductNameFilter> productNameFilter;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ObjectProvider<SecondLevelCache> secondLevelCache;
+
+    @Override
+    @Transactional
+    public int insertAllStateless(Iterable<? extends T> entities) {
+        Set<Long> categoryIds = new HashSet<>();
+        List<ProductChangedEvent> changes = new ArrayList<>();
+        int inserted = withStatelessSession(session -> {
+            int rows = 0;
+            for (T entity : entities) {
+                session.insert(audit(entity, true));
+                written(entity, changes);
+                if (entity instanceof Product product && product.getCategory() != null) {
+                    categoryIds.add(product.getCategory().getId());
+                }
+                rows++;
+            }
+            return rows;
+        });
+        // StatelessSession tidak mengubah second-level cache, daftar product category (Category.products) di invalidate manual
+        if (!categoryIds.isEmpty()) {
+            secondLevelCache.ifAvailable(cache -> cache.productsWritten(categoryIds));
+        }
+        if (!changes.isEmpty()) {
+            eventPublisher.publishEvent(new ProductBatchChangedEvent(changes)); // satu event per operasi, bukan per baris
+        }
+        return inserted;
+    }
+
+    @Override
+    @Transactional
+    public int updateAllStateless(Iterable<? extends T> entities) {
+        List<ProductChangedEvent> changes = new ArrayList<>();
+        int updated = withStatelessSession(session -> {
+            int rows = 0;
+            for (T entity : entities) {
+                session.update(audit(entity, false));
+                written(entity, changes);
+                rows++;
+            }
+            return rows;
+        });
+        // category lama dari product yang di update tidak di ketahui, semua Category.products di invalidate
+        if (!changes.isEmpty()) {
+            secondLevelCache.ifAvailable(SecondLevelCache::productsWritten);
+            eventPublisher.publishEvent(new ProductBatchChangedEvent(changes));
+        }
+        return updated;
+    }
+
+    // hook audit eksplisit: pengganti AuditingEntityListener yang tidak di panggil oleh StatelessSession
+    private T audit(T entity, boolean created) {
+        AuditingHandler handler = auditingHandler.getIfAvailable();
+        if (handler == null) {
+            return entity;
+        }
+        return created ? handler.markCreated(entity) : handler.markModified(entity);
+    }
+
+    // StatelessSession juga tidak memanggil entity listener, nama product / perubahan category di teruskan manual
+    private void written(T entity, List<ProductChangedEvent> changes) {
+        if (entity instanceof Product product) {
+            productNameFilter.ifAvailable(filter -> filter.add(product.getName()));
+            Long categoryId = product.getCategory() == null ? null : product.getCategory().getId();
+            changes.add(new ProductChangedEvent(product.getId(), product.getName(), categoryId, false));
+        } else if (entity instanceof Category category) {
+            eventPublisher.publishEvent(new CategoryChangedEvent(category.getId(), category.getName(), false));
+        }
+    }
+
+    private int withStatelessSession(ToIntFunction<StatelessSession> work) {
+        // connection yang sama dengan transaction JPA yang sedang berjalan, jadi commit / rollback ikut transaction tersebut
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try (StatelessSession session = entityManagerFactory.unwrap(SessionFactory.class).openStatelessSession(connection)) {
+            int rows = work.applyAsInt(session);
+            // StatelessSession tidak punya flush, batch yang tersisa di kirim manual sebelum session di tutup
+            ((SharedSessionContractImplementor) session).getJdbcCoordinator().executeBatch();
+            return rows;
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+}
@@ -0,0 +1,44 @@
+package com.tutorial.repository;
+
+import com.tutorial.entity.Category;
+import com.tutorial.entity.Product;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.stream.Stream;
+
+final class StreamingQueries {
+
+    /**
+     * Helper streaming query dengan memory konstan
+     * ● Fetch size: driver MySQL menyimpan seluruh result set di memory kecuali fetch size = Integer.MIN_VALUE
+     *   (row streaming) atau useCursorFetch=true + fetch size positif (cursor di server)
+     * ● Hibernate 6.1 menyimpan setiap entity yang di load oleh scroll / getResultStream di state loading
+     *   sampai scroll selesai (detach tidak membantu), jadi stream entity tetap membuat heap naik
+     * ● Karena itu yang di stream adalah kolom (scalar), lalu di ubah menjadi object Product yang tidak pernah managed:
+     *   tidak ada snapshot dirty checking (read only), dan tidak ada yang perlu di evict dari persistence context
+     * ● Stream harus di pakai di dalam transaction (connection tetap terbuka) dan di tutup (try-with-resources)
+     */
+
+    private StreamingQueries() {
+    }
+
+    static <T> Stream<T> stream(TypedQuery<T> query, int fetchSize) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new InvalidDataAccessApiUsageException("Streaming query needs a surrounding transaction (e.g. @Transactional(readOnly = true))");
+        }
+        query.setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize);
+        query.setHint(HibernateHints.HINT_READ_ONLY, true);
+        return query.getResultStream();
+    }
+
+    // satu baris kolom (id, name, price, category id, external id) menjadi Product detached, category berupa reference (proxy dengan id, tanpa select)
+    static Product product(EntityManager entityManager, Object[] row) {
+        Category category = row[3] == null ? null : entityManager.getReference(Category.class, row[3]);
+        return new Product((Long) row[0], (String) row[1], (Long) row[2], category, (String) row[4]);
+    }
+
+}
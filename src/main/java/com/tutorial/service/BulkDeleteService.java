@@ -0,0 +1,90 @@
+package com.tutorial.service;
+
+import com.tutorial.model.BulkResult;
+import com.tutorial.model.ProductChangedEvent;
+import com.tutorial.repository.ProductRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.Consumer;
+import java.util.function.IntUnaryOperator;
+
+@Slf4j
+@Service
+public class BulkDeleteService {
+
+    /**
+     * Bulk Delete per Chunk
+     * ● Derived deleteByName: select semua entity, lalu DELETE satu per satu. Nama populer bisa ribuan baris, jadi ribuan
+     *   statement dan persistence context membengkak
+     * ● deleteProductUsingName: set-based, tapi satu statement besar yang menahan row lock sampai selesai
+     * ● Service ini menjalankan DELETE ... LIMIT n berulang kali, setiap chunk di transaction sendiri (REQUIRES_NEW),
+     *   jadi lock hanya di tahan sebentar dan transaction lain bisa jalan di antara chunk
+     * ● Chunk pendek hanya jika WHERE nya memakai index: deleteProductsByName butuh idx_products_name (lihat database.sql),
+     *   tanpa index DELETE ... ORDER BY id LIMIT n scan PRIMARY dan lock semua baris yang di lewati sampai ketemu n baris
+     * ● Loop berhenti ketika chunk menghapus kurang dari n baris
+     * ● Progress (jumlah baris dan rows/s) di log per chunk dan bisa juga di terima lewat callback
+     * ● Setelah selesai ProductChangedEvent.bulk() di kirim (misal autocomplete membangun ulang index nya)
+     */
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.delete.chunk-size:1000}")
+    private int chunkSize;
+
+    public BulkResult deleteProductsByName(String name) {
+        return deleteProductsByName(name, progress -> { });
+    }
+
+    public BulkResult deleteProductsByName(String name, Consumer<BulkResult> progress) {
+        return deleteInChunks("products name = " + name, limit -> productRepository.deleteChunkByName(name, limit), progress);
+    }
+
+    public BulkResult deleteProductsByNameLike(String name) {
+        return deleteProductsByNameLike(name, progress -> { });
+    }
+
+    public BulkResult deleteProductsByNameLike(String name, Consumer<BulkResult> progress) {
+        return deleteInChunks("products name like " + name, limit -> productRepository.deleteChunkByNameLike(name, limit), progress);
+    }
+
+    private BulkResult deleteInChunks(String label, IntUnaryOperator deleteChunk, Consumer<BulkResult> progress) {
+        long start = System.nanoTime();
+
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        long rows = 0;
+        int deleted;
+        do {
+            Integer chunk = transaction.execute(status -> deleteChunk.applyAsInt(chunkSize));
+            deleted = chunk == null ? 0 : chunk;
+            rows += deleted;
+
+            BulkResult current = BulkResult.since(rows, start);
+            progress.accept(current);
+            log.debug("delete {}: {} rows ({} rows/s)", label, rows, (long) current.rowsPerSecond());
+        } while (deleted == chunkSize);
+
+        if (rows > 0) {
+            eventPublisher.publishEvent(ProductChangedEvent.bulk()); // setelah chunk terakhir commit, di luar transaction
+        }
+        BulkResult result = BulkResult.since(rows, start);
+        log.info("delete {}: {} rows in {} ms ({} rows/s)", label, result.rows(), result.elapsedMillis(), (long) result.rowsPerSecond());
+        return result;
+    }
+
+}
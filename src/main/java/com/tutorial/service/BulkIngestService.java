@@ -0,0 +1,148 @@
+package com.tutorial.service;
+
+import com.tutorial.entity.Category;
+import com.tutorial.entity.Product;
+import com.tutorial.model.BulkResult;
+import com.tutorial.model.ProductRow;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+@Slf4j
+@Service
+public class BulkIngestService {
+
+    /**
+     * Bulk Ingest
+     * ● Memanggil ProductRepository.save() di dalam loop membuat semua entity tetap tersimpan di persistence context,
+     *   sehingga memory terus naik dan dirty checking saat flush semakin lama
+     * ● Service ini memproses input per batch (ukuran sama dengan hibernate.jdbc.batch_size):
+     *   persist, flush (INSERT di kirim sebagai JDBC batch), lalu clear persistence context
+     * ● Nama category di cari ke database satu kali per batch (where name in (...)), bukan per baris
+     * ● Input berupa Stream, jadi baris di baca sedikit demi sedikit dan memory tetap datar
+     */
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:100}")
+    private int batchSize;
+
+    @Transactional
+    public BulkResult ingestCategories(Stream<String> names) {
+        long start = System.nanoTime();
+        long rows = 0;
+
+        Iterator<String> iterator = names.iterator();
+        Set<String> batch = new LinkedHashSet<>();
+        while (iterator.hasNext()) {
+            batch.add(iterator.next());
+            if (batch.size() == batchSize || !iterator.hasNext()) {
+                Map<String, Long> existing = findCategoryIds(batch);
+                for (String name : batch) {
+                    if (!existing.containsKey(name)) {
+                        persistCategory(name);
+                        rows++;
+                    }
+                }
+                flushAndClear();
+                batch.clear();
+            }
+        }
+
+        BulkResult result = BulkResult.since(rows, start);
+        log.info("ingest categories: {} rows in {} ms ({} rows/s)", result.rows(), result.elapsedMillis(), (long) result.rowsPerSecond());
+        return result;
+    }
+
+    @Transactional
+    public BulkResult ingestProducts(Stream<ProductRow> productRows) {
+        long start = System.nanoTime();
+        long rows = 0;
+
+        Iterator<ProductRow> iterator = productRows.iterator();
+        List<ProductRow> batch = new ArrayList<>(batchSize);
+        while (iterator.hasNext()) {
+            batch.add(iterator.next());
+            if (batch.size() == batchSize || !iterator.hasNext()) {
+                rows += persistProducts(batch);
+                flushAndClear();
+                batch.clear();
+
+                if (log.isDebugEnabled()) {
+                    log.debug("ingest products: {} rows ({} rows/s)", rows, (long) BulkResult.since(rows, start).rowsPerSecond());
+                }
+            }
+        }
+
+        BulkResult result = BulkResult.since(rows, start);
+        log.info("ingest products: {} rows in {} ms ({} rows/s)", result.rows(), result.elapsedMillis(), (long) result.rowsPerSecond());
+        return result;
+    }
+
+    private int persistProducts(List<ProductRow> batch) {
+        Set<String> categoryNames = new LinkedHashSet<>();
+        for (ProductRow row : batch) {
+            categoryNames.add(row.categoryName());
+        }
+
+        // category yang belum ada di buat di batch yang sama
+        Map<String, Long> categoryIds = findCategoryIds(categoryNames);
+        for (String name : categoryNames) {
+            if (!categoryIds.containsKey(name)) {
+                categoryIds.put(name, persistCategory(name).getId());
+            }
+        }
+
+        for (ProductRow row : batch) {
+            Product product = new Product();
+            product.setName(row.name());
+            product.setPrice(row.price());
+            // getReference tidak menjalankan select, hanya proxy dengan id untuk mengisi category_id
+            product.setCategory(entityManager.getReference(Category.class, categoryIds.get(row.categoryName())));
+            entityManager.persist(product);
+        }
+        return batch.size();
+    }
+
+    private Category persistCategory(String name) {
+        Category category = new Category();
+        category.setName(name);
+        entityManager.persist(category); // id dari hi/lo allocator, INSERT masih menunggu flush
+        return category;
+    }
+
+    private Map<String, Long> findCategoryIds(Collection<String> names) {
+        Map<String, Long> ids = new HashMap<>();
+        if (names.isEmpty()) {
+            return ids;
+        }
+        List<Object[]> rows = entityManager.createQuery(
+                        "SELECT c.name, MIN(c.id) FROM Category c WHERE c.name IN :names GROUP BY c.name", Object[].class)
+                .setParameter("names", names)
+                .getResultList();
+        for (Object[] row : rows) {
+            ids.put((String) row[0], (Long) row[1]);
+        }
+        return ids;
+    }
+
+    private void flushAndClear() {
+        entityManager.flush(); // kirim INSERT sebagai JDBC batch
+        entityManager.clear(); // lepaskan semua entity dari persistence context supaya memory tidak naik
+    }
+
+}
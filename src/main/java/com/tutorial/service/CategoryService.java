@@ -1,6 +1,7 @@
 package com.tutorial.service;
 
 import com.tutorial.entity.Category;
+import com.tutorial.model.ChunkedResult;
 import com.tutorial.repository.CategoryRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -11,6 +12,7 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.transaction.support.DefaultTransactionDefinition;
 import org.springframework.transaction.support.TransactionOperations;
 
+import java.util.List;
 import java.util.function.Consumer;
 
 @Service
@@ -145,4 +147,31 @@ public class CategoryService {
 
     }
 
+    /**
+     * Chunked Commit (batch besar)
+     * ● create(), createCategories() dan manual() membungkus seluruh loop dalam satu transaction,
+     *   cocok untuk data kecil, tapi untuk ribuan baris satu error me-rollback semuanya
+     * ● createCategories(jobName, names, chunkSize) commit setiap chunkSize baris lewat ChunkedTransactionWriter
+     *   (di atas PlatformTransactionManager), chunk yang gagal di coba ulang atau di skip
+     * ● Checkpoint di simpan per jobName, jika job di jalankan ulang dengan input yang sama, dia lanjut dari
+     *   chunk terakhir yang sudah commit
+     */
+
+    @Autowired
+    private ChunkedTransactionWriter chunkedTransactionWriter;
+
+    public ChunkedResult createCategories(String jobName, List<String> names, int chunkSize) {
+        return chunkedTransactionWriter.write(jobName, names, chunkSize, new Consumer<List<String>>() {
+            @Override
+            public void accept(List<String> chunk) {
+                for (String name : chunk) {
+                    Category category = new Category();
+                    category.setName(name);
+                    categoryRepository.save(category);
+                }
+                categoryRepository.flush(); // error constraint muncul di sini, masih di dalam transaction chunk
+            }
+        });
+    }
+
 }
@@ -0,0 +1,117 @@
+package com.tutorial.service;
+
+import com.tutorial.entity.BatchCheckpoint;
+import com.tutorial.model.ChunkedResult;
+import com.tutorial.repository.BatchCheckpointRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+@Slf4j
+@Component
+public class ChunkedTransactionWriter {
+
+    /**
+     * Chunked Commit
+     * ● Satu transaction untuk seluruh loop berarti satu baris yang error me-rollback semuanya, dan lock
+     *   serta undo log di tahan sampai loop selesai
+     * ● Writer ini membagi input per chunk, setiap chunk di jalankan di transaction sendiri (REQUIRES_NEW)
+     *   lewat TransactionTemplate, jadi yang rollback hanya chunk yang gagal
+     * ● Error sementara (deadlock, lock wait timeout) di coba ulang sampai maxAttempts,
+     *   error lain (constraint, data salah) langsung di skip karena di coba ulang pun hasilnya sama
+     * ● Checkpoint (BatchCheckpoint) di simpan di transaction chunk yang sama, sehingga job yang berhenti
+     *   di tengah jalan bisa di jalankan ulang dan mulai dari chunk berikutnya
+     */
+
+    public static final int DEFAULT_MAX_ATTEMPTS = 3;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private BatchCheckpointRepository checkpointRepository;
+
+    public <T> ChunkedResult write(String jobName, List<T> items, int chunkSize, Consumer<List<T>> writer) {
+        return write(jobName, items, chunkSize, DEFAULT_MAX_ATTEMPTS, writer);
+    }
+
+    public <T> ChunkedResult write(String jobName, List<T> items, int chunkSize, int maxAttempts, Consumer<List<T>> writer) {
+        if (chunkSize <= 0 || maxAttempts <= 0) {
+            throw new IllegalArgumentException("chunkSize and maxAttempts must be positive");
+        }
+        long start = System.nanoTime();
+
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        int resumedFrom = (int) Math.min(items.size(), checkpointRepository.findById(jobName)
+                .map(BatchCheckpoint::getLastIndex)
+                .orElse(0L));
+        if (resumedFrom > 0) {
+            log.info("job {}: resume from index {}", jobName, resumedFrom);
+        }
+
+        long written = 0;
+        long skipped = 0;
+        int chunks = 0;
+        int skippedChunks = 0;
+        for (int from = resumedFrom; from < items.size(); from += chunkSize) {
+            int to = Math.min(from + chunkSize, items.size());
+            List<T> chunk = items.subList(from, to);
+            chunks++;
+
+            if (writeChunk(transaction, jobName, chunk, from, to, maxAttempts, writer)) {
+                written += chunk.size();
+            } else {
+                // chunk di lewati, checkpoint tetap maju supaya job yang di jalankan ulang tidak mengulang chunk ini
+                transaction.executeWithoutResult(status -> saveCheckpoint(jobName, to));
+                skipped += chunk.size();
+                skippedChunks++;
+            }
+        }
+
+        ChunkedResult result = new ChunkedResult(written, skipped, resumedFrom, chunks, skippedChunks, System.nanoTime() - start);
+        log.info("job {}: {} written, {} skipped ({} of {} chunks) in {} ms", jobName, result.written(), result.skipped(),
+                result.skippedChunks(), result.chunks(), result.elapsedMillis());
+        return result;
+    }
+
+    // hapus checkpoint supaya job dengan nama yang sama mulai lagi dari awal
+    public void reset(String jobName) {
+        if (checkpointRepository.existsById(jobName)) {
+            checkpointRepository.deleteById(jobName);
+        }
+    }
+
+    private <T> boolean writeChunk(TransactionTemplate transaction, String jobName, List<T> chunk, int from, int to,
+                                   int maxAttempts, Consumer<List<T>> writer) {
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            try {
+                transaction.executeWithoutResult(status -> {
+                    writer.accept(chunk);
+                    saveCheckpoint(jobName, to);
+                });
+                return true;
+            } catch (TransientDataAccessException exception) {
+                log.warn("job {}: chunk [{}, {}) attempt {}/{} failed: {}", jobName, from, to, attempt, maxAttempts, exception.getMessage());
+            } catch (RuntimeException exception) {
+                log.warn("job {}: chunk [{}, {}) skipped: {}", jobName, from, to, exception.getMessage());
+                return false;
+            }
+        }
+        log.warn("job {}: chunk [{}, {}) skipped after {} attempts", jobName, from, to, maxAttempts);
+        return false;
+    }
+
+    private void saveCheckpoint(String jobName, int lastIndex) {
+        checkpointRepository.save(new BatchCheckpoint(jobName, (long) lastIndex, null));
+    }
+
+}
@@ -0,0 +1,204 @@
+package com.tutorial.service;
+
+import com.tutorial.model.ProductBatchChangedEvent;
+import com.tutorial.model.ProductChangedEvent;
+import com.tutorial.model.ProductPrice;
+import com.tutorial.repository.ProductRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+@Slf4j
+@Service
+public class ProductAutocompleteService {
+
+    /**
+     * Autocomplete Nama Product
+     * ● Search box yang memanggil findAllByNameLike("abc%") setiap ketikan berarti satu query MySQL per huruf
+     * ● Service ini menyimpan nama semua product di memory, terurut berdasarkan nama (lowercase) di ConcurrentSkipListMap:
+     *   semua nama dengan awalan yang sama berdekatan, jadi complete("abc", k) cukup mencari posisi "abc" (O(log n))
+     *   lalu membaca k entry berikutnya, tanpa query ke database
+     * ● Hasil di urutkan alfabetis (nama lebih pendek duluan untuk awalan yang sama)
+     * ● Di load saat aplikasi siap (app.autocomplete.load-on-startup) di thread terpisah, lewat projection stream
+     *   ProductRepository (memory konstan), selama loading complete() memakai isi sebelumnya (awal nya kosong)
+     * ● Product yang di simpan / di hapus lewat repository (save, delete) masuk lewat ProductChangedEvent setelah commit,
+     *   stateless insert / update lewat satu ProductBatchChangedEvent (id dan nama setiap baris), keduanya incremental.
+     *   Bulk write yang tidak tahu baris nya (upsert, import, LOAD DATA, BulkDeleteService) mengirim
+     *   ProductChangedEvent.bulk() tanpa id, setelah commit index di bangun ulang di thread terpisah. Beberapa bulk event
+     *   berturut-turut cukup satu reload (yang sudah antri tidak di tambah), selama reload complete() memakai index lama
+     */
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.autocomplete.load-on-startup:true}")
+    private boolean loadOnStartup;
+
+    @Value("${app.autocomplete.max-results:50}")
+    private int maxResults;
+
+    private volatile Index index = new Index();
+
+    private volatile boolean ready;
+
+    // event yang masuk selama reload, di terapkan ulang ke index baru supaya tidak hilang
+    private List<ProductChangedEvent> pendingDuringReload;
+
+    private final Object reloadLock = new Object();
+
+    // reload karena bulk write sudah antri tapi belum mulai
+    private final AtomicBoolean reloadQueued = new AtomicBoolean();
+
+    private static final class Index {
+        // key: nama lowercase + '\0' + id (nama lowercase bisa sama), value: nama asli
+        final NavigableMap<String, String> names = new ConcurrentSkipListMap<>();
+        final Map<Long, String> keys = new ConcurrentHashMap<>();
+
+        void put(Long id, String name) {
+            String key = normalize(name) + '\0' + id;
+            String previous = keys.put(id, key);
+            if (previous != null && !previous.equals(key)) {
+                names.remove(previous); // nama berubah
+            }
+            names.put(key, name);
+        }
+
+        void remove(Long id) {
+            String previous = keys.remove(id);
+            if (previous != null) {
+                names.remove(previous);
+            }
+        }
+
+        void apply(ProductChangedEvent event) {
+            if (event.deleted() || event.name() == null) {
+                remove(event.id());
+            } else {
+                put(event.id(), event.name());
+            }
+        }
+    }
+
+    // maksimal k nama product dengan awalan prefix (tidak case sensitive)
+    public List<String> complete(String prefix, int k) {
+        String normalized = normalize(prefix);
+        int limit = Math.min(k, maxResults);
+        if (normalized.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        List<String> result = new ArrayList<>(limit);
+        for (Map.Entry<String, String> entry : index.names.tailMap(normalized).entrySet()) {
+            if (result.size() == limit || !entry.getKey().startsWith(normalized)) {
+                break;
+            }
+            result.add(entry.getValue());
+        }
+        return result;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        return index.keys.size();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        if (loadOnStartup) {
+            reloadLater();
+        }
+    }
+
+    // bangun ulang index dari database, index lama tetap di pakai sampai yang baru selesai
+    public void reload() {
+        synchronized (reloadLock) {
+            reloadQueued.set(false); // bulk write setelah titik ini mungkin tidak terlihat oleh scan, antri reload berikutnya
+            long start = System.nanoTime();
+            synchronized (this) {
+                pendingDuringReload = new ArrayList<>();
+            }
+
+            Index fresh = new Index();
+            try {
+                TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+                transaction.setReadOnly(true);
+                transaction.executeWithoutResult(status -> {
+                    try (Stream<ProductPrice> products = productRepository.stream(Specification.where(null), Sort.by("id"), ProductPrice.class)) {
+                        products.forEach(product -> fresh.put(product.id(), product.name()));
+                    }
+                });
+            } catch (RuntimeException exception) {
+                synchronized (this) {
+                    pendingDuringReload = null;
+                }
+                throw exception;
+            }
+
+            synchronized (this) {
+                pendingDuringReload.forEach(fresh::apply);
+                pendingDuringReload = null;
+                index = fresh;
+                ready = true;
+            }
+            log.info("autocomplete loaded {} product names in {} ms", fresh.keys.size(), (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+
+    // fallbackExecution: save di luar transaction (tidak mungkin lewat repository, tapi aman) tetap di proses
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onProductChanged(ProductChangedEvent event) {
+        if (event.isBulk()) {
+            reloadLater();
+            return;
+        }
+        index.apply(event);
+        if (pendingDuringReload != null) {
+            pendingDuringReload.add(event);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onProductsChanged(ProductBatchChangedEvent event) {
+        event.changes().forEach(index::apply);
+        if (pendingDuringReload != null) {
+            pendingDuringReload.addAll(event.changes());
+        }
+    }
+
+    private void reloadLater() {
+        if (reloadQueued.compareAndSet(false, true)) {
+            Thread loader = new Thread(this::reload, "product-autocomplete-loader");
+            loader.setDaemon(true);
+            loader.start();
+        }
+    }
+
+    private static String normalize(String name) {
+        return name == null ? "" : name.strip().toLowerCase(Locale.ROOT);
+    }
+
+}
@@ -0,0 +1,128 @@
+package com.tutorial.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+@Slf4j
+@Service
+public class ProductCountReconciler {
+
+    /**
+     * Rekonsiliasi category_product_stats (jumlah product dan ringkasan harga per category)
+     * ● Trigger menjaga jumlah product dan sum / min / max harga per category, tapi bisa selisih: data sebelum trigger di pasang, trigger
+     *   sempat di drop saat migrasi, atau perubahan manual di table counter
+     * ● Job ini berjalan berkala (app.product-count.reconcile-interval), per category: lock baris counter
+     *   (SELECT ... FOR UPDATE), hitung ulang product dan harga nya, lalu perbaiki jika beda
+     * ● Lock di ambil sebelum count: insert / delete product yang belum commit sudah memegang lock baris counter
+     *   yang sama (lewat trigger), jadi count menunggu transaction itu selesai dan tidak membaca jumlah setengah jalan
+     * ● Satu transaction pendek per category (REQUIRES_NEW), category di baca per chunk dengan keyset id
+     */
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.product-count.reconcile-enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.product-count.chunk-size:500}")
+    private int chunkSize;
+
+    // corrected: category yang di perbaiki (jumlah dan / atau harga), drift: total selisih product_count
+    public record Reconciliation(long categories, long corrected, long drift) {
+    }
+
+    @Scheduled(initialDelayString = "${app.product-count.reconcile-interval:PT6H}", fixedDelayString = "${app.product-count.reconcile-interval:PT6H}")
+    public void scheduledReconcile() {
+        if (enabled) {
+            reconcile();
+        }
+    }
+
+    public synchronized Reconciliation reconcile() {
+        long start = System.nanoTime();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        transaction.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED); // count membaca data commit terbaru setelah lock
+
+        long categories = 0;
+        long corrected = 0;
+        long drift = 0;
+        long lastId = 0;
+        List<Long> ids;
+        do {
+            ids = jdbcTemplate.queryForList("SELECT id FROM categories WHERE id > ? ORDER BY id LIMIT ?", Long.class, lastId, chunkSize);
+            for (Long categoryId : ids) {
+                Long difference = transaction.execute(status -> reconcile(categoryId));
+                if (difference != null) {
+                    corrected++;
+                    drift += Math.abs(difference);
+                }
+                categories++;
+                lastId = categoryId;
+            }
+        } while (ids.size() == chunkSize);
+
+        Reconciliation result = new Reconciliation(categories, corrected, drift);
+        if (corrected > 0) {
+            log.warn("product count reconcile: {} of {} categories corrected, total drift {} in {} ms", corrected, categories, drift,
+                    (System.nanoTime() - start) / 1_000_000);
+        } else {
+            log.info("product count reconcile: {} categories in sync in {} ms", categories, (System.nanoTime() - start) / 1_000_000);
+        }
+        return result;
+    }
+
+    private record Stats(long productCount, long priceSum, Long priceMin, Long priceMax) {
+    }
+
+    // return selisih jumlah product (tersimpan - sebenarnya, 0 jika hanya ringkasan harga yang beda), null jika sudah benar
+    private Long reconcile(Long categoryId) {
+        List<Stats> stored = jdbcTemplate.query(
+                "SELECT product_count, price_sum, price_min, price_max FROM category_product_stats WHERE category_id = ? FOR UPDATE",
+                (resultSet, row) -> stats(resultSet), categoryId);
+        // count / sum / min / max per category_id cukup dari idx_products_category_price
+        Stats actual = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*), COALESCE(SUM(price), 0), MIN(price), MAX(price) FROM products WHERE category_id = ?",
+                (resultSet, row) -> stats(resultSet), categoryId);
+        Stats current = stored.isEmpty() ? new Stats(0, 0, null, null) : stored.get(0);
+        if (current.equals(actual)) {
+            return null;
+        }
+
+        if (stored.isEmpty()) {
+            try {
+                jdbcTemplate.update("INSERT INTO category_product_stats (category_id, product_count, price_sum, price_min, price_max) VALUES (?, ?, ?, ?, ?)",
+                        categoryId, actual.productCount(), actual.priceSum(), actual.priceMin(), actual.priceMax());
+            } catch (DuplicateKeyException exception) {
+                return null; // baris baru saja di buat trigger (belum ada lock untuk baris yang belum ada), di cek lagi run berikutnya
+            }
+        } else {
+            jdbcTemplate.update("UPDATE category_product_stats SET product_count = ?, price_sum = ?, price_min = ?, price_max = ? WHERE category_id = ?",
+                    actual.productCount(), actual.priceSum(), actual.priceMin(), actual.priceMax(), categoryId);
+        }
+        log.debug("category {}: stats {} -> {}", categoryId, current, actual);
+        return current.productCount() - actual.productCount();
+    }
+
+    private static Stats stats(ResultSet resultSet) throws SQLException {
+        return new Stats(resultSet.getLong(1), resultSet.getLong(2),
+                resultSet.getObject(3) == null ? null : resultSet.getLong(3),
+                resultSet.getObject(4) == null ? null : resultSet.getLong(4));
+    }
+
+}
@@ -0,0 +1,97 @@
+package com.tutorial.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tutorial.entity.Category;
+import com.tutorial.entity.Product;
+import com.tutorial.repository.ProductRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Slf4j
+@Service
+public class ProductExportService {
+
+    /**
+     * Export Product NDJSON
+     * ● Satu baris JSON per product ({"id":..,"name":..,"price":..,"categoryId":..}), di tulis langsung ke
+     *   OutputStream dari streamAllByCategoryReadOnly, jadi tidak ada List / String besar di memory
+     * ● JsonGenerator Jackson memakai buffer internal yang di pakai ulang (recycler), tidak ada object per baris
+     *   selain Product detached yang langsung bisa di buang
+     * ● Flush setelah baris pertama (time-to-first-byte tidak tergantung jumlah baris), lalu setiap app.export.flush-rows baris
+     * ● Backpressure: write ke OutputStream blocking, jika client lambat write menunggu, dan baris berikutnya dari
+     *   database juga belum di baca
+     * ● Client putus: write melempar IOException, stream (result set) di tutup dan transaction read only selesai.
+     *   Dengan row streaming driver MySQL tetap membaca sisa baris saat result set di tutup (tanpa membuat object),
+     *   untuk export yang sangat besar lebih baik useCursorFetch supaya cursor di server langsung di tutup
+     */
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.export.flush-rows:1000}")
+    private int flushRows;
+
+    // return jumlah baris yang sudah di tulis, IOException jika client putus di tengah export
+    public long exportCategory(Category category, OutputStream output) throws IOException {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(output)) {
+            generator.setRootValueSeparator(null); // pemisah antar baris adalah '\n', bukan spasi
+            Long rows = transaction.execute(status -> {
+                try (Stream<Product> products = productRepository.streamAllByCategoryReadOnly(category)) {
+                    return write(generator, products.iterator());
+                } catch (IOException exception) {
+                    throw new UncheckedIOException(exception); // rollback transaction read only, lalu di lempar ulang di bawah
+                }
+            });
+            generator.flush();
+            return rows == null ? 0 : rows;
+        } catch (UncheckedIOException exception) {
+            log.info("export category {} aborted: {}", category.getId(), exception.getCause().getMessage());
+            throw exception.getCause();
+        }
+    }
+
+    private long write(JsonGenerator generator, Iterator<Product> products) throws IOException {
+        long rows = 0;
+        while (products.hasNext()) {
+            Product product = products.next();
+            generator.writeStartObject();
+            generator.writeNumberField("id", product.getId());
+            generator.writeStringField("name", product.getName());
+            if (product.getPrice() == null) {
+                generator.writeNullField("price");
+            } else {
+                generator.writeNumberField("price", product.getPrice());
+            }
+            generator.writeNumberField("categoryId", product.getCategory().getId()); // id dari reference, tanpa select
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+
+            rows++;
+            if (rows == 1 || rows % flushRows == 0) {
+                generator.flush();
+            }
+        }
+        return rows;
+    }
+
+}
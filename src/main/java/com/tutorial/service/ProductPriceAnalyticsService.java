@@ -0,0 +1,201 @@
+package com.tutorial.service;
+
+import com.tutorial.analytics.PriceSketch;
+import com.tutorial.entity.Category;
+import com.tutorial.entity.CategoryPriceSketch;
+import com.tutorial.model.ProductPrice;
+import com.tutorial.repository.CategoryPriceSketchRepository;
+import com.tutorial.repository.ProductRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static com.tutorial.repository.ProductSpecifications.categoryIdEquals;
+import static com.tutorial.repository.ProductSpecifications.idBetween;
+
+@Slf4j
+@Service
+public class ProductPriceAnalyticsService {
+
+    /**
+     * Analitik harga per category (p50 / p95 / p99 dan jumlah nama berbeda) dengan memory tetap
+     * ● Membaca product lewat projection stream ProductPrice (tanpa entity), setiap baris masuk ke PriceSketch
+     *   (KllSketch + HyperLogLog), jadi memory tidak tergantung jumlah baris
+     * ● Category besar di bagi menjadi beberapa range id, setiap range di baca worker sendiri (transaction read only
+     *   dan connection sendiri), sketch per worker lalu di merge. Jumlah worker dari jumlah product yang di simpan
+     *   (countMaintainedByCategoryId / app.analytics.rows-per-worker), maksimal app.analytics.workers
+     * ● refreshCategory: sketch di simpan (CategoryPriceSketch), berikutnya hanya product dengan id > lastProductId
+     *   yang di baca lalu di merge
+     * ● Id hi/lo tidak berurutan sesuai commit: product dengan id <= lastProductId bisa commit setelah refresh. Setelah
+     *   merge jumlah di sketch di cocokkan dengan jumlah yang di simpan trigger (countMaintainedByCategoryId), jika beda
+     *   (product terlambat commit atau di hapus) sketch di bangun ulang. Product yang terlewat ikut di hitung paling
+     *   lambat di refresh berikutnya
+     * ● Perubahan harga tidak mengubah jumlah, jadi tetap tidak terlihat oleh refresh, jalankan rebuildCategory berkala
+     * ● Hasil adalah perkiraan: error rank quantile sekitar 1.7 / app.analytics.kll-k, error jumlah nama berbeda
+     *   sekitar 1.04 / sqrt(2^app.analytics.hll-precision)
+     */
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryPriceSketchRepository categoryPriceSketchRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.analytics.workers:4}")
+    private int workers;
+
+    @Value("${app.analytics.rows-per-worker:250000}")
+    private long rowsPerWorker;
+
+    @Value("${app.analytics.kll-k:200}")
+    private int kllK;
+
+    @Value("${app.analytics.hll-precision:14}")
+    private int hllPrecision;
+
+    private final AtomicInteger workerNumber = new AtomicInteger();
+
+    public PriceSketch newSketch() {
+        return new PriceSketch(kllK, hllPrecision);
+    }
+
+    // stream apa saja (misal stream(Specification, Sort, ProductPrice.class)), stream di tutup oleh pemanggil
+    public PriceSketch sketch(Stream<ProductPrice> products) {
+        PriceSketch sketch = newSketch();
+        products.forEach(sketch::add);
+        return sketch;
+    }
+
+    // semua product category, tanpa menyimpan
+    public PriceSketch sketchCategory(Category category) {
+        return sketchCategory(category.getId(), 0);
+    }
+
+    // lanjutkan sketch yang di simpan dengan product baru, lalu simpan lagi
+    public PriceSketch refreshCategory(Category category) {
+        CategoryPriceSketch row = categoryPriceSketchRepository.findById(category.getId()).orElse(null);
+        if (row == null) {
+            return rebuildCategory(category);
+        }
+        PriceSketch saved;
+        try {
+            saved = PriceSketch.fromBytes(row.getSketch());
+            saved.merge(sketchCategory(category.getId(), saved.lastProductId()));
+        } catch (IllegalArgumentException exception) {
+            // format lama / rusak, atau kll-k / hll-precision sudah di ubah sejak sketch di simpan
+            log.info("price sketch category {} cannot be continued, rebuild: {}", category.getId(), exception.getMessage());
+            return rebuildCategory(category);
+        }
+        long expected = productRepository.countMaintainedByCategoryId(category.getId());
+        if (saved.count() != expected) {
+            log.info("price sketch category {} has {} rows, category has {} products, rebuild", category.getId(),
+                    saved.count(), expected);
+            return rebuildCategory(category);
+        }
+        return save(category.getId(), saved);
+    }
+
+    // bangun ulang dari semua product (membuang product yang sudah di hapus / harga lama), lalu simpan
+    public PriceSketch rebuildCategory(Category category) {
+        return save(category.getId(), sketchCategory(category.getId(), 0));
+    }
+
+    private PriceSketch save(Long categoryId, PriceSketch sketch) {
+        categoryPriceSketchRepository.save(new CategoryPriceSketch(categoryId, sketch.toBytes(), sketch.lastProductId(), null));
+        return sketch;
+    }
+
+    // product category dengan id > afterId, di bagi per range id ke beberapa worker
+    private PriceSketch sketchCategory(Long categoryId, long afterId) {
+        long start = System.nanoTime();
+        Map<String, Object> range = jdbcTemplate.queryForMap(
+                "SELECT MIN(id) AS min_id, MAX(id) AS max_id FROM products WHERE category_id = ? AND id > ?", categoryId, afterId);
+        if (!(range.get("min_id") instanceof Number minId) || !(range.get("max_id") instanceof Number maxId)) {
+            return newSketch(); // tidak ada product baru
+        }
+
+        // perkiraan ukuran: jumlah product category, tidak lebih dari lebar range id (update incremental biasanya kecil)
+        long rows = Math.min(productRepository.countMaintainedByCategoryId(categoryId), maxId.longValue() - minId.longValue() + 1);
+        int parallelism = (int) Math.max(1, Math.min(workers, rows / Math.max(1, rowsPerWorker)));
+        List<long[]> ranges = split(minId.longValue(), maxId.longValue(), parallelism);
+
+        PriceSketch result = ranges.size() == 1
+                ? sketchRange(categoryId, ranges.get(0)[0], ranges.get(0)[1])
+                : sketchRanges(categoryId, ranges);
+        log.info("price sketch category {} (id > {}): {} rows with {} workers in {} ms", categoryId, afterId, result.count(),
+                ranges.size(), (System.nanoTime() - start) / 1_000_000);
+        return result;
+    }
+
+    private PriceSketch sketchRanges(Long categoryId, List<long[]> ranges) {
+        ExecutorService executor = Executors.newFixedThreadPool(ranges.size(), runnable -> {
+            Thread thread = new Thread(runnable, "price-analytics-" + workerNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<PriceSketch>> futures = new ArrayList<>();
+            for (long[] range : ranges) {
+                futures.add(executor.submit(() -> sketchRange(categoryId, range[0], range[1])));
+            }
+            PriceSketch merged = newSketch();
+            for (Future<PriceSketch> future : futures) {
+                merged.merge(future.get());
+            }
+            return merged;
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Price sketch interrupted: category " + categoryId, exception);
+        } catch (ExecutionException exception) {
+            if (exception.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Price sketch failed: category " + categoryId, exception.getCause());
+        } finally {
+            executor.shutdownNow(); // worker lain berhenti jika satu gagal
+        }
+    }
+
+    private PriceSketch sketchRange(Long categoryId, long fromId, long toId) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        return transaction.execute(status -> {
+            try (Stream<ProductPrice> products = productRepository.stream(
+                    categoryIdEquals(categoryId).and(idBetween(fromId, toId)), Sort.unsorted(), ProductPrice.class)) {
+                return sketch(products);
+            }
+        });
+    }
+
+    // [from, to] di bagi menjadi parts range yang bersambung
+    private static List<long[]> split(long from, long to, int parts) {
+        List<long[]> ranges = new ArrayList<>();
+        long width = Math.max(1, (to - from + parts) / parts);
+        for (long start = from; start <= to; start += width) {
+            ranges.add(new long[]{start, Math.min(to, start + width - 1)});
+        }
+        return ranges;
+    }
+
+}
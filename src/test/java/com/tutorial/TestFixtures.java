@@ -0,0 +1,38 @@
+package com.tutorial;
+
+import com.tutorial.entity.Category;
+import com.tutorial.entity.Product;
+
+import java.util.UUID;
+
+public final class TestFixtures {
+
+    /**
+     * Fixture Test
+     * ● Test memakai database yang sama dan data nya tidak selalu di hapus, jadi nama category / product di beri
+     *   penanda run (acak per instance test) supaya query berdasarkan nama tidak tercampur data dari run lain
+     * ● Entity yang di buat belum di simpan, test sendiri yang memilih save, insertAllStateless atau upsert
+     */
+
+    private TestFixtures() {
+    }
+
+    public static String runId() {
+        return UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    public static Category category(String name) {
+        Category category = new Category();
+        category.setName(name);
+        return category;
+    }
+
+    public static Product product(String name, Long price, Category category) {
+        Product product = new Product();
+        product.setName(name);
+        product.setPrice(price);
+        product.setCategory(category);
+        return product;
+    }
+
+}
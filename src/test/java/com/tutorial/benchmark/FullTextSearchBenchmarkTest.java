@@ -0,0 +1,108 @@
+package com.tutorial.benchmark;
+
+import com.tutorial.entity.Category;
+import com.tutorial.entity.Product;
+import com.tutorial.repository.CategoryRepository;
+import com.tutorial.repository.CountMode;
+import com.tutorial.repository.CountedPage;
+import com.tutorial.repository.ProductRepository;
+import com.tutorial.service.BulkDeleteService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static com.tutorial.TestFixtures.category;
+import static com.tutorial.TestFixtures.product;
+import static com.tutorial.TestFixtures.runId;
+
+@Slf4j
+@Tag("benchmark") // tidak ikut mvn test, jalankan dengan mvn test -Pbenchmark
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.show_sql=false")
+public class FullTextSearchBenchmarkTest {
+
+    /**
+     * Benchmark Search
+     * ● LIKE: searchProduct(String, Pageable, CountMode) -> p.name LIKE '%x%' OR c.name LIKE '%x%' (full scan + join)
+     * ● FULLTEXT: searchFullText(String, Pageable) -> MATCH ... AGAINST dengan FULLTEXT index (lihat database.sql)
+     * ● Keduanya mencari set product yang sama (1 dari 10 product punya kata "promo"), halaman pertama + total,
+     *   rata-rata waktu per pencarian di log
+     * ● Butuh MySQL dengan ft_products_name dan ft_categories_name, jumlah baris bisa di ubah -Dbenchmark.search.rows
+     * ● Urutan relevance dan kata pendek di test di query/FullTextSearchTest
+     */
+
+    private static final int ROWS = Integer.getInteger("benchmark.search.rows", 100_000);
+
+    private static final int ITERATIONS = 20;
+
+    @Autowired
+    CategoryRepository categoryRepository;
+
+    @Autowired
+    ProductRepository productRepository;
+
+    @Autowired
+    BulkDeleteService bulkDeleteService;
+
+    String run = runId();
+
+    @BeforeEach
+    void setUp() {
+        List<Category> categories = new ArrayList<>();
+        for (String word : List.of("alat", "buku", "komik", "pensil", "tas")) {
+            categories.add(categoryRepository.save(category("FULLTEXT " + run + " " + word)));
+        }
+
+        List<Product> products = new ArrayList<>(10_000);
+        for (int i = 0; i < ROWS; i++) {
+            String name = i % 10 == 0 ? "fulltext " + run + " promo " + i : "fulltext " + run + " item " + i;
+            products.add(product(name, (long) i, categories.get(i % categories.size())));
+            if (products.size() == 10_000 || i == ROWS - 1) {
+                productRepository.insertAllStateless(products);
+                products.clear();
+            }
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        bulkDeleteService.deleteProductsByNameLike("fulltext " + run + " %");
+    }
+
+    @Test
+    void benchmarkLikeVersusFullText() {
+        Pageable pageable = PageRequest.of(0, 20);
+
+        CountedPage<Product> like = productRepository.searchProduct("%" + run + " promo%", pageable, CountMode.EXACT);
+        CountedPage<Product> fullText = productRepository.searchFullText(run + " promo", pageable);
+        Assertions.assertEquals(ROWS / 10, like.getTotalElements());
+        Assertions.assertEquals(like.getTotalElements(), fullText.getTotalElements());
+        Assertions.assertEquals(20, fullText.getNumberOfElements());
+        fullText.forEach(product -> Assertions.assertTrue(product.getName().contains(run + " promo ")));
+
+        long likeNanos = average(() -> productRepository.searchProduct("%" + run + " promo%", pageable, CountMode.EXACT));
+        long fullTextNanos = average(() -> productRepository.searchFullText(run + " promo", pageable));
+        log.info("search {} rows: LIKE {} ms, FULLTEXT {} ms per page + count", ROWS,
+                likeNanos / 1_000_000.0, fullTextNanos / 1_000_000.0);
+    }
+
+    private static long average(Supplier<?> search) {
+        search.get(); // pemanasan
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            search.get();
+        }
+        return (System.nanoTime() - start) / ITERATIONS;
+    }
+
+}
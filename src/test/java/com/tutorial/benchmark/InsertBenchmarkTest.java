@@ -0,0 +1,92 @@
+package com.tutorial.benchmark;
+
+import com.tutorial.entity.Category;
+import com.tutorial.repository.CategoryRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.tutorial.TestFixtures.category;
+
+@Slf4j
+@Tag("benchmark") // tidak ikut mvn test, jalankan dengan mvn test -Pbenchmark
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.show_sql=false"
+})
+public class InsertBenchmarkTest {
+
+    /**
+     * Benchmark Insert
+     * ● Sebelum: id IDENTITY, setiap save() langsung menjalankan INSERT satu per satu (batch size efektif = 1)
+     * ● Sesudah: id dari hi/lo allocator, INSERT di kumpulkan menjadi JDBC batch (hibernate.jdbc.batch_size)
+     * ● Kedua mode di jalankan di transaction yang di rollback, jadi data tidak tersimpan
+     */
+
+    private static final int ROWS = 10_000;
+
+    @Autowired
+    CategoryRepository categoryRepository;
+
+    @Autowired
+    EntityManager entityManager;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    TransactionOperations transactionOperations;
+
+    @Test
+    void benchmarkInsertCategories() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        insert(1, "row-by-row"); // pemanasan (JIT, pool connection, blok id pertama)
+
+        statistics.clear();
+        long rowByRowNanos = insert(1, "row-by-row");
+        long rowByRowStatements = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        long batchedNanos = insert(null, "batched"); // null = pakai hibernate.jdbc.batch_size
+        long batchedStatements = statistics.getPrepareStatementCount();
+
+        log.info("row-by-row: {} rows/s, {} statements", rowsPerSecond(rowByRowNanos), rowByRowStatements);
+        log.info("batched   : {} rows/s, {} statements", rowsPerSecond(batchedNanos), batchedStatements);
+
+        Assertions.assertTrue(batchedStatements < rowByRowStatements);
+    }
+
+    private long insert(Integer jdbcBatchSize, String label) {
+        List<Category> categories = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            categories.add(category("BENCH " + label + " " + i));
+        }
+
+        long start = System.nanoTime();
+        transactionOperations.executeWithoutResult(transactionStatus -> {
+            entityManager.unwrap(Session.class).setJdbcBatchSize(jdbcBatchSize);
+            categoryRepository.saveAll(categories);
+            entityManager.flush(); // pastikan semua INSERT terkirim sebelum di ukur
+            transactionStatus.setRollbackOnly();
+        });
+        return System.nanoTime() - start;
+    }
+
+    private long rowsPerSecond(long nanos) {
+        return ROWS * 1_000_000_000L / Math.max(nanos, 1);
+    }
+
+}
@@ -0,0 +1,131 @@
+package com.tutorial.benchmark;
+
+import com.tutorial.entity.Category;
+import com.tutorial.entity.Product;
+import com.tutorial.model.ProductPrice;
+import com.tutorial.model.ProductPriceColumns;
+import com.tutorial.model.SimpleProduct;
+import com.tutorial.repository.CategoryRepository;
+import com.tutorial.repository.ProductRepository;
+import com.tutorial.service.BulkDeleteService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+import static com.tutorial.TestFixtures.category;
+import static com.tutorial.TestFixtures.product;
+import static com.tutorial.TestFixtures.runId;
+
+@Slf4j
+@Tag("benchmark") // tidak ikut mvn test, jalankan dengan mvn test -Pbenchmark
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.show_sql=false",
+        "app.result-limit.max-rows.ProductRepository.findAllByNameLike=0"
+})
+public class ProjectionBenchmarkTest {
+
+    /**
+     * Benchmark Projection
+     * ● findAllByNameLike(name, ProductPrice.class) (record), findAllByNameLike(name, SimpleProduct.class) (interface / proxy)
+     *   dan findPriceColumnsByNameLike(name) (columnar) untuk 500.000 product (atau -Dbenchmark.projection.rows)
+     * ● Di catat: waktu query sampai hasil siap, heap yang di tahan hasil nya (heap setelah GC selama hasil masih di
+     *   pegang, di kurangi heap sebelum query) dan waktu menjumlah semua harga
+     * ● Yang di cek hanya hasil (jumlah baris dan total harga), heap dan waktu hanya di log: angka heap setelah System.gc()
+     *   tergantung JVM dan GC, jadi tidak di jadikan assertion
+     */
+
+    private static final int ROWS = Integer.getInteger("benchmark.projection.rows", 500_000);
+
+    @Autowired
+    CategoryRepository categoryRepository;
+
+    @Autowired
+    ProductRepository productRepository;
+
+    @Autowired
+    BulkDeleteService bulkDeleteService;
+
+    String run = runId();
+
+    String pattern;
+
+    private record Measurement(String label, int rows, long sum, long queryMillis, long retainedBytes, long sumMicros) {
+    }
+
+    @BeforeEach
+    void setUp() {
+        Category category = categoryRepository.save(category("PROJECTION " + run));
+
+        List<Product> products = new ArrayList<>(10_000);
+        for (int i = 0; i < ROWS; i++) {
+            products.add(product("projection " + run + " " + i, (long) i, category));
+            if (products.size() == 10_000 || i == ROWS - 1) {
+                productRepository.insertAllStateless(products);
+                products.clear();
+            }
+        }
+        pattern = "projection " + run + " %";
+    }
+
+    @AfterEach
+    void tearDown() {
+        bulkDeleteService.deleteProductsByNameLike(pattern);
+    }
+
+    @Test
+    void benchmarkProjections() {
+        // pemanasan (JIT, pool connection) sebelum di ukur
+        productRepository.findAllByNameLike(pattern, ProductPrice.class);
+        productRepository.findAllByNameLike(pattern, SimpleProduct.class);
+        productRepository.findPriceColumnsByNameLike(pattern);
+
+        Measurement records = measure("record", () -> productRepository.findAllByNameLike(pattern, ProductPrice.class),
+                List::size, rows -> rows.stream().mapToLong(ProductPrice::price).sum());
+        Measurement interfaces = measure("interface", () -> productRepository.findAllByNameLike(pattern, SimpleProduct.class),
+                List::size, rows -> rows.stream().mapToLong(SimpleProduct::getPrice).sum());
+        Measurement columns = measure("columnar", () -> productRepository.findPriceColumnsByNameLike(pattern),
+                ProductPriceColumns::size, ProductPriceColumns::sumPrice);
+
+        for (Measurement measurement : List.of(records, interfaces, columns)) {
+            log.info("{}: {} rows, query {} ms, retained {} MB ({} bytes/row), sum {} us", measurement.label(), measurement.rows(),
+                    measurement.queryMillis(), measurement.retainedBytes() / (1024 * 1024),
+                    measurement.retainedBytes() / Math.max(1, measurement.rows()), measurement.sumMicros());
+        }
+
+        long expectedSum = (long) ROWS * (ROWS - 1) / 2;
+        for (Measurement measurement : List.of(records, interfaces, columns)) {
+            Assertions.assertEquals(ROWS, measurement.rows(), measurement.label());
+            Assertions.assertEquals(expectedSum, measurement.sum(), measurement.label());
+        }
+    }
+
+    private <R> Measurement measure(String label, Supplier<R> query, ToLongFunction<R> size, ToLongFunction<R> sumPrice) {
+        long before = usedHeapAfterGc();
+        long start = System.nanoTime();
+        R result = query.get();
+        long queryMillis = (System.nanoTime() - start) / 1_000_000;
+        long retained = usedHeapAfterGc() - before;
+
+        start = System.nanoTime();
+        long sum = sumPrice.applyAsLong(result);
+        long sumMicros = (System.nanoTime() - start) / 1_000;
+        return new Measurement(label, (int) size.applyAsLong(result), sum, queryMillis, retained, sumMicros);
+    }
+
+    private static long usedHeapAfterGc() {
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+}
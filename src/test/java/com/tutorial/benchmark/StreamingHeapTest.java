@@ -0,0 +1,125 @@
+package com.tutorial.benchmark;
+
+import com.tutorial.entity.Category;
+import com.tutorial.entity.Product;
+import com.tutorial.repository.CategoryRepository;
+import com.tutorial.repository.ProductRepository;
+import com.tutorial.service.BulkDeleteService;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static com.tutorial.TestFixtures.category;
+import static com.tutorial.TestFixtures.product;
+import static com.tutorial.TestFixtures.runId;
+
+@Slf4j
+@Tag("benchmark") // tidak ikut mvn test, jalankan dengan mvn test -Pbenchmark
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.show_sql=false")
+public class StreamingHeapTest {
+
+    /**
+     * Benchmark Streaming
+     * ● streamAllByCategoryReadOnly membaca 1 juta product (atau -Dbenchmark.stream.rows) dengan row streaming,
+     *   hint read only dan detach per baris
+     * ● Heap setelah GC di catat setiap 100.000 baris, selisih nya harus tetap kecil (datar), dan jumlah entity
+     *   di persistence context tidak ikut naik
+     */
+
+    private static final int ROWS = Integer.getInteger("benchmark.stream.rows", 1_000_000);
+
+    private static final int SAMPLE_EVERY = Math.max(1, ROWS / 10);
+
+    @Autowired
+    CategoryRepository categoryRepository;
+
+    @Autowired
+    ProductRepository productRepository;
+
+    @Autowired
+    BulkDeleteService bulkDeleteService;
+
+    @Autowired
+    EntityManager entityManager;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    String run = runId();
+
+    Category category;
+
+    @BeforeEach
+    void setUp() {
+        category = categoryRepository.save(category("STREAM " + run));
+
+        List<Product> products = new ArrayList<>(10_000);
+        for (int i = 0; i < ROWS; i++) {
+            products.add(product("stream " + run + " " + i, (long) i, category));
+            if (products.size() == 10_000 || i == ROWS - 1) {
+                productRepository.insertAllStateless(products);
+                products.clear();
+            }
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        bulkDeleteService.deleteProductsByNameLike("stream " + run + " %");
+    }
+
+    @Test
+    void benchmarkStreamHeap() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+
+        List<Long> heapSamples = new ArrayList<>();
+        List<Integer> managedSamples = new ArrayList<>();
+        long[] rows = {0};
+        long start = System.nanoTime();
+        transaction.executeWithoutResult(status -> {
+            Session session = entityManager.unwrap(Session.class);
+            try (Stream<Product> stream = productRepository.streamAllByCategoryReadOnly(category)) {
+                stream.forEach(product -> {
+                    rows[0]++;
+                    if (rows[0] % SAMPLE_EVERY == 0) {
+                        heapSamples.add(usedHeapAfterGc());
+                        managedSamples.add(session.getStatistics().getEntityCount());
+                    }
+                });
+            }
+        });
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        long minHeap = heapSamples.stream().mapToLong(Long::longValue).min().orElse(0);
+        long maxHeap = heapSamples.stream().mapToLong(Long::longValue).max().orElse(0);
+        log.info("stream {} rows in {} ms, heap after GC min {} MB max {} MB, managed entities {}", rows[0], elapsedMillis,
+                minHeap / (1024 * 1024), maxHeap / (1024 * 1024), managedSamples);
+
+        Assertions.assertEquals(ROWS, rows[0]);
+        Assertions.assertTrue(maxHeap - minHeap < 64L * 1024 * 1024, "heap grew while streaming");
+        for (int managed : managedSamples) {
+            Assertions.assertTrue(managed <= 2, "persistence context grew while streaming: " + managed);
+        }
+    }
+
+    private static long usedHeapAfterGc() {
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+}
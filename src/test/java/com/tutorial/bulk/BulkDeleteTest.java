@@ -0,0 +1,101 @@
+package com.tutorial.bulk;
+
+import com.tutorial.entity.Category;
+import com.tutorial.entity.Product;
+import com.tutorial.model.BulkResult;
+import com.tutorial.repository.CategoryRepository;
+import com.tutorial.repository.ProductRepository;
+import com.tutorial.service.BulkDeleteService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static com.tutorial.TestFixtures.category;
+import static com.tutorial.TestFixtures.product;
+import static com.tutorial.TestFixtures.runId;
+
+@Slf4j
+@SpringBootTest
+public class BulkDeleteTest {
+
+    /**
+     * Bulk Delete per Chunk
+     * ● BulkDeleteService menghapus dengan DELETE ... LIMIT berulang, satu transaction pendek per chunk
+     */
+
+    @Autowired
+    BulkDeleteService bulkDeleteService;
+
+    @Autowired
+    CategoryRepository categoryRepository;
+
+    @Autowired
+    ProductRepository productRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    String run = runId();
+
+    @Test
+    void testDeleteByNameLikeInChunks() {
+        Category category = categoryRepository.save(category("DELETE " + run));
+
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < 2_500; i++) {
+            products.add(product("delete " + run + " " + i, 1_000L, category));
+        }
+        productRepository.insertAllStateless(products);
+
+        List<BulkResult> progress = new ArrayList<>();
+        BulkResult result = bulkDeleteService.deleteProductsByNameLike("delete " + run + " %", progress::add);
+
+        log.info("rows: {}, rows/s: {}", result.rows(), result.rowsPerSecond());
+        Assertions.assertEquals(2_500, result.rows());
+        Assertions.assertEquals(3, progress.size()); // 1000 + 1000 + 500 (chunk terakhir tidak penuh, loop berhenti)
+        Assertions.assertEquals(0, productRepository.countByCategory_Name(category.getName()));
+    }
+
+    @Test
+    void testDeleteByNameInChunks() {
+        Category category = categoryRepository.save(category("DELETE POPULER " + run));
+
+        // nama populer: 2.500 product dengan nama yang sama, plus satu product lain yang tidak boleh ikut terhapus
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i <= 2_500; i++) {
+            products.add(product(i < 2_500 ? "populer " + run : "lain " + run, 1_000L, category));
+        }
+        productRepository.insertAllStateless(products);
+
+        List<BulkResult> progress = new ArrayList<>();
+        BulkResult result = bulkDeleteService.deleteProductsByName("populer " + run, progress::add);
+
+        log.info("rows: {}, rows/s: {}", result.rows(), result.rowsPerSecond());
+        Assertions.assertEquals(2_500, result.rows());
+        Assertions.assertEquals(List.of(1_000L, 2_000L, 2_500L), progress.stream().map(BulkResult::rows).toList());
+        Assertions.assertFalse(productRepository.existsByName("populer " + run));
+        Assertions.assertEquals(1, productRepository.countByCategory_Name(category.getName()));
+
+        Assertions.assertEquals(0, bulkDeleteService.deleteProductsByName("tidak ada " + run).rows());
+    }
+
+    @Test
+    void testDeleteByNameUsesIndex() {
+        // chunk DELETE ... WHERE name = ? ORDER BY id LIMIT n harus lewat idx_products_name, bukan scan PRIMARY
+        String database = jdbcTemplate.execute((ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        Assumptions.assumeTrue("MySQL".equals(database), "EXPLAIN MySQL");
+        List<Map<String, Object>> plan = jdbcTemplate.queryForList(
+                "EXPLAIN DELETE FROM products WHERE name = ? ORDER BY id LIMIT 1000", "populer " + run);
+        Assertions.assertEquals("idx_products_name", plan.get(0).get("key"));
+    }
+
+}
@@ -0,0 +1,63 @@
+package com.tutorial.bulk;
+
+import com.tutorial.model.BulkResult;
+import com.tutorial.model.ProductRow;
+import com.tutorial.repository.CategoryRepository;
+import com.tutorial.repository.ProductRepository;
+import com.tutorial.service.BulkIngestService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static com.tutorial.TestFixtures.runId;
+
+@Slf4j
+@SpringBootTest
+public class BulkIngestTest {
+
+    /**
+     * Bulk Ingest
+     * ● BulkIngestService memproses input per batch: persist, flush (JDBC batch), clear persistence context
+     * ● Nama category di resolve ke id sekali per batch, category yang belum ada otomatis di buat
+     */
+
+    @Autowired
+    BulkIngestService bulkIngestService;
+
+    @Autowired
+    CategoryRepository categoryRepository;
+
+    @Autowired
+    ProductRepository productRepository;
+
+    // setiap run memakai nama berbeda, supaya hitungan berdasarkan nama tidak tercampur data run sebelumnya
+    String run = runId();
+
+    @Test
+    void testIngestCategories() {
+        BulkResult result = bulkIngestService.ingestCategories(Stream.of("INGEST " + run + " A", "INGEST " + run + " B", "INGEST " + run + " A"));
+
+        Assertions.assertEquals(2, result.rows()); // nama yang sama hanya di insert sekali
+        Assertions.assertTrue(categoryRepository.findFirstByNameEquals("INGEST " + run + " A").isPresent());
+        Assertions.assertTrue(categoryRepository.findFirstByNameEquals("INGEST " + run + " B").isPresent());
+    }
+
+    @Test
+    void testIngestProducts() {
+        BulkResult result = bulkIngestService.ingestProducts(IntStream.range(0, 1_000)
+                .mapToObj(i -> new ProductRow("ingest " + run + " " + i, 1_000L * i, "INGEST " + run + " " + (i % 5))));
+
+        log.info("rows: {}, rows/s: {}", result.rows(), result.rowsPerSecond());
+        Assertions.assertEquals(1_000, result.rows());
+        // category di buat saat ingest, 200 product per category
+        for (int i = 0; i < 5; i++) {
+            Assertions.assertEquals(200, productRepository.countByCategory_Name("INGEST " + run + " " + i));
+        }
+    }
+
+}
@@ -0,0 +1,98 @@
+package com.tutorial.bulk;
+
+import com.tutorial.entity.Category;
+import com.tutorial.entity.Product;
+import com.tutorial.repository.CategoryRepository;
+import com.tutorial.repository.ProductRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.tutorial.TestFixtures.category;
+import static com.tutorial.TestFixtures.product;
+import static com.tutorial.TestFixtures.runId;
+
+@SpringBootTest
+public class PriceUpdateTest {
+
+    /**
+     * Bulk Update Harga
+     * ● addPriceByCategory / adjustPriceByCategoryPercent: satu UPDATE untuk semua product di category
+     * ● updatePrices: harga berbeda per id dengan UPDATE ... CASE per chunk
+     */
+
+    @Autowired
+    CategoryRepository categoryRepository;
+
+    @Autowired
+    ProductRepository productRepository;
+
+    Category category;
+
+    List<Product> products;
+
+    @BeforeEach
+    void setUp() {
+        String run = runId();
+        category = categoryRepository.save(category("PRICE " + run));
+
+        products = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            products.add(product("price " + run + " " + i, 10_000L, category));
+        }
+        productRepository.insertAllStateless(products);
+    }
+
+    @Test
+    void testAddPriceAndPercent() {
+        Assertions.assertEquals(5_000, productRepository.addPriceByCategory(category.getId(), 500L));
+        Assertions.assertEquals(10_500L, price(products.get(0)));
+
+        Assertions.assertEquals(5_000, productRepository.adjustPriceByCategoryPercent(category.getId(), new BigDecimal("5")));
+        Assertions.assertEquals(11_025L, price(products.get(4_999))); // 10500 + 5%
+
+        productRepository.adjustPriceByCategoryPercent(category.getId(), new BigDecimal("-20"));
+        Assertions.assertEquals(8_820L, price(products.get(1))); // diskon 20%
+    }
+
+    @Test
+    void testUpdatePricesById() {
+        Map<Long, Long> prices = new HashMap<>();
+        for (int i = 0; i < products.size(); i++) {
+            prices.put(products.get(i).getId(), 1_000L + i);
+        }
+
+        Assertions.assertEquals(5_000, productRepository.updatePrices(prices));
+        Assertions.assertEquals(1_000L, price(products.get(0)));
+        Assertions.assertEquals(5_999L, price(products.get(4_999)));
+    }
+
+    @Test
+    void testUpdatePricesRejectsNull() {
+        Map<Long, Long> prices = new HashMap<>();
+        for (int i = 0; i < products.size(); i++) {
+            prices.put(products.get(i).getId(), i == 2_500 ? null : 1_000L + i);
+        }
+
+        // IllegalArgumentException dari fragment di terjemahkan proxy repository
+        InvalidDataAccessApiUsageException exception = Assertions.assertThrows(InvalidDataAccessApiUsageException.class,
+                () -> productRepository.updatePrices(prices));
+        Assertions.assertInstanceOf(IllegalArgumentException.class, exception.getCause());
+        Assertions.assertEquals(10_000L, price(products.get(0))); // tidak ada chunk yang sudah jalan
+        Assertions.assertEquals(10_000L, price(products.get(4_999)));
+    }
+
+    private Long price(Product product) {
+        return productRepository.findById(product.getId()).map(Product::getPrice).orElse(null);
+    }
+
+}
@@ -0,0 +1,167 @@
+package com.tutorial.bulk;
+
+import com.tutorial.entity.Category;
+import com.tutorial.importer.ProductFeedFormat;
+import com.tutorial.importer.ProductFeedImporter;
+import com.tutorial.model.BulkResult;
+import com.tutorial.repository.CategoryRepository;
+import com.tutorial.repository.ProductRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static com.tutorial.TestFixtures.category;
+import static com.tutorial.TestFixtures.runId;
+
+@Slf4j
+@SpringBootTest(properties = {
+        "app.import.load-data-enabled=true",
+        "spring.datasource.hikari.data-source-properties.allowLoadLocalInfile=true"
+})
+public class ProductFeedImportTest {
+
+    /**
+     * Streaming Import Feed
+     * ● ProductFeedImporter membaca file dengan memory-mapped window, parse per byte,
+     *   lalu mengirim batch lewat bounded queue ke thread writer (JDBC batch insert)
+     * ● LOAD DATA menolak file yang akan di baca MySQL berbeda dari parser aplikasi, sebelum ada id yang di pesan,
+     *   dan rollback jika jumlah baris yang di load berbeda (test LOAD DATA butuh MySQL dengan local_infile=ON)
+     */
+
+    @Autowired
+    ProductFeedImporter productFeedImporter;
+
+    @Autowired
+    CategoryRepository categoryRepository;
+
+    @Autowired
+    ProductRepository productRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @TempDir
+    Path directory;
+
+    // setiap run memakai nama berbeda, supaya hitungan berdasarkan nama tidak tercampur data run sebelumnya
+    String run = runId();
+
+    @Test
+    void testImportCsv() throws IOException {
+        Category category = categoryRepository.save(category("FEED CSV " + run));
+
+        Path file = directory.resolve("products.csv");
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("name,price,category_id\n");
+            writer.write("\"buku, \"\"edisi\"\" khusus " + run + "\"," + 50_000 + "," + category.getId() + "\r\n"); // field dengan koma dan kutip
+            for (int i = 1; i < 2_500; i++) {
+                writer.write("feed csv " + run + " " + i + "," + (1_000L * i) + "," + category.getId() + "\n");
+            }
+        }
+
+        BulkResult result = productFeedImporter.importFeed(file, ProductFeedFormat.CSV);
+
+        log.info("rows: {}, rows/s: {}", result.rows(), result.rowsPerSecond());
+        Assertions.assertEquals(2_500, result.rows());
+        Assertions.assertEquals(2_500, productRepository.findAllByCategory(category, PageRequest.of(0, 5_000)).getNumberOfElements());
+        Assertions.assertFalse(productRepository.searchProductUsingName("buku, \"edisi\" khusus " + run).isEmpty());
+    }
+
+    @Test
+    void testImportNdjson() throws IOException {
+        Category category = categoryRepository.save(category("FEED NDJSON " + run));
+
+        Path file = directory.resolve("products.ndjson");
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("{\"name\": \"pensil \\\"2B\\\" \\u00e9 " + run + "\", \"price\": 3000, \"categoryId\": " + category.getId() + "}\n");
+            for (int i = 1; i < 1_500; i++) {
+                writer.write("{\"categoryId\":" + category.getId() + ",\"name\":\"feed json " + run + " " + i + "\",\"price\":" + i + ",\"extra\":null}\n");
+            }
+        }
+
+        BulkResult result = productFeedImporter.importFeed(file, ProductFeedFormat.NDJSON);
+
+        Assertions.assertEquals(1_500, result.rows());
+        Assertions.assertFalse(productRepository.searchProductUsingName("pensil \"2B\" \u00e9 " + run).isEmpty());
+    }
+
+    @Test
+    void testImportInvalidLine() throws IOException {
+        Category category = categoryRepository.save(category("FEED INVALID " + run));
+
+        Path file = directory.resolve("invalid.csv");
+        Files.writeString(file, "name,price,category_id\nok " + run + ",1000," + category.getId() + "\nrusak,abc," + category.getId() + "\n");
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> productFeedImporter.importFeed(file, ProductFeedFormat.CSV));
+    }
+
+    @Test
+    void testLoadDataRejectsAmbiguousFile() throws IOException {
+        Category category = categoryRepository.save(category("FEED LOAD DATA " + run));
+
+        // baris kosong: parser aplikasi melewati nya, MySQL menjadikan nya baris
+        Path blank = directory.resolve("blank.csv");
+        Files.writeString(blank, "name,price,category_id\na " + run + ",1000," + category.getId() + "\n\nb " + run + ",1000," + category.getId() + "\n");
+        Assertions.assertThrows(IllegalArgumentException.class, () -> productFeedImporter.loadDataInfile(blank));
+
+        // \n dan \r\n di file yang sama: LINES TERMINATED BY hanya bisa satu
+        Path mixed = directory.resolve("mixed.csv");
+        Files.writeString(mixed, "name,price,category_id\r\na " + run + ",1000," + category.getId() + "\nb " + run + ",1000," + category.getId() + "\r\n");
+        Assertions.assertThrows(IllegalArgumentException.class, () -> productFeedImporter.loadDataInfile(mixed));
+
+        Assertions.assertEquals(0, productRepository.countByCategory_Name(category.getName()));
+    }
+
+    @Test
+    void testLoadData() throws IOException {
+        assumeLocalInfile();
+        Category category = categoryRepository.save(category("FEED LOAD DATA OK " + run));
+
+        Path file = directory.resolve("load.csv");
+        Files.writeString(file, "name,price,category_id\r\n" +
+                "\"buku, \"\"edisi\"\" " + run + "\",50000," + category.getId() + "\r\n" + // koma dan kutip di dalam field
+                "pensil \\ " + run + ",1000," + category.getId() + "\r\n" + // backslash bukan escape
+                "tas " + run + ",2000," + category.getId() + "\r\n");
+
+        Assertions.assertEquals(3, productFeedImporter.loadDataInfile(file).rows());
+        Assertions.assertEquals(3, productRepository.countByCategory_Name(category.getName()));
+        Assertions.assertTrue(productRepository.findFirstByName("buku, \"edisi\" " + run).isPresent());
+        Assertions.assertTrue(productRepository.findFirstByName("pensil \\ " + run).isPresent());
+    }
+
+    @Test
+    void testLoadDataRollsBackOnCountMismatch() throws IOException {
+        assumeLocalInfile();
+        Category category = categoryRepository.save(category("FEED LOAD DATA MISMATCH " + run));
+
+        // category_id 0 tidak ada: LOCAL berlaku seperti IGNORE, MySQL melewati baris nya (warning), parser menghitung nya
+        Path file = directory.resolve("mismatch.csv");
+        Files.writeString(file, "name,price,category_id\n" +
+                "a " + run + ",1000," + category.getId() + "\n" +
+                "b " + run + ",1000,0\n" +
+                "c " + run + ",1000," + category.getId() + "\n");
+
+        Assertions.assertThrows(IllegalStateException.class, () -> productFeedImporter.loadDataInfile(file));
+        Assertions.assertEquals(0, productRepository.countByCategory_Name(category.getName())); // baris yang ter-load ikut rollback
+    }
+
+    private void assumeLocalInfile() {
+        String database = jdbcTemplate.execute((ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        Assumptions.assumeTrue("MySQL".equals(database), "LOAD DATA MySQL");
+        Assumptions.assumeTrue(Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT @@local_infile = 1", Boolean.class)), "local_infile=ON");
+    }
+
+}
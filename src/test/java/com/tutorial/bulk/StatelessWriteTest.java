@@ -0,0 +1,65 @@
+package com.tutorial.bulk;
+
+import com.tutorial.entity.Category;
+import com.tutorial.entity.Product;
+import com.tutorial.repository.CategoryRepository;
+import com.tutorial.repository.ProductRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.tutorial.TestFixtures.category;
+import static com.tutorial.TestFixtures.product;
+import static com.tutorial.TestFixtures.runId;
+
+@SpringBootTest
+public class StatelessWriteTest {
+
+    /**
+     * Stateless Write
+     * ● insertAllStateless / updateAllStateless menulis entity lewat Hibernate StatelessSession,
+     *   tanpa persistence context dan tanpa dirty checking
+     * ● Audit Category tetap terisi karena AuditingHandler di panggil secara eksplisit
+     */
+
+    @Autowired
+    CategoryRepository categoryRepository;
+
+    @Autowired
+    ProductRepository productRepository;
+
+    // setiap run memakai nama berbeda, supaya hitungan berdasarkan nama tidak tercampur data run sebelumnya
+    String run = runId();
+
+    @Test
+    void testInsertAndUpdateStateless() {
+        Category category = category("STATELESS " + run);
+        categoryRepository.insertAllStateless(List.of(category));
+
+        Assertions.assertNotNull(category.getId());
+        Assertions.assertNotNull(category.getCreateDate()); // di isi hook audit, bukan AuditingEntityListener
+        Assertions.assertNotNull(category.getLastModifiedDate());
+
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            products.add(product("stateless " + run + " " + i, 10_000L, category));
+        }
+        Assertions.assertEquals(500, productRepository.insertAllStateless(products));
+        Assertions.assertEquals(500, productRepository.findAllByCategory(category, PageRequest.of(0, 1_000)).getNumberOfElements());
+
+        for (Product product : products) {
+            product.setPrice(12_500L);
+        }
+        Assertions.assertEquals(500, productRepository.updateAllStateless(products));
+
+        Product product = productRepository.findById(products.get(0).getId()).orElse(null);
+        Assertions.assertNotNull(product);
+        Assertions.assertEquals(12_500L, product.getPrice());
+    }
+
+}
@@ -0,0 +1,119 @@
+package com.tutorial.bulk;
+
+import com.tutorial.entity.Category;
+import com.tutorial.entity.Product;
+import com.tutorial.repository.CategoryRepository;
+import com.tutorial.repository.ProductRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.tutorial.TestFixtures.category;
+import static com.tutorial.TestFixtures.product;
+import static com.tutorial.TestFixtures.runId;
+
+@SpringBootTest
+public class UpsertTest {
+
+    /**
+     * Upsert
+     * ● upsertAllByExternalId menulis baris dengan INSERT ... ON DUPLICATE KEY UPDATE (unique key external_id)
+     * ● External id yang belum ada di insert, yang sudah ada di update, tanpa select terlebih dahulu
+     * ● Name bukan kunci, product berbeda boleh punya nama yang sama
+     */
+
+    @Autowired
+    CategoryRepository categoryRepository;
+
+    @Autowired
+    ProductRepository productRepository;
+
+    String run = runId();
+
+    @Test
+    void testUpsertCategories() {
+        Assertions.assertEquals(2_000, categoryRepository.upsertAllByExternalId(categories(0, 2_000)));
+        Category first = categoryRepository.findFirstByNameEquals("UPSERT " + run + " 0").orElse(null);
+        Assertions.assertNotNull(first);
+        Assertions.assertNotNull(first.getCreateDate());
+
+        // 1000 external id lama (update) + 1000 external id baru (insert)
+        Assertions.assertEquals(2_000, categoryRepository.upsertAllByExternalId(categories(1_000, 3_000)));
+        Assertions.assertEquals(3_000, categoryRepository.findAllByNameLike("UPSERT " + run + " %").size());
+
+        // id baris yang sudah ada tidak berubah
+        Assertions.assertEquals(first.getId(), categoryRepository.findFirstByNameEquals("UPSERT " + run + " 0").map(Category::getId).orElse(null));
+    }
+
+    @Test
+    void testUpsertProducts() {
+        Category category = categoryRepository.save(category("UPSERT PRODUCT " + run));
+
+        Assertions.assertEquals(1_500, productRepository.upsertAllByExternalId(products(category, 1_500, 10_000L)));
+        Product before = productRepository.searchProductUsingName("upsert " + run + " 7").get(0);
+
+        Assertions.assertEquals(1_500, productRepository.upsertAllByExternalId(products(category, 1_500, 20_000L)));
+        List<Product> after = productRepository.searchProductUsingName("upsert " + run + " 7");
+        Assertions.assertEquals(1, after.size()); // tidak ada baris duplikat
+        Assertions.assertEquals(before.getId(), after.get(0).getId()); // id lama tetap
+        Assertions.assertEquals(20_000L, after.get(0).getPrice());
+        Assertions.assertEquals(1_500, productRepository.countByCategory_Name(category.getName()));
+    }
+
+    @Test
+    void testUpsertProductsWithSameName() {
+        Category category = categoryRepository.save(category("UPSERT SAME NAME " + run));
+
+        // nama sama, external id berbeda: dua product
+        List<Product> products = products(category, 2, 10_000L);
+        products.forEach(product -> product.setName("upsert populer " + run));
+        Assertions.assertEquals(2, productRepository.upsertAllByExternalId(products));
+        Assertions.assertEquals(2, productRepository.searchProductUsingName("upsert populer " + run).size());
+
+        // rename lewat external id yang sama
+        products.get(0).setName("upsert rename " + run);
+        productRepository.upsertAllByExternalId(products.subList(0, 1));
+        Assertions.assertEquals(1, productRepository.searchProductUsingName("upsert populer " + run).size());
+        Assertions.assertEquals(1, productRepository.searchProductUsingName("upsert rename " + run).size());
+    }
+
+    @Test
+    void testUpsertWithoutExternalId() {
+        Category category = category("UPSERT NO KEY " + run);
+        List<Category> categories = new ArrayList<>(categories(0, 10));
+        categories.add(category);
+
+        // di cek sebelum SQL: baris lain tidak ikut tertulis
+        // IllegalArgumentException dari fragment di terjemahkan proxy repository menjadi InvalidDataAccessApiUsageException
+        InvalidDataAccessApiUsageException exception = Assertions.assertThrows(InvalidDataAccessApiUsageException.class,
+                () -> categoryRepository.upsertAllByExternalId(categories));
+        Assertions.assertInstanceOf(IllegalArgumentException.class, exception.getCause());
+        Assertions.assertEquals(0, categoryRepository.findAllByNameLike("UPSERT " + run + " %").size());
+    }
+
+    private List<Category> categories(int from, int to) {
+        List<Category> categories = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            Category category = category("UPSERT " + run + " " + i);
+            category.setExternalId("upsert-category-" + run + "-" + i);
+            categories.add(category);
+        }
+        return categories;
+    }
+
+    private List<Product> products(Category category, int count, long price) {
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Product product = product("upsert " + run + " " + i, price, category);
+            product.setExternalId("upsert-product-" + run + "-" + i);
+            products.add(product);
+        }
+        return products;
+    }
+
+}
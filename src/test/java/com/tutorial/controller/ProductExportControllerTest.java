@@ -0,0 +1,133 @@
+package com.tutorial.controller;
+
+import com.tutorial.entity.Category;
+import com.tutorial.entity.Product;
+import com.tutorial.repository.CategoryCache;
+import com.tutorial.repository.CategoryRepository;
+import com.tutorial.repository.LruTtlCache;
+import com.tutorial.repository.ProductRepository;
+import com.tutorial.service.ProductExportService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.tutorial.TestFixtures.category;
+import static com.tutorial.TestFixtures.product;
+import static com.tutorial.TestFixtures.runId;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class ProductExportControllerTest {
+
+    /**
+     * Export Product NDJSON
+     * ● Response di tulis per baris dari stream repository, client yang putus menghentikan stream
+     * ● Category di ambil dari CategoryCache
+     */
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    CategoryRepository categoryRepository;
+
+    @Autowired
+    ProductRepository productRepository;
+
+    @Autowired
+    ProductExportService productExportService;
+
+    @Autowired
+    CategoryCache categoryCache;
+
+    String run = runId();
+
+    Category category;
+
+    @BeforeEach
+    void setUp() {
+        category = categoryRepository.save(category("EXPORT " + run));
+
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < 2_500; i++) {
+            products.add(product(i == 0 ? "buku \"edisi\" " + run : "export " + run + " " + i, (long) i, category));
+        }
+        productRepository.insertAllStateless(products);
+    }
+
+    @Test
+    void testExport() throws Exception {
+        MvcResult result = mockMvc.perform(get("/categories/{categoryId}/products/export", category.getId()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON));
+
+        String[] lines = result.getResponse().getContentAsString().split("\n");
+        Assertions.assertEquals(2_500, lines.length);
+        Assertions.assertTrue(lines[0].contains("\"name\":\"buku \\\"edisi\\\" " + run + "\""));
+        Assertions.assertTrue(lines[0].endsWith("\"price\":0,\"categoryId\":" + category.getId() + "}"));
+    }
+
+    @Test
+    void testCategoryFromCache() throws Exception {
+        LruTtlCache.Stats before = categoryCache.byIdStats();
+        for (int i = 0; i < 2; i++) {
+            MvcResult result = mockMvc.perform(get("/categories/{categoryId}/products/export", category.getId()))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk());
+        }
+        LruTtlCache.Stats after = categoryCache.byIdStats();
+        Assertions.assertEquals(1, after.misses() - before.misses()); // request pertama
+        Assertions.assertEquals(1, after.hits() - before.hits()); // request kedua tanpa select category
+    }
+
+    @Test
+    void testExportCategoryNotFound() throws Exception {
+        mockMvc.perform(get("/categories/{categoryId}/products/export", -1L))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testClientDisconnect() {
+        // client putus setelah 64 KB, export harus berhenti dengan IOException
+        OutputStream disconnecting = new OutputStream() {
+            long written;
+
+            @Override
+            public void write(int b) throws IOException {
+                write(new byte[]{(byte) b}, 0, 1);
+            }
+
+            @Override
+            public void write(byte[] bytes, int offset, int length) throws IOException {
+                written += length;
+                if (written > 64 * 1024) {
+                    throw new IOException("Broken pipe");
+                }
+            }
+        };
+
+        Assertions.assertThrows(IOException.class, () -> productExportService.exportCategory(category, disconnecting));
+    }
+
+}
@@ -0,0 +1,100 @@
+package com.tutorial.query;
+
+import com.tutorial.entity.Category;
+import com.tutorial.repository.CategoryCache;
+import com.tutorial.repository.CategoryRepository;
+import com.tutorial.repository.LruTtlCache;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.tutorial.TestFixtures.category;
+import static com.tutorial.TestFixtures.runId;
+
+@SpringBootTest(properties = "app.category-cache.max-entries=100")
+public class CategoryCacheTest {
+
+    /**
+     * Cache Category
+     * ● findCachedById / findCachedByName dari memory, invalidate setelah commit save / delete
+     */
+
+    @Autowired
+    CategoryRepository categoryRepository;
+
+    @Autowired
+    CategoryCache categoryCache;
+
+    @Autowired
+    TransactionOperations transactionOperations;
+
+    String run = runId();
+
+    @Test
+    void testReadThrough() {
+        Category category = categoryRepository.save(category("CACHE " + run));
+
+        LruTtlCache.Stats before = categoryCache.byIdStats();
+        Assertions.assertEquals(category.getName(), categoryRepository.findCachedById(category.getId()).orElseThrow().getName()); // miss
+        Category cached = categoryRepository.findCachedById(category.getId()).orElseThrow(); // hit
+        LruTtlCache.Stats after = categoryCache.byIdStats();
+        Assertions.assertEquals(1, after.misses() - before.misses());
+        Assertions.assertEquals(1, after.hits() - before.hits());
+
+        cached.setName("diubah tanpa save");
+        Assertions.assertEquals(category.getName(), categoryRepository.findCachedById(category.getId()).orElseThrow().getName());
+
+        Assertions.assertEquals(category.getId(), categoryRepository.findCachedByName("CACHE " + run).orElseThrow().getId());
+        Assertions.assertTrue(categoryRepository.findCachedByName("CACHE " + run + " tidak ada").isEmpty());
+    }
+
+    @Test
+    void testInvalidateAfterCommit() {
+        Category category = categoryRepository.save(category("CACHE LAMA " + run));
+        categoryRepository.findCachedByName("CACHE LAMA " + run).orElseThrow();
+
+        category.setName("CACHE BARU " + run);
+        categoryRepository.save(category);
+        Assertions.assertEquals("CACHE BARU " + run, categoryRepository.findCachedById(category.getId()).orElseThrow().getName());
+        Assertions.assertTrue(categoryRepository.findCachedByName("CACHE LAMA " + run).isEmpty());
+
+        categoryRepository.delete(category);
+        Assertions.assertTrue(categoryRepository.findCachedById(category.getId()).isEmpty());
+        Assertions.assertTrue(categoryRepository.findCachedByName("CACHE BARU " + run).isEmpty());
+    }
+
+    @Test
+    void testRollbackKeepsCache() {
+        Category category = categoryRepository.save(category("CACHE ROLLBACK " + run));
+        categoryRepository.findCachedById(category.getId()).orElseThrow();
+
+        transactionOperations.executeWithoutResult(status -> {
+            Category managed = categoryRepository.findById(category.getId()).orElseThrow();
+            managed.setName("CACHE ROLLBACK GAGAL " + run);
+            categoryRepository.saveAndFlush(managed);
+            status.setRollbackOnly();
+        });
+
+        Assertions.assertEquals("CACHE ROLLBACK " + run, categoryRepository.findCachedById(category.getId()).orElseThrow().getName());
+    }
+
+    @Test
+    void testBoundedSize() {
+        List<Category> categories = new ArrayList<>();
+        for (int i = 0; i < 150; i++) {
+            categories.add(category("CACHE LRU " + run + " " + i));
+        }
+        categoryRepository.saveAll(categories);
+
+        long evictions = categoryCache.byIdStats().evictions();
+        categories.forEach(category -> categoryRepository.findCachedById(category.getId()));
+        Assertions.assertTrue(categoryCache.byIdStats().evictions() - evictions >= 50);
+        Assertions.assertTrue(categoryCache.byIdStats().size() <= 100);
+    }
+
+}
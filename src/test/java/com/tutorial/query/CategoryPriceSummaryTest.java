@@ -0,0 +1,144 @@
+package com.tutorial.query;
+
+import com.tutorial.entity.Category;
+import com.tutorial.entity.Product;
+import com.tutorial.model.CategoryPriceSummary;
+import com.tutorial.repository.CategoryRepository;
+import com.tutorial.repository.ProductRepository;
+import com.tutorial.service.ProductCountReconciler;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static com.tutorial.TestFixtures.category;
+import static com.tutorial.TestFixtures.product;
+import static com.tutorial.TestFixtures.runId;
+
+@SpringBootTest
+public class CategoryPriceSummaryTest {
+
+    /**
+     * Ringkasan harga per category
+     * ● aggregatePriceSummary*: count / sum / min / max di hitung database, satu baris per category
+     * ● findPriceSummary*: dari category_product_stats (trigger), harus sama dengan aggregate setelah setiap perubahan
+     */
+
+    @Autowired
+    CategoryRepository categoryRepository;
+
+    @Autowired
+    ProductRepository productRepository;
+
+    @Autowired
+    ProductCountReconciler productCountReconciler;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    TransactionOperations transactionOperations;
+
+    String run = runId();
+
+    @Test
+    void testAggregate() {
+        Category category = categoryRepository.save(category("HARGA " + run));
+        productRepository.insertAllStateless(List.of(
+                product("harga " + run + " 1", 1_000L, category),
+                product("harga " + run + " 2", 2_000L, category),
+                product("harga " + run + " 3", 3_000L, category)));
+        productRepository.save(product("harga " + run + " 4", 500L, category));
+
+        CategoryPriceSummary summary = new CategoryPriceSummary(category.getId(), category.getName(), 4, 6_500, 500L, 3_000L);
+        Assertions.assertEquals(List.of(summary), categoryRepository.aggregatePriceSummariesByName(category.getName()));
+        Assertions.assertEquals(1_625.0, summary.averagePrice());
+        Assertions.assertEquals(List.of(summary), categoryRepository.findPriceSummariesByName(category.getName()));
+        Assertions.assertEquals(summary, categoryRepository.findPriceSummaryById(category.getId()).orElseThrow());
+    }
+
+    @Test
+    void testEmptyCategory() {
+        Category category = categoryRepository.save(category("HARGA KOSONG " + run));
+
+        CategoryPriceSummary summary = categoryRepository.aggregatePriceSummariesByName(category.getName()).get(0);
+        Assertions.assertEquals(0, summary.productCount());
+        Assertions.assertNull(summary.priceMin());
+        Assertions.assertNull(summary.averagePrice());
+        Assertions.assertEquals(summary, categoryRepository.findPriceSummaryById(category.getId()).orElseThrow());
+        Assertions.assertTrue(categoryRepository.findPriceSummariesByName("HARGA TIDAK ADA " + run).isEmpty());
+        Assertions.assertTrue(categoryRepository.aggregatePriceSummariesByName("HARGA TIDAK ADA " + run).isEmpty());
+    }
+
+    @Test
+    void testSameName() {
+        // dua category dengan nama yang sama: dua ringkasan urut id, sama dari kedua method
+        Category first = categoryRepository.save(category("HARGA KEMBAR " + run));
+        Category second = categoryRepository.save(category("HARGA KEMBAR " + run));
+        productRepository.insertAllStateless(List.of(product("harga kembar " + run + " 1", 1_000L, first),
+                product("harga kembar " + run + " 2", 3_000L, second)));
+
+        List<CategoryPriceSummary> summaries = categoryRepository.aggregatePriceSummariesByName(first.getName());
+        Assertions.assertEquals(List.of(
+                new CategoryPriceSummary(first.getId(), first.getName(), 1, 1_000, 1_000L, 1_000L),
+                new CategoryPriceSummary(second.getId(), second.getName(), 1, 3_000, 3_000L, 3_000L)), summaries);
+        Assertions.assertEquals(summaries, categoryRepository.findPriceSummariesByName(first.getName()));
+    }
+
+    @Test
+    void testMaintainedOnPriceUpdates() {
+        Category category = categoryRepository.save(category("HARGA UPDATE " + run));
+        Category other = categoryRepository.save(category("HARGA LAIN " + run));
+        List<Product> products = List.of(
+                product("harga update " + run + " 1", 1_000L, category),
+                product("harga update " + run + " 2", 2_000L, category),
+                product("harga update " + run + " 3", 4_000L, category));
+        productRepository.insertAllStateless(products);
+
+        productRepository.addPriceByCategory(category.getId(), 100); // JPQL bulk update
+        assertMaintained(category);
+        productRepository.adjustPriceByCategoryPercent(category.getId(), BigDecimal.valueOf(-10)); // native bulk update
+        assertMaintained(category);
+
+        transactionOperations.executeWithoutResult(status -> productRepository.deleteProductUsingName("harga update " + run + " 1")); // min keluar
+        assertMaintained(category);
+        Assertions.assertEquals(1_890L, categoryRepository.findPriceSummaryById(category.getId()).orElseThrow().priceMin());
+
+        Product max = products.get(2);
+        max.setPrice(3_690L);
+        max.setCategory(other);
+        productRepository.updateAllStateless(List.of(max)); // max pindah category
+        assertMaintained(category);
+        assertMaintained(other);
+        Assertions.assertEquals(1_890L, categoryRepository.findPriceSummaryById(category.getId()).orElseThrow().priceMax());
+    }
+
+    @Test
+    void testAllSummaries() {
+        categoryRepository.save(category("HARGA SEMUA " + run));
+        PageRequest firstPage = PageRequest.of(0, 50);
+        Assertions.assertEquals(categoryRepository.aggregatePriceSummaries(firstPage), categoryRepository.findAllPriceSummaries(firstPage));
+    }
+
+    @Test
+    void testReconcileFixesPrice() {
+        Category category = categoryRepository.save(category("HARGA DRIFT " + run));
+        productRepository.insertAllStateless(List.of(product("harga drift " + run, 1_000L, category)));
+        jdbcTemplate.update("UPDATE category_product_stats SET price_min = 1, price_sum = 0 WHERE category_id = ?", category.getId());
+
+        Assertions.assertTrue(productCountReconciler.reconcile().corrected() >= 1);
+        assertMaintained(category);
+    }
+
+    private void assertMaintained(Category category) {
+        Assertions.assertEquals(categoryRepository.aggregatePriceSummariesByName(category.getName()),
+                List.of(categoryRepository.findPriceSummaryById(category.getId()).orElseThrow()));
+    }
+
+}
@@ -0,0 +1,159 @@
+package com.tutorial.query;
+
+import com.tutorial.entity.Category;
+import com.tutorial.entity.Product;
+import com.tutorial.repository.CategoryRepository;
+import com.tutorial.repository.CountMode;
+import com.tutorial.repository.CountedPage;
+import com.tutorial.repository.PageCounter;
+import com.tutorial.repository.ProductRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static com.tutorial.TestFixtures.category;
+import static com.tutorial.TestFixtures.product;
+import static com.tutorial.TestFixtures.runId;
+import static com.tutorial.repository.ProductSpecifications.CATEGORY_NAME_EQUALS_SQL;
+import static com.tutorial.repository.ProductSpecifications.NAME_OR_CATEGORY_NAME_LIKE_SQL;
+import static com.tutorial.repository.ProductSpecifications.categoryNameEquals;
+import static com.tutorial.repository.ProductSpecifications.nameOrCategoryNameLike;
+
+@SpringBootTest
+public class CountModeTest {
+
+    /**
+     * Count Mode
+     * ● EXACT selalu count(*), CACHED memakai total yang tersimpan selama TTL, ESTIMATED dari EXPLAIN
+     * ● CountedPage.isTotalExact() false jika total nya bukan hasil count(*) saat itu juga
+     */
+
+    @Autowired
+    CategoryRepository categoryRepository;
+
+    @Autowired
+    ProductRepository productRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    PageCounter pageCounter;
+
+    String run = runId();
+
+    Category category;
+
+    @BeforeEach
+    void setUp() {
+        category = categoryRepository.save(category("COUNT " + run));
+        insertProducts(0, 100);
+    }
+
+    @Test
+    void testExact() {
+        CountedPage<Product> page = productRepository.findAllByCategory_Name(category.getName(), PageRequest.of(0, 10), CountMode.EXACT);
+        Assertions.assertEquals(100, page.getTotalElements());
+        Assertions.assertTrue(page.isTotalExact());
+    }
+
+    @Test
+    void testCached() {
+        CountedPage<Product> first = productRepository.findAllByCategory_Name(category.getName(), PageRequest.of(0, 10), CountMode.CACHED);
+        Assertions.assertEquals(100, first.getTotalElements());
+        Assertions.assertTrue(first.isTotalExact()); // cache miss, hasil count(*)
+
+        insertProducts(100, 150);
+
+        // cache hit: total lama (belum lewat TTL), di tandai tidak pasti
+        CountedPage<Product> second = productRepository.findAllByCategory_Name(category.getName(), PageRequest.of(1, 10), CountMode.CACHED);
+        Assertions.assertEquals(100, second.getTotalElements());
+        Assertions.assertFalse(second.isTotalExact());
+    }
+
+    @Test
+    void testEstimated() {
+        CountedPage<Product> page = productRepository.findAllByCategory_Name(category.getName(), PageRequest.of(2, 10), CountMode.ESTIMATED);
+        Assertions.assertEquals(10, page.getNumberOfElements());
+        Assertions.assertTrue(page.getTotalElements() > 30); // halaman penuh, minimal masih ada halaman berikutnya
+        Assertions.assertTrue(page.hasNext());
+    }
+
+    @Test
+    void testLastPageNeedsNoCount() {
+        CountedPage<Product> page = productRepository.findAllByCategory_Name(category.getName(), PageRequest.of(0, 500), CountMode.ESTIMATED);
+        Assertions.assertEquals(100, page.getTotalElements()); // halaman tidak penuh, total = jumlah content
+        Assertions.assertTrue(page.isTotalExact());
+    }
+
+    @Test
+    void testExplainSqlMatchesSpecification() {
+        // SQL yang di EXPLAIN harus mencari baris yang sama dengan Specification yang di hitung count(*)
+        String name = category.getName();
+        Assertions.assertEquals(100, productRepository.count(categoryNameEquals(name)));
+        Assertions.assertEquals(100, countSql(CATEGORY_NAME_EQUALS_SQL, name));
+
+        String like = "count " + run + " 1%"; // 1 dan 10 - 19
+        Assertions.assertEquals(11, productRepository.count(nameOrCategoryNameLike(like)));
+        Assertions.assertEquals(11, countSql(NAME_OR_CATEGORY_NAME_LIKE_SQL, like, like));
+
+        // EXPLAIN dari SQL yang sama, perkiraan nya (rows * filtered setiap table) yang di pakai CountMode.ESTIMATED
+        assertExplainEstimate(CATEGORY_NAME_EQUALS_SQL, 100, name);
+        assertExplainEstimate(NAME_OR_CATEGORY_NAME_LIKE_SQL, 11, like, like);
+    }
+
+    @Test
+    void testEstimatedUnionSumsBranches() {
+        // perkiraan UNION = jumlah perkiraan setiap SELECT, bukan perkalian semua baris EXPLAIN
+        String name = category.getName();
+        CountedPage<String> single = estimate(CATEGORY_NAME_EQUALS_SQL, name);
+        Assumptions.assumeFalse(single.isTotalExact(), "EXPLAIN MySQL");
+        Assumptions.assumeTrue(single.getTotalElements() > 2, "perkiraan di atas batas minimal halaman");
+        CountedPage<String> union = estimate(CATEGORY_NAME_EQUALS_SQL + " UNION ALL " + CATEGORY_NAME_EQUALS_SQL, name, name);
+        Assertions.assertFalse(union.isTotalExact());
+        Assertions.assertEquals(2 * single.getTotalElements(), union.getTotalElements(), 1); // selisih pembulatan
+    }
+
+    // satu halaman penuh berisi satu baris, total nya dari EXPLAIN (minimal 2, masih ada halaman berikutnya)
+    private CountedPage<String> estimate(String sql, Object... args) {
+        return pageCounter.page(List.of("row"), PageRequest.of(0, 1), CountMode.ESTIMATED, "CountModeTest:" + run,
+                () -> countSql(sql, args), sql, args);
+    }
+
+    private long countSql(String sql, Object... args) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM (" + sql + ") explained", Long.class, args);
+    }
+
+    // perkiraan optimizer tidak harus sama dengan count (tanpa index di categories.name MySQL memperkirakan dari
+    // statistik semua category), yang di cek: EXPLAIN membaca products dan categories dan perkiraan nya ada
+    private void assertExplainEstimate(String sql, long count, Object... args) {
+        List<Map<String, Object>> plan = jdbcTemplate.queryForList("EXPLAIN " + sql, args);
+        Assumptions.assumeTrue(plan.get(0).get("rows") instanceof Number, "EXPLAIN MySQL");
+        Assertions.assertEquals(Set.of("p", "c"), plan.stream().map(table -> table.get("table")).collect(Collectors.toSet()));
+        double estimate = 1;
+        for (Map<String, Object> table : plan) {
+            estimate *= ((Number) table.get("rows")).doubleValue() * ((Number) table.get("filtered")).doubleValue() / 100;
+        }
+        Assertions.assertTrue(estimate > 0, "EXPLAIN estimate " + estimate + ", count " + count);
+    }
+
+    private void insertProducts(int from, int to) {
+        List<Product> products = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            products.add(product("count " + run + " " + i, 1_000L, category));
+        }
+        productRepository.insertAllStateless(products);
+    }
+
+}
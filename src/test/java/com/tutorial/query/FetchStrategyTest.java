@@ -0,0 +1,205 @@
+package com.tutorial.query;
+
+import com.tutorial.entity.Category;
+import com.tutorial.entity.Product;
+import com.tutorial.repository.CategoryRepository;
+import com.tutorial.repository.FetchPlan;
+import com.tutorial.repository.ProductRepository;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import static com.tutorial.TestFixtures.category;
+import static com.tutorial.TestFixtures.runId;
+
+@Slf4j
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+public class FetchStrategyTest {
+
+    /**
+     * Lazy Fetch dan Batch Fetching
+     * ● Secara default @ManyToOne adalah EAGER, sehingga setiap query product akan di ikuti
+     *   select ke table categories untuk setiap category yang berbeda (N+1)
+     * ● Product.category sekarang LAZY, category baru di ambil ketika di akses
+     * ● Dengan hibernate.default_batch_fetch_size, semua category proxy yang belum ter-load di ambil
+     *   sekaligus dengan satu query where id in (?, ?, ...)
+     * ● Test ini menghitung jumlah statement JDBC dengan Hibernate Statistics
+     */
+
+    @Autowired
+    CategoryRepository categoryRepository;
+
+    @Autowired
+    ProductRepository productRepository;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    TransactionOperations transactionOperations;
+
+    Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void testFindAllByCategoryNameStatementCount() {
+        transactionOperations.executeWithoutResult(new Consumer<TransactionStatus>() {
+            @Override
+            public void accept(TransactionStatus transactionStatus) {
+                List<Product> products = productRepository.findAllByCategory_Name("BUKU");
+                touchCategories(products);
+            }
+        });
+
+        // 1 query product + maksimal 1 query batch category
+        log.info("statement count: {}", statistics.getPrepareStatementCount());
+        Assertions.assertTrue(statistics.getPrepareStatementCount() <= 2);
+    }
+
+    @Test
+    void testFindAllByCategoryNamePageStatementCount() {
+        transactionOperations.executeWithoutResult(new Consumer<TransactionStatus>() {
+            @Override
+            public void accept(TransactionStatus transactionStatus) {
+                Page<Product> page = productRepository.findAllByCategory_Name("BUKU", PageRequest.of(0, 10));
+                touchCategories(page.getContent());
+            }
+        });
+
+        // 1 query product + 1 query count (jika page penuh) + maksimal 1 query batch category
+        log.info("statement count: {}", statistics.getPrepareStatementCount());
+        Assertions.assertTrue(statistics.getPrepareStatementCount() <= 3);
+    }
+
+    @Test
+    void testSearchProductStatementCount() {
+        transactionOperations.executeWithoutResult(new Consumer<TransactionStatus>() {
+            @Override
+            public void accept(TransactionStatus transactionStatus) {
+                List<Product> products = productRepository.searchProduct("%k%");
+                touchCategories(products);
+            }
+        });
+
+        // 1 query product (join categories hanya untuk where) + maksimal 1 query batch category
+        log.info("statement count: {}", statistics.getPrepareStatementCount());
+        Assertions.assertTrue(statistics.getPrepareStatementCount() <= 2);
+    }
+
+    @Test
+    void testFindAllByCategorySliceStatementCount() {
+        transactionOperations.executeWithoutResult(new Consumer<TransactionStatus>() {
+            @Override
+            public void accept(TransactionStatus transactionStatus) {
+                Category category = categoryRepository.findById(2L).orElse(null);
+                Assertions.assertNotNull(category);
+                statistics.clear(); // hanya hitung query slice nya saja
+
+                Slice<Product> slice = productRepository.findAllByCategory(category, PageRequest.of(0, 10));
+                touchCategories(slice.getContent());
+            }
+        });
+
+        // category sudah ada di persistence context, jadi hanya 1 query product
+        log.info("statement count: {}", statistics.getPrepareStatementCount());
+        Assertions.assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    /**
+     * Fetch Plan (Entity Graph)
+     * ● Method repository yang menerima FetchPlan memasang @NamedEntityGraph sebagai hint fetchgraph
+     * ● Relasi di dalam graph ikut di ambil dengan join di query yang sama, jadi cukup satu round-trip
+     */
+
+    @Test
+    void testFetchPlanProductWithCategory() {
+        transactionOperations.executeWithoutResult(new Consumer<TransactionStatus>() {
+            @Override
+            public void accept(TransactionStatus transactionStatus) {
+                List<Product> products = productRepository.findAllByCategory_Name("BUKU", FetchPlan.PRODUCT_WITH_CATEGORY);
+                for (Product product : products) {
+                    Assertions.assertTrue(Hibernate.isInitialized(product.getCategory()));
+                }
+                touchCategories(products);
+            }
+        });
+
+        Assertions.assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testFetchPlanWithoutGraph() {
+        transactionOperations.executeWithoutResult(new Consumer<TransactionStatus>() {
+            @Override
+            public void accept(TransactionStatus transactionStatus) {
+                List<Product> products = productRepository.searchProduct("%k%", FetchPlan.NONE);
+                for (Product product : products) {
+                    Assertions.assertFalse(Hibernate.isInitialized(product.getCategory()));
+                }
+            }
+        });
+
+        Assertions.assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testFetchPlanCategoryWithProducts() {
+        transactionOperations.executeWithoutResult(new Consumer<TransactionStatus>() {
+            @Override
+            public void accept(TransactionStatus transactionStatus) {
+                Category category = categoryRepository.findFirstByNameEquals("BUKU", FetchPlan.CATEGORY_WITH_PRODUCTS).orElse(null);
+                Assertions.assertNotNull(category);
+                Assertions.assertTrue(Hibernate.isInitialized(category.getProducts()));
+                log.info("products: {}", category.getProducts().size());
+            }
+        });
+
+        Assertions.assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testFetchPlanFirstByNameLimit() {
+        String name = "FETCH PLAN " + runId();
+        Category first = categoryRepository.save(category(name));
+        categoryRepository.save(category(name)); // nama category tidak unique
+
+        statistics.clear();
+        transactionOperations.executeWithoutResult(status -> {
+            Category category = categoryRepository.findFirstByNameEquals(name, FetchPlan.NONE).orElseThrow();
+            Assertions.assertEquals(first.getId(), category.getId());
+        });
+        Assertions.assertEquals(1, statistics.getEntityLoadCount()); // limit 1, category kedua tidak di baca
+
+        transactionOperations.executeWithoutResult(status -> {
+            Category category = categoryRepository.findFirstByNameEquals(name, FetchPlan.CATEGORY_WITH_PRODUCTS).orElseThrow();
+            Assertions.assertEquals(first.getId(), category.getId());
+        });
+    }
+
+    private void touchCategories(List<Product> products) {
+        for (Product product : products) {
+            log.info("product: {} category: {}", product.getName(), product.getCategory().getName()); // memicu lazy loading
+        }
+    }
+
+}
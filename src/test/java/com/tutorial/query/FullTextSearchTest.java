@@ -0,0 +1,97 @@
+package com.tutorial.query;
+
+import com.tutorial.entity.Category;
+import com.tutorial.entity.Product;
+import com.tutorial.repository.CategoryRepository;
+import com.tutorial.repository.CountedPage;
+import com.tutorial.repository.ProductRepository;
+import com.tutorial.service.BulkDeleteService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.tutorial.TestFixtures.category;
+import static com.tutorial.TestFixtures.product;
+import static com.tutorial.TestFixtures.runId;
+
+@SpringBootTest
+public class FullTextSearchTest {
+
+    /**
+     * Full Text Search
+     * ● searchFullText(String, Pageable) mencari di nama product dan nama category, nama product bobot nya 2
+     * ● Kata yang lebih pendek dari app.search.min-token-size (3) di buang dari pencarian
+     * ● Butuh MySQL dengan ft_products_name dan ft_categories_name (lihat database.sql), waktu LIKE vs FULLTEXT ada di
+     *   benchmark FullTextSearchBenchmarkTest
+     */
+
+    @Autowired
+    CategoryRepository categoryRepository;
+
+    @Autowired
+    ProductRepository productRepository;
+
+    @Autowired
+    BulkDeleteService bulkDeleteService;
+
+    String run = runId();
+
+    Category comics;
+
+    Category bags;
+
+    @BeforeEach
+    void setUp() {
+        comics = categoryRepository.save(category("FULLTEXT " + run + " komik"));
+        bags = categoryRepository.save(category("FULLTEXT " + run + " tas"));
+
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            products.add(product("fulltext " + run + " item " + i, 1_000L, comics));
+            products.add(product("fulltext " + run + " item " + (i + 5), 1_000L, bags));
+        }
+        productRepository.insertAllStateless(products);
+    }
+
+    @AfterEach
+    void tearDown() {
+        bulkDeleteService.deleteProductsByNameLike("fulltext " + run + " %");
+    }
+
+    @Test
+    void testRelevanceOrder() {
+        // nama product (bobot 2) lebih relevan dari nama category
+        Product product = productRepository.save(product("fulltext " + run + " komik edisi khusus", 1_000L, bags));
+
+        CountedPage<Product> page = productRepository.searchFullText(run + " komik", PageRequest.of(0, 10));
+        Assertions.assertEquals(6, page.getTotalElements()); // semua product category komik + product di atas
+        Assertions.assertEquals(product.getId(), page.getContent().get(0).getId());
+        page.getContent().subList(1, 6).forEach(other -> Assertions.assertEquals(comics.getId(), other.getCategory().getId()));
+    }
+
+    @Test
+    void testPaging() {
+        CountedPage<Product> first = productRepository.searchFullText(run + " tas", PageRequest.of(0, 3));
+        CountedPage<Product> second = productRepository.searchFullText(run + " tas", PageRequest.of(1, 3));
+        Assertions.assertEquals(5, first.getTotalElements());
+        Assertions.assertEquals(3, first.getNumberOfElements());
+        Assertions.assertEquals(2, second.getNumberOfElements());
+        List<Long> firstIds = first.getContent().stream().map(Product::getId).toList();
+        second.forEach(product -> Assertions.assertFalse(firstIds.contains(product.getId())));
+    }
+
+    @Test
+    void testShortToken() {
+        Assertions.assertTrue(productRepository.searchFullText("ko", PageRequest.of(0, 10)).isEmpty()); // kata terlalu pendek
+        // "ko" di buang, sama dengan mencari run saja
+        Assertions.assertEquals(10, productRepository.searchFullText(run + " ko", PageRequest.of(0, 20)).getTotalElements());
+    }
+
+}
@@ -0,0 +1,109 @@
+package com.tutorial.query;
+
+import com.tutorial.entity.Category;
+import com.tutorial.entity.Product;
+import com.tutorial.repository.CategoryRepository;
+import com.tutorial.repository.KeysetRequest;
+import com.tutorial.repository.KeysetSlice;
+import com.tutorial.repository.ProductRepository;
+import com.tutorial.repository.ProductSpecifications;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static com.tutorial.TestFixtures.category;
+import static com.tutorial.TestFixtures.product;
+import static com.tutorial.TestFixtures.runId;
+
+@SpringBootTest
+public class KeysetPaginationTest {
+
+    /**
+     * Keyset (seek) Pagination
+     * ● Halaman berikutnya di ambil dengan continuation token dari halaman sebelumnya, bukan dengan offset
+     * ● Urutan (kolom sort, id) membuat baris dengan nilai sort yang sama tidak hilang / dobel di antara halaman
+     */
+
+    @Autowired
+    CategoryRepository categoryRepository;
+
+    @Autowired
+    ProductRepository productRepository;
+
+    String run = runId();
+
+    Category category;
+
+    @BeforeEach
+    void setUp() {
+        category = categoryRepository.save(category("KEYSET " + run));
+
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < 250; i++) {
+            products.add(product("keyset " + run + " " + (1_000 + i), 1_000L * (i % 7), category)); // banyak harga yang sama
+        }
+        productRepository.insertAllStateless(products);
+    }
+
+    @Test
+    void testScrollByPrice() {
+        KeysetRequest request = KeysetRequest.first(30, Sort.Direction.ASC, "price");
+        List<Product> all = new ArrayList<>();
+        KeysetSlice<Product> slice;
+        do {
+            slice = productRepository.findAllByCategory_Name(category.getName(), request);
+            all.addAll(slice.content());
+            request = request.after(slice.nextToken());
+        } while (slice.hasNext());
+
+        Assertions.assertEquals(250, all.size());
+        Set<Long> ids = new HashSet<>();
+        for (int i = 0; i < all.size(); i++) {
+            Assertions.assertTrue(ids.add(all.get(i).getId())); // tidak ada baris dobel
+            if (i > 0) {
+                Product previous = all.get(i - 1);
+                Product current = all.get(i);
+                Assertions.assertTrue(previous.getPrice() < current.getPrice()
+                        || (previous.getPrice().equals(current.getPrice()) && previous.getId() < current.getId()));
+            }
+        }
+    }
+
+    @Test
+    void testScrollByNameDescWithSpecification() {
+        KeysetRequest request = KeysetRequest.first(100, Sort.Direction.DESC, "name");
+
+        KeysetSlice<Product> first = productRepository.findAll(ProductSpecifications.categoryEquals(category), request);
+        Assertions.assertEquals("keyset " + run + " 1249", first.content().get(0).getName());
+        Assertions.assertTrue(first.hasNext());
+
+        KeysetSlice<Product> second = productRepository.findAllByCategory(category, request.after(first.nextToken()));
+        Assertions.assertEquals("keyset " + run + " 1149", second.content().get(0).getName());
+
+        KeysetSlice<Product> last = productRepository.searchProduct("keyset " + run + " %", request.after(second.nextToken()));
+        Assertions.assertEquals(50, last.content().size());
+        Assertions.assertFalse(last.hasNext());
+    }
+
+    @Test
+    void testTokenFromOtherSortRejected() {
+        KeysetSlice<Product> slice = productRepository.findAllByCategory(category, KeysetRequest.first(10));
+
+        // IllegalArgumentException dari token di terjemahkan oleh proxy repository menjadi InvalidDataAccessApiUsageException
+        Assertions.assertThrows(InvalidDataAccessApiUsageException.class, () ->
+                productRepository.findAllByCategory(category, KeysetRequest.first(10, Sort.Direction.ASC, "price").after(slice.nextToken())));
+        Assertions.assertThrows(InvalidDataAccessApiUsageException.class, () ->
+                productRepository.findAllByCategory(category, KeysetRequest.first(10).after("bukan-token")));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> KeysetRequest.first(10, Sort.Direction.ASC, "category"));
+    }
+
+}
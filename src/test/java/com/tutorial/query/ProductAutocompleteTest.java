@@ -0,0 +1,136 @@
+package com.tutorial.query;
+
+import com.tutorial.entity.Category;
+import com.tutorial.entity.Product;
+import com.tutorial.repository.CategoryRepository;
+import com.tutorial.repository.ProductRepository;
+import com.tutorial.service.BulkDeleteService;
+import com.tutorial.service.ProductAutocompleteService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.tutorial.TestFixtures.category;
+import static com.tutorial.TestFixtures.product;
+import static com.tutorial.TestFixtures.runId;
+
+@SpringBootTest
+public class ProductAutocompleteTest {
+
+    /**
+     * Autocomplete
+     * ● complete(prefix, k) dari index di memory, di update oleh save / delete / stateless write setelah commit
+     * ● Bulk write yang tidak tahu baris nya (BulkDeleteService) memicu reload setelah commit
+     */
+
+    @Autowired
+    CategoryRepository categoryRepository;
+
+    @Autowired
+    ProductRepository productRepository;
+
+    @Autowired
+    ProductAutocompleteService productAutocompleteService;
+
+    @Autowired
+    BulkDeleteService bulkDeleteService;
+
+    String run = runId();
+
+    Category category;
+
+    @BeforeEach
+    void setUp() {
+        category = categoryRepository.save(category("AUTOCOMPLETE " + run));
+    }
+
+    @Test
+    void testLoadAndComplete() {
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            products.add(product("Auto " + run + " " + i, 1_000L, category));
+        }
+        productRepository.insertAllStateless(products);
+
+        List<String> names = productAutocompleteService.complete("auto " + run + " 99", 5); // tidak case sensitive
+        Assertions.assertEquals(List.of("Auto " + run + " 99", "Auto " + run + " 990", "Auto " + run + " 991",
+                "Auto " + run + " 992", "Auto " + run + " 993"), names);
+        Assertions.assertEquals(50, productAutocompleteService.complete("auto " + run, 1_000).size()); // app.autocomplete.max-results
+        Assertions.assertTrue(productAutocompleteService.complete("", 10).isEmpty());
+    }
+
+    @Test
+    void testIncrementalUpdate() {
+        Product product = productRepository.save(product("autocomplete " + run + " lama", 1_000L, category));
+        Assertions.assertEquals(List.of(product.getName()), productAutocompleteService.complete("autocomplete " + run, 10));
+
+        product.setName("autocomplete " + run + " baru");
+        productRepository.save(product);
+        Assertions.assertEquals(List.of("autocomplete " + run + " baru"), productAutocompleteService.complete("autocomplete " + run, 10));
+
+        productRepository.delete(product);
+        Assertions.assertTrue(productAutocompleteService.complete("autocomplete " + run, 10).isEmpty());
+    }
+
+    @Test
+    void testStatelessWriteIsIncremental() {
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            products.add(product("stateless auto " + run + " " + i, 1_000L, category));
+        }
+        productRepository.insertAllStateless(products); // langsung setelah commit, tanpa reload
+        Assertions.assertEquals(20, productAutocompleteService.complete("stateless auto " + run, 50).size());
+
+        Product renamed = products.get(0);
+        renamed.setName("stateless ganti " + run);
+        productRepository.updateAllStateless(List.of(renamed));
+        Assertions.assertEquals(19, productAutocompleteService.complete("stateless auto " + run, 50).size());
+        Assertions.assertEquals(List.of(renamed.getName()), productAutocompleteService.complete("stateless ganti " + run, 50));
+    }
+
+    @Test
+    void testBulkWriteReloads() throws InterruptedException {
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            products.add(product("bulk auto " + run + " " + i, 1_000L, category));
+        }
+        productRepository.insertAllStateless(products);
+        Assertions.assertEquals(20, productAutocompleteService.complete("bulk auto " + run, 50).size());
+
+        bulkDeleteService.deleteProductsByNameLike("bulk auto " + run + " %");
+        Assertions.assertTrue(awaitComplete("bulk auto " + run, 0).isEmpty());
+    }
+
+    @Test
+    void testComplete() {
+        productAutocompleteService.reload();
+        productRepository.save(product("autocomplete " + run + " x", 1_000L, category));
+
+        // tanpa query ke database
+        long start = System.nanoTime();
+        for (int i = 0; i < 10_000; i++) {
+            productAutocompleteService.complete("autocomplete " + run, 10);
+        }
+        long micros = (System.nanoTime() - start) / 10_000 / 1_000;
+        Assertions.assertTrue(micros < 1_000, "complete took " + micros + " us");
+        Assertions.assertTrue(productAutocompleteService.isReady());
+    }
+
+    // reload dari bulk event berjalan di thread lain setelah commit
+    private List<String> awaitComplete(String prefix, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        List<String> names = productAutocompleteService.complete(prefix, 50);
+        while (names.size() != expected && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+            names = productAutocompleteService.complete(prefix, 50);
+        }
+        return names;
+    }
+
+}
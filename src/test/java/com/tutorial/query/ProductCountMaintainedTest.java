@@ -0,0 +1,133 @@
+package com.tutorial.query;
+
+import com.tutorial.entity.Category;
+import com.tutorial.entity.Product;
+import com.tutorial.repository.CategoryRepository;
+import com.tutorial.repository.CountMode;
+import com.tutorial.repository.CountedPage;
+import com.tutorial.repository.ProductRepository;
+import com.tutorial.service.ProductCountReconciler;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.tutorial.TestFixtures.category;
+import static com.tutorial.TestFixtures.product;
+import static com.tutorial.TestFixtures.runId;
+
+@SpringBootTest
+public class ProductCountMaintainedTest {
+
+    /**
+     * Jumlah product per category yang di jaga trigger (category_product_stats, lihat database.sql)
+     * ● Sama dengan countByCategory_Name setelah insert / pindah category / delete lewat berbagai jalur
+     * ● ProductCountReconciler memperbaiki selisih
+     */
+
+    @Autowired
+    CategoryRepository categoryRepository;
+
+    @Autowired
+    ProductRepository productRepository;
+
+    @Autowired
+    ProductCountReconciler productCountReconciler;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    TransactionOperations transactionOperations;
+
+    String run = runId();
+
+    @Test
+    void testMaintainedOnEveryWritePath() {
+        Category books = categoryRepository.save(category("COUNT BUKU " + run));
+        Category comics = categoryRepository.save(category("COUNT KOMIK " + run));
+        assertCounts(books, comics);
+
+        productRepository.save(product("count entity " + run, 1_000L, books)); // entity
+        List<Product> stateless = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            stateless.add(product("count stateless " + run + " " + i, 1_000L, books));
+        }
+        productRepository.insertAllStateless(stateless); // StatelessSession
+        assertCounts(books, comics);
+        Assertions.assertEquals(6, productRepository.countMaintainedByCategoryId(books.getId()));
+
+        Product moved = stateless.get(0);
+        moved.setCategory(comics);
+        productRepository.updateAllStateless(List.of(moved)); // pindah category
+        assertCounts(books, comics);
+
+        transactionOperations.executeWithoutResult(status -> productRepository.deleteProductUsingName("count stateless " + run + " 1")); // JPQL delete
+        transactionOperations.executeWithoutResult(status -> productRepository.deleteChunkByNameLike("count stateless " + run + " 4", 10)); // native delete
+        assertCounts(books, comics);
+        Assertions.assertEquals(3, productRepository.countMaintainedByCategoryId(books.getId())); // entity, stateless 2 dan 3
+        Assertions.assertEquals(0, productRepository.countMaintainedByCategoryName("COUNT TIDAK ADA " + run));
+    }
+
+    @Test
+    void testPageTotal() {
+        Category category = categoryRepository.save(category("COUNT PAGE " + run));
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            products.add(product("count page " + run + " " + i, 1_000L, category));
+        }
+        productRepository.insertAllStateless(products);
+
+        CountedPage<Product> page = productRepository.findAllByCategory_Name(category.getName(), PageRequest.of(0, 3), CountMode.MAINTAINED);
+        Assertions.assertEquals(3, page.getNumberOfElements());
+        Assertions.assertEquals(7, page.getTotalElements());
+        Assertions.assertTrue(page.isTotalExact());
+    }
+
+    @Test
+    void testSameCategoryName() {
+        // dua category dengan nama yang sama: total maintained = jumlah keduanya, sama dengan EXACT
+        Category first = categoryRepository.save(category("COUNT KEMBAR " + run));
+        Category second = categoryRepository.save(category("COUNT KEMBAR " + run));
+        productRepository.insertAllStateless(List.of(product("count kembar " + run + " 1", 1_000L, first),
+                product("count kembar " + run + " 2", 1_000L, first), product("count kembar " + run + " 3", 1_000L, second)));
+
+        assertCounts(first);
+        Assertions.assertEquals(3, productRepository.countMaintainedByCategoryName(first.getName()));
+        CountedPage<Product> page = productRepository.findAllByCategory_Name(first.getName(), PageRequest.of(0, 2), CountMode.MAINTAINED);
+        Assertions.assertEquals(3, page.getTotalElements());
+        Assertions.assertEquals(page.getTotalElements(),
+                productRepository.findAllByCategory_Name(first.getName(), PageRequest.of(0, 2), CountMode.EXACT).getTotalElements());
+    }
+
+    @Test
+    void testReconcileFixesDrift() {
+        Category drifted = categoryRepository.save(category("COUNT DRIFT " + run));
+        Category missing = categoryRepository.save(category("COUNT HILANG " + run));
+        productRepository.insertAllStateless(List.of(product("count drift " + run, 1_000L, drifted), product("count hilang " + run, 1_000L, missing)));
+
+        jdbcTemplate.update("UPDATE category_product_stats SET product_count = 10 WHERE category_id = ?", drifted.getId());
+        jdbcTemplate.update("DELETE FROM category_product_stats WHERE category_id = ?", missing.getId());
+
+        ProductCountReconciler.Reconciliation result = productCountReconciler.reconcile();
+        Assertions.assertTrue(result.corrected() >= 2);
+        Assertions.assertTrue(result.drift() >= 10);
+        assertCounts(drifted, missing);
+
+        Assertions.assertEquals(0, productCountReconciler.reconcile().corrected()); // sudah sinkron
+    }
+
+    private void assertCounts(Category... categories) {
+        for (Category category : categories) {
+            Assertions.assertEquals(productRepository.countByCategory_Name(category.getName()),
+                    productRepository.countMaintainedByCategoryName(category.getName()), category.getName());
+        }
+    }
+
+}
@@ -0,0 +1,141 @@
+package com.tutorial.query;
+
+import com.tutorial.entity.Category;
+import com.tutorial.entity.Product;
+import com.tutorial.repository.CategoryRepository;
+import com.tutorial.repository.ProductNameFilter;
+import com.tutorial.repository.ProductRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.tutorial.TestFixtures.category;
+import static com.tutorial.TestFixtures.product;
+import static com.tutorial.TestFixtures.runId;
+
+@Slf4j
+@SpringBootTest(properties = "app.name-filter.enabled=true")
+public class ProductNameFilterTest {
+
+    /**
+     * Bloom Filter existsByName
+     * ● Nama yang pasti tidak ada di jawab tanpa query, nama yang ada selalu di temukan (tidak ada false negative),
+     *   juga jika rebuild berjalan di antara insert dan commit
+     */
+
+    @Autowired
+    CategoryRepository categoryRepository;
+
+    @Autowired
+    ProductRepository productRepository;
+
+    @Autowired
+    ProductNameFilter productNameFilter;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    String run = runId();
+
+    Category category;
+
+    @BeforeEach
+    void setUp() {
+        category = categoryRepository.save(category("FILTER " + run));
+    }
+
+    @Test
+    void testExistsByName() {
+        productNameFilter.rebuild();
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            products.add(product("filter " + run + " " + i, 1_000L, category));
+        }
+        productRepository.insertAllStateless(products); // nama masuk ke filter tanpa rebuild
+
+        for (int i = 0; i < 1_000; i++) {
+            Assertions.assertTrue(productRepository.existsByName("filter " + run + " " + i));
+        }
+        Assertions.assertTrue(productRepository.findFirstByName("filter " + run + " 7").isPresent());
+        Assertions.assertTrue(productNameFilter.mightContain("FILTER " + run + " 7")); // collation MySQL case insensitive
+
+        ProductNameFilter.Stats before = productNameFilter.stats();
+        for (int i = 0; i < 10_000; i++) {
+            Assertions.assertFalse(productRepository.existsByName("filter " + run + " tidak ada " + i));
+        }
+        ProductNameFilter.Stats after = productNameFilter.stats();
+        long skipped = after.skipped() - before.skipped();
+        long falsePositives = after.falsePositives() - before.falsePositives();
+        log.info("skipped {} queries, {} false positives, {}", skipped, falsePositives, after);
+        Assertions.assertEquals(10_000, skipped + falsePositives);
+        Assertions.assertTrue(falsePositives < 500, "false positives: " + falsePositives);
+    }
+
+    @Test
+    void testSaveIsVisibleImmediately() {
+        productNameFilter.rebuild();
+        Assertions.assertFalse(productRepository.existsByName("filter " + run + " baru"));
+
+        productRepository.save(product("filter " + run + " baru", 1_000L, category));
+        Assertions.assertTrue(productRepository.existsByName("filter " + run + " baru"));
+    }
+
+    @Test
+    void testRebuildDuringUncommittedInsert() {
+        productNameFilter.rebuild();
+        String name = "filter " + run + " belum commit";
+
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.executeWithoutResult(status -> {
+            productRepository.saveAndFlush(product(name, 1_000L, category)); // nama masuk filter, baris belum commit
+
+            // rebuild di thread lain (connection lain): scan tidak melihat baris ini, filter lama di ganti
+            Thread rebuild = new Thread(productNameFilter::rebuild);
+            rebuild.start();
+            try {
+                rebuild.join();
+            } catch (InterruptedException exception) {
+                throw new IllegalStateException(exception);
+            }
+        });
+
+        // setelah commit nama di tambahkan lagi ke filter baru
+        Assertions.assertTrue(productNameFilter.mightContain(name));
+        Assertions.assertTrue(productRepository.existsByName(name));
+    }
+
+    @Test
+    void testCollationFolding() {
+        // utf8mb4_0900_ai_ci: ß = ss, æ = ae, ligature "ﬁ" = fi
+        Assertions.assertEquals("strasse", ProductNameFilter.normalize("Straße"));
+        Assertions.assertEquals("aesop fin", ProductNameFilter.normalize("Æsop ﬁn"));
+
+        productRepository.save(product("filter " + run + " straße", 1_000L, category));
+        productNameFilter.rebuild();
+        Assertions.assertTrue(productNameFilter.mightContain("FILTER " + run + " STRASSE"));
+
+        // masih non-ASCII setelah normalisasi: tidak di jawab filter, selalu ke database
+        Assertions.assertTrue(productNameFilter.mightContain("filter " + run + " 東京 tidak ada"));
+    }
+
+    @Test
+    void testRebuildDropsDeletedNames() {
+        Product product = productRepository.save(product("filter " + run + " hapus", 1_000L, category));
+        productNameFilter.rebuild();
+        Assertions.assertTrue(productNameFilter.mightContain(product.getName()));
+
+        productRepository.delete(product);
+        productNameFilter.rebuild();
+        Assertions.assertFalse(productNameFilter.mightContain(product.getName()));
+        Assertions.assertTrue(productRepository.findFirstByName(product.getName()).isEmpty());
+    }
+
+}
@@ -0,0 +1,171 @@
+package com.tutorial.query;
+
+import com.tutorial.analytics.HyperLogLog;
+import com.tutorial.analytics.KllSketch;
+import com.tutorial.analytics.PriceSketch;
+import com.tutorial.entity.Category;
+import com.tutorial.entity.CategoryPriceSketch;
+import com.tutorial.entity.Product;
+import com.tutorial.model.ProductPrice;
+import com.tutorial.repository.CategoryPriceSketchRepository;
+import com.tutorial.repository.CategoryRepository;
+import com.tutorial.repository.ProductRepository;
+import com.tutorial.service.ProductPriceAnalyticsService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.LongStream;
+
+import static com.tutorial.TestFixtures.category;
+import static com.tutorial.TestFixtures.product;
+import static com.tutorial.TestFixtures.runId;
+
+@SpringBootTest(properties = "app.analytics.rows-per-worker=500")
+public class ProductPriceAnalyticsTest {
+
+    /**
+     * Sketch quantile (KLL) dan cardinality (HyperLogLog)
+     * ● Hasil merge dari beberapa sketch tetap dalam batas error, memory tidak tumbuh dengan jumlah nilai
+     * ● ProductPriceAnalyticsService: category di baca paralel per range id, sketch di simpan dan di lanjutkan
+     * ● Refresh membangun ulang sketch jika jumlah nya tidak sama dengan jumlah product category
+     */
+
+    @Autowired
+    ProductPriceAnalyticsService productPriceAnalyticsService;
+
+    @Autowired
+    CategoryRepository categoryRepository;
+
+    @Autowired
+    ProductRepository productRepository;
+
+    @Autowired
+    CategoryPriceSketchRepository categoryPriceSketchRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    String run = runId();
+
+    @Test
+    void testKllMergeAccuracy() {
+        List<Long> values = new ArrayList<>(LongStream.rangeClosed(1, 200_000).boxed().toList());
+        Collections.shuffle(values, new Random(42));
+
+        KllSketch merged = new KllSketch(200);
+        for (int worker = 0; worker < 4; worker++) {
+            KllSketch sketch = new KllSketch(200);
+            values.subList(worker * 50_000, (worker + 1) * 50_000).forEach(sketch::update);
+            merged.merge(sketch);
+        }
+
+        Assertions.assertEquals(200_000, merged.count());
+        Assertions.assertEquals(1, merged.quantile(0));
+        Assertions.assertEquals(200_000, merged.quantile(1));
+        for (double fraction : new double[]{0.5, 0.95, 0.99}) {
+            double rank = merged.quantile(fraction) / 200_000.0; // nilai 1..n: nilai / n = rank nya
+            Assertions.assertEquals(fraction, rank, 0.02, "p" + fraction);
+        }
+        Assertions.assertTrue(merged.retained() < 1_000, "retained " + merged.retained()); // bukan 200.000
+    }
+
+    @Test
+    void testHyperLogLogMerge() {
+        HyperLogLog left = new HyperLogLog(14);
+        HyperLogLog right = new HyperLogLog(14);
+        for (int i = 0; i < 100_000; i++) {
+            left.add("product " + i);
+            right.add("product " + (i + 50_000)); // 50.000 nama sama dengan left
+        }
+
+        long estimate = left.merge(right).estimate();
+        Assertions.assertEquals(150_000, estimate, 150_000 * 4 * left.relativeStandardError());
+
+        HyperLogLog small = new HyperLogLog(14);
+        for (int i = 0; i < 100; i++) {
+            small.add("kecil " + i);
+        }
+        Assertions.assertEquals(100, small.estimate(), 2); // linear counting
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> small.merge(new HyperLogLog(12)));
+    }
+
+    @Test
+    void testSerialize() {
+        PriceSketch sketch = productPriceAnalyticsService.newSketch();
+        for (long i = 1; i <= 10_000; i++) {
+            sketch.add(new ProductPrice(i, "Produk " + (i % 3_000), i * 100));
+        }
+
+        PriceSketch restored = PriceSketch.fromBytes(sketch.toBytes());
+        Assertions.assertEquals(sketch.summary(), restored.summary());
+        Assertions.assertEquals(10_000, restored.lastProductId());
+        Assertions.assertEquals(3_000, restored.distinctNames(), 3_000 * 0.03);
+
+        restored.add(new ProductPrice(10_001L, "baru", 5L));
+        Assertions.assertEquals(5L, restored.summary().min());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> PriceSketch.fromBytes(new byte[]{9}));
+    }
+
+    @Test
+    void testCategoryParallelAndRefresh() {
+        Category category = categoryRepository.save(category("ANALITIK " + run));
+        productRepository.insertAllStateless(products(category, 0, 2_000));
+
+        // 2.000 product / rows-per-worker 500 = 4 worker
+        PriceSketch.Summary summary = productPriceAnalyticsService.rebuildCategory(category).summary();
+        Assertions.assertEquals(2_000, summary.count());
+        Assertions.assertEquals(10L, summary.min());
+        Assertions.assertEquals(20_000L, summary.max());
+        Assertions.assertEquals(10_000, summary.p50(), 20_000 * 0.02);
+        Assertions.assertEquals(19_000, summary.p95(), 20_000 * 0.02);
+        Assertions.assertEquals(2_000, summary.distinctNames(), 2_000 * 0.03);
+
+        productRepository.insertAllStateless(products(category, 2_000, 500));
+        PriceSketch refreshed = productPriceAnalyticsService.refreshCategory(category);
+        Assertions.assertEquals(2_500, refreshed.count());
+        Assertions.assertEquals(25_000L, refreshed.summary().max());
+
+        CategoryPriceSketch saved = categoryPriceSketchRepository.findById(category.getId()).orElseThrow();
+        Assertions.assertEquals(refreshed.lastProductId(), saved.getLastProductId());
+        Assertions.assertEquals(2_500, PriceSketch.fromBytes(saved.getSketch()).count());
+
+        Assertions.assertEquals(2_500, productPriceAnalyticsService.refreshCategory(category).count()); // tidak ada product baru
+    }
+
+    @Test
+    void testRefreshSeesLateCommitBelowWatermark() {
+        Category category = categoryRepository.save(category("ANALITIK " + run));
+        Product late = productRepository.save(product("analitik " + run + " terlambat", 1L, category));
+        productRepository.insertAllStateless(products(category, 0, 100));
+
+        // seolah transaction late belum commit saat sketch di bangun
+        jdbcTemplate.update("DELETE FROM products WHERE id = ?", late.getId());
+        PriceSketch built = productPriceAnalyticsService.rebuildCategory(category);
+        Assertions.assertEquals(100, built.count());
+        Assertions.assertTrue(late.getId() < built.lastProductId()); // id nya di bawah watermark
+
+        // commit belakangan dengan id yang sudah di lewati, refresh membangun ulang karena jumlah nya beda
+        jdbcTemplate.update("INSERT INTO products (id, name, price, category_id) VALUES (?, ?, ?, ?)",
+                late.getId(), late.getName(), late.getPrice(), category.getId());
+        PriceSketch refreshed = productPriceAnalyticsService.refreshCategory(category);
+        Assertions.assertEquals(101, refreshed.count());
+        Assertions.assertEquals(1L, refreshed.summary().min());
+    }
+
+    private List<Product> products(Category category, int from, int count) {
+        List<Product> products = new ArrayList<>();
+        for (int i = from + 1; i <= from + count; i++) {
+            products.add(product("analitik " + run + " " + i, i * 10L, category));
+        }
+        return products;
+    }
+
+}
@@ -0,0 +1,112 @@
+package com.tutorial.query;
+
+import com.tutorial.entity.Category;
+import com.tutorial.entity.Product;
+import com.tutorial.model.ProductPrice;
+import com.tutorial.repository.CategoryRepository;
+import com.tutorial.repository.LimitedList;
+import com.tutorial.repository.ProductRepository;
+import com.tutorial.repository.ResultLimitExceededException;
+import com.tutorial.repository.ResultLimitMetrics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.tutorial.TestFixtures.category;
+import static com.tutorial.TestFixtures.product;
+import static com.tutorial.TestFixtures.runId;
+
+@SpringBootTest(properties = {
+        "app.result-limit.max-rows=100",
+        "app.result-limit.max-rows.ProductRepository.searchProductUsingName=0",
+        "app.result-limit.max-rows.CategoryRepository.findAll=50"
+})
+public class ResultLimitTest {
+
+    /**
+     * Result Limit
+     * ● Query method yang return List di batasi jumlah baris nya (LIMIT di SQL), lewat batas: exception atau di potong
+     */
+
+    @Autowired
+    CategoryRepository categoryRepository;
+
+    @Autowired
+    ProductRepository productRepository;
+
+    @Autowired
+    ResultLimitMetrics resultLimitMetrics;
+
+    String run = runId();
+
+    @BeforeEach
+    void setUp() {
+        Category category = categoryRepository.save(category("LIMIT " + run));
+
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < 150; i++) {
+            products.add(product("limit " + run + " " + i, (long) i, category));
+        }
+        productRepository.insertAllStateless(products);
+
+        List<Category> categories = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            categories.add(category("LIMIT " + run + " " + i));
+        }
+        categoryRepository.insertAllStateless(categories);
+    }
+
+    @Test
+    void testFailFast() {
+        ResultLimitExceededException exception = Assertions.assertThrows(ResultLimitExceededException.class,
+                () -> productRepository.searchProduct("limit " + run + " %"));
+        Assertions.assertEquals(100, exception.getMaxRows());
+        Assertions.assertTrue(exception.getMessage().contains("stream("));
+
+        // di bawah batas tetap List biasa
+        Assertions.assertEquals(10, productRepository.searchProduct("limit " + run + " 1_").size());
+
+        ResultLimitMetrics.Snapshot snapshot = resultLimitMetrics.get("ProductRepository.searchProduct");
+        Assertions.assertEquals(2, snapshot.calls());
+        Assertions.assertEquals(1, snapshot.failed());
+        Assertions.assertEquals(101, snapshot.maxObservedRows()); // hanya maxRows + 1 baris yang di baca
+        Assertions.assertEquals(1.0, snapshot.peakRatio());
+    }
+
+    @Test
+    void testProjectionFailFast() {
+        Assertions.assertThrows(ResultLimitExceededException.class,
+                () -> productRepository.findAllByNameLike("limit " + run + " %", ProductPrice.class));
+    }
+
+    @Test
+    void testTruncate() {
+        List<Category> categories = categoryRepository.findAllByNameLike("LIMIT " + run + " %");
+        Assertions.assertEquals(100, categories.size());
+        Assertions.assertTrue(categories instanceof LimitedList<?> limited && limited.isTruncated());
+
+        List<Category> few = categoryRepository.findAllByNameLike("LIMIT " + run + " 1_");
+        Assertions.assertEquals(10, few.size());
+        Assertions.assertFalse(((LimitedList<?>) few).isTruncated());
+    }
+
+    @Test
+    void testConfiguredPerMethod() {
+        // findAll bawaan di jaga karena ada property nya, searchProductUsingName di matikan (0)
+        Assertions.assertThrows(ResultLimitExceededException.class, () -> categoryRepository.findAll());
+        Assertions.assertNotNull(productRepository.searchProductUsingName("limit " + run + " 1"));
+        Assertions.assertNull(resultLimitMetrics.get("ProductRepository.searchProductUsingName"));
+    }
+
+    @Test
+    void testPagedNotGuarded() {
+        Assertions.assertEquals(150, productRepository.searchProduct("limit " + run + " %", PageRequest.of(0, 500)).size());
+    }
+
+}
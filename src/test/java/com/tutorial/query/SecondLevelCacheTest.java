@@ -0,0 +1,109 @@
+package com.tutorial.query;
+
+import com.tutorial.entity.Category;
+import com.tutorial.repository.CategoryRepository;
+import com.tutorial.repository.ProductRepository;
+import com.tutorial.repository.SecondLevelCache;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static com.tutorial.TestFixtures.category;
+import static com.tutorial.TestFixtures.product;
+import static com.tutorial.TestFixtures.runId;
+
+@SpringBootTest
+public class SecondLevelCacheTest {
+
+    /**
+     * Second-level cache Hibernate
+     * ● findById Category dan findFirstByNameEquals dari cache pada transaction berikut nya
+     * ● Perubahan lewat save, StatelessSession dan native @Modifying di invalidate
+     */
+
+    @Autowired
+    CategoryRepository categoryRepository;
+
+    @Autowired
+    ProductRepository productRepository;
+
+    @Autowired
+    SecondLevelCache secondLevelCache;
+
+    @Autowired
+    TransactionOperations transactionOperations;
+
+    String run = runId();
+
+    @Test
+    void testEntityCache() {
+        Category category = categoryRepository.save(category("L2 " + run));
+
+        transactionOperations.executeWithoutResult(status -> categoryRepository.findById(category.getId()).orElseThrow());
+        long hits = hits(SecondLevelCache.CATEGORY_REGION);
+        String name = transactionOperations.execute(status -> categoryRepository.findById(category.getId()).orElseThrow().getName());
+        Assertions.assertEquals(category.getName(), name);
+        Assertions.assertEquals(1, hits(SecondLevelCache.CATEGORY_REGION) - hits);
+
+        category.setName("L2 BARU " + run);
+        categoryRepository.save(category);
+        Assertions.assertEquals("L2 BARU " + run, transactionOperations.execute(status -> categoryRepository.findById(category.getId()).orElseThrow().getName()));
+    }
+
+    @Test
+    void testQueryCache() {
+        Category category = categoryRepository.save(category("L2 QUERY " + run));
+
+        categoryRepository.findFirstByNameEquals("L2 QUERY " + run).orElseThrow();
+        long hits = hits(SecondLevelCache.CATEGORY_BY_NAME_REGION);
+        Assertions.assertEquals(category.getId(), categoryRepository.findFirstByNameEquals("L2 QUERY " + run).orElseThrow().getId());
+        Assertions.assertEquals(1, hits(SecondLevelCache.CATEGORY_BY_NAME_REGION) - hits);
+
+        // hasil kosong ikut di cache, insert category dengan nama itu harus membuat nya tidak berlaku
+        Assertions.assertTrue(categoryRepository.findFirstByNameEquals("L2 QUERY BARU " + run).isEmpty());
+        category.setName("L2 QUERY BARU " + run);
+        categoryRepository.save(category);
+        Assertions.assertTrue(categoryRepository.findFirstByNameEquals("L2 QUERY " + run).isEmpty());
+        Assertions.assertEquals(category.getId(), categoryRepository.findFirstByNameEquals("L2 QUERY BARU " + run).orElseThrow().getId());
+    }
+
+    @Test
+    void testStatelessInsertEvictsCategoryProducts() {
+        Category category = categoryRepository.save(category("L2 PRODUCTS " + run));
+        Assertions.assertEquals(0, countProducts(category.getId()));
+
+        productRepository.insertAllStateless(List.of(product("l2 " + run, 1_000L, category)));
+        Assertions.assertEquals(1, countProducts(category.getId()));
+    }
+
+    @Test
+    void testNativeUpdateKeepsCategoryRegion() {
+        Category category = categoryRepository.save(category("L2 NATIVE " + run));
+        productRepository.insertAllStateless(List.of(product("l2 native " + run, 1_000L, category)));
+        countProducts(category.getId());
+
+        // query spaces = products: entity Category tetap di cache, hanya region yang berhubungan dengan products
+        long hits = hits(SecondLevelCache.CATEGORY_REGION);
+        Assertions.assertEquals(1, productRepository.adjustPriceByCategoryPercent(category.getId(), BigDecimal.TEN));
+        transactionOperations.executeWithoutResult(status -> categoryRepository.findById(category.getId()).orElseThrow());
+        Assertions.assertEquals(1, hits(SecondLevelCache.CATEGORY_REGION) - hits);
+
+        Long price = transactionOperations.execute(status ->
+                categoryRepository.findById(category.getId()).orElseThrow().getProducts().get(0).getPrice());
+        Assertions.assertEquals(1_100L, price);
+    }
+
+    private int countProducts(Long categoryId) {
+        return transactionOperations.execute(status -> categoryRepository.findById(categoryId).orElseThrow().getProducts().size());
+    }
+
+    private long hits(String region) {
+        return secondLevelCache.regionStatistics().get(region).getHitCount();
+    }
+
+}
@@ -0,0 +1,117 @@
+package com.tutorial.query;
+
+import com.tutorial.entity.Category;
+import com.tutorial.entity.Product;
+import com.tutorial.model.ProductPrice;
+import com.tutorial.repository.CategoryRepository;
+import com.tutorial.repository.KeysetRequest;
+import com.tutorial.repository.ProductRepository;
+import com.tutorial.repository.ProductSpecifications;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static com.tutorial.TestFixtures.category;
+import static com.tutorial.TestFixtures.product;
+import static com.tutorial.TestFixtures.runId;
+
+@SpringBootTest
+public class SpecificationStreamTest {
+
+    /**
+     * Streaming Specification
+     * ● Specification di jalankan sebagai Stream (kolom per baris, memory konstan), projection record,
+     *   atau iterator keyset per halaman
+     */
+
+    @Autowired
+    CategoryRepository categoryRepository;
+
+    @Autowired
+    ProductRepository productRepository;
+
+    @Autowired
+    EntityManager entityManager;
+
+    @Autowired
+    TransactionOperations transactionOperations;
+
+    String run = runId();
+
+    Category category;
+
+    @BeforeEach
+    void setUp() {
+        category = categoryRepository.save(category("SPEC STREAM " + run));
+
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < 3_000; i++) {
+            products.add(product("spec stream " + run + " " + i, (long) i, category));
+        }
+        productRepository.insertAllStateless(products);
+    }
+
+    // product di category ini dengan harga >= 1000
+    private Specification<Product> expensive() {
+        return ProductSpecifications.categoryEquals(category)
+                .and((root, criteria, builder) -> builder.greaterThanOrEqualTo(root.get("price"), 1_000L));
+    }
+
+    @Test
+    void testStreamSpecification() {
+        transactionOperations.executeWithoutResult(status -> {
+            try (Stream<Product> stream = productRepository.stream(expensive(), Sort.by(Sort.Direction.DESC, "price"))) {
+                long[] count = {0};
+                long[] previous = {Long.MAX_VALUE};
+                stream.forEach(product -> {
+                    count[0]++;
+                    Assertions.assertTrue(product.getPrice() < previous[0]);
+                    Assertions.assertEquals(category.getId(), product.getCategory().getId()); // reference, tanpa select
+                    previous[0] = product.getPrice();
+                });
+                Assertions.assertEquals(2_000, count[0]);
+            }
+            Assertions.assertEquals(0, entityManager.unwrap(Session.class).getStatistics().getEntityCount());
+        });
+    }
+
+    @Test
+    void testStreamProjection() {
+        transactionOperations.executeWithoutResult(status -> {
+            try (Stream<ProductPrice> stream = productRepository.stream(expensive(), Sort.by("id"), ProductPrice.class)) {
+                List<ProductPrice> prices = stream.limit(5).toList();
+                Assertions.assertEquals(5, prices.size());
+                Assertions.assertEquals(1_000L, prices.get(0).price());
+                Assertions.assertEquals("spec stream " + run + " 1000", prices.get(0).name());
+            }
+        });
+    }
+
+    @Test
+    void testKeysetIterator() {
+        // tidak butuh transaction, setiap halaman query sendiri
+        Iterator<Product> iterator = productRepository.iterate(expensive(), KeysetRequest.first(300, Sort.Direction.ASC, "price"));
+        long count = 0;
+        long previous = -1;
+        while (iterator.hasNext()) {
+            Product product = iterator.next();
+            Assertions.assertTrue(product.getPrice() > previous);
+            previous = product.getPrice();
+            count++;
+        }
+        Assertions.assertEquals(2_000, count);
+    }
+
+}
@@ -0,0 +1,79 @@
+package com.tutorial.transaction;
+
+import com.tutorial.model.ChunkedResult;
+import com.tutorial.repository.CategoryRepository;
+import com.tutorial.service.CategoryService;
+import com.tutorial.service.ChunkedTransactionWriter;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+@SpringBootTest
+public class ChunkedTransactionTest {
+
+    /**
+     * Chunked Commit
+     * ● Setiap chunk di commit di transaction sendiri, chunk yang gagal di skip tanpa me-rollback chunk lain
+     * ● Checkpoint membuat job yang di jalankan ulang lanjut dari posisi terakhir
+     */
+
+    @Autowired
+    CategoryService categoryService;
+
+    @Autowired
+    CategoryRepository categoryRepository;
+
+    @Autowired
+    ChunkedTransactionWriter chunkedTransactionWriter;
+
+    @Test
+    void testChunkedCommitAndResume() {
+        String jobName = "chunked-" + UUID.randomUUID();
+        List<String> names = names(jobName, 250);
+
+        ChunkedResult result = categoryService.createCategories(jobName, names, 100);
+        Assertions.assertEquals(250, result.written());
+        Assertions.assertEquals(3, result.chunks());
+        Assertions.assertFalse(result.hasSkipped());
+
+        // di jalankan ulang: checkpoint sudah di akhir input, tidak ada yang di insert lagi
+        ChunkedResult rerun = categoryService.createCategories(jobName, names, 100);
+        Assertions.assertEquals(250, rerun.resumedFrom());
+        Assertions.assertEquals(0, rerun.written());
+        Assertions.assertEquals(1, categoryRepository.findAllByNameLike(jobName + " 249").size());
+
+        chunkedTransactionWriter.reset(jobName);
+    }
+
+    @Test
+    void testFailedChunkIsSkipped() {
+        String jobName = "chunked-" + UUID.randomUUID();
+        List<String> names = names(jobName, 300);
+        names.set(150, null); // name NOT NULL, chunk [100, 200) gagal
+
+        ChunkedResult result = categoryService.createCategories(jobName, names, 100);
+        Assertions.assertEquals(200, result.written());
+        Assertions.assertEquals(100, result.skipped());
+        Assertions.assertEquals(1, result.skippedChunks());
+
+        Assertions.assertEquals(1, categoryRepository.findAllByNameLike(jobName + " 99").size());
+        Assertions.assertTrue(categoryRepository.findAllByNameLike(jobName + " 100").isEmpty()); // ikut rollback
+        Assertions.assertEquals(1, categoryRepository.findAllByNameLike(jobName + " 200").size());
+
+        chunkedTransactionWriter.reset(jobName);
+    }
+
+    private List<String> names(String prefix, int count) {
+        List<String> names = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            names.add(prefix + " " + i);
+        }
+        return names;
+    }
+
+}